@@ -0,0 +1,69 @@
+package FedExt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class AggregateBenchmark compares an aggregation computed while parsing with the same aggregation
+ * computed over the filled Array, on the FLAT payload read from memory
+ * Run with -prof gc to see that the aggregation allocates nothing per element
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregateBenchmark {
+    @Param({"100", "10000"})
+    public int elements;
+
+    private FedExtClient client;
+    private FedExtRequest request;
+    private FedExtAggregation aggregation;
+
+    @Setup
+    public void setup() throws Exception {
+        this.client = FedExtClient.builder()
+                .transport(new BenchmarkData.MemoryTransport(BenchmarkData.payload(BenchmarkData.Shape.FLAT, this.elements)))
+                .build();
+        this.request = new FedExtRequest(new URL("http://localhost/memory"));
+        this.aggregation = FedExtAggregation.on("age", "score").groupBy("active");
+
+        FedExtClient.prepare(BenchmarkData.Flat.class);
+
+        // Stop the benchmark if the aggregation does not see all the elements, the measure would be meaningless
+        FedExtResult<FedExtAggregate> result = this.client.aggregate(this.request, BenchmarkData.Flat.class, this.aggregation);
+        if (!result.isSuccess() || result.getValue().getCount() != this.elements)
+            throw new IllegalStateException("aggregation : " + result.getValue() + " " + result.getErrorInfo());
+    }
+
+    /**
+     * Accumulate the values while parsing, no element is instantiated
+     */
+    @Benchmark
+    public double aggregate() throws Exception {
+        return this.client.aggregate(this.request, BenchmarkData.Flat.class, this.aggregation).getValue().getSum("age");
+    }
+
+    /**
+     * Fill the whole Array, then accumulate the values of the elements
+     */
+    @Benchmark
+    public double fillArrayThenAggregate() throws Exception {
+        BenchmarkData.Flat[] array = this.client.fillArray(this.request, BenchmarkData.Flat.class).getValue();
+        double sum = 0;
+
+        for (BenchmarkData.Flat element : array)
+            sum += element.getAge();
+
+        return sum;
+    }
+}
@@ -0,0 +1,316 @@
+package FedExt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This class BenchmarkData holds the MobiS classes and the synthetic JSON payloads used by the benchmarks
+ * Each shape stresses another part of the parse :
+ *      - FLAT   : a plain array of small objects, filled through setters
+ *      - NESTED : each element owns two sub objects
+ *      - WIDE   : each element has many public fields of all the supported types
+ *      - DEEP   : the array is wrapped in an envelope and each element carries unmapped nested arrays to skip
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class BenchmarkData {
+    /**
+     * Shapes of payload
+     */
+    public enum Shape {
+        FLAT(Flat.class), NESTED(Nested.class), WIDE(Wide.class), DEEP(Flat.class);
+
+        private final Class<?> clazz;
+
+        Shape(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        /**
+         * Return the class of the elements
+         *
+         * @return the MobiS class
+         */
+        public Class<?> getClazz() {
+            return this.clazz;
+        }
+    }
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Build a JSON payload
+     *
+     * @param shape    shape of the elements
+     * @param elements number of elements in the array
+     * @return the UTF-8 bytes of the JSON
+     */
+    public static byte[] payload(Shape shape, int elements) {
+        StringBuilder json = new StringBuilder(elements * 256);
+
+        if (shape == Shape.DEEP)
+            json.append("{\"data\":{\"page\":1,\"total\":").append(elements).append(",\"items\":");
+
+        json.append('[');
+        for (int i = 0; i < elements; i++) {
+            if (i > 0)
+                json.append(',');
+
+            switch (shape) {
+                case FLAT:
+                    flat(json, i);
+                    json.append('}');
+                    break;
+
+                case NESTED:
+                    flat(json, i);
+                    json.append(",\"address\":{\"street\":\"Rue du Rhone ").append(i)
+                            .append("\",\"city\":\"Geneve\",\"zip\":").append(1200 + i % 100).append('}');
+                    json.append(",\"contact\":{\"email\":\"user").append(i)
+                            .append("@example.com\",\"phone\":\"+41 22 000 ").append(i % 10000).append("\"}}");
+                    break;
+
+                case WIDE:
+                    wide(json, i);
+                    break;
+
+                case DEEP:
+                    flat(json, i);
+                    json.append(",\"history\":[[1,2,3],[4,5,6],[7,8,[9,10]]],\"tags\":[\"a\",\"b\",{\"c\":[true,false]}]}");
+                    break;
+            }
+        }
+        json.append(']');
+
+        if (shape == Shape.DEEP)
+            json.append("}}");
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Append the beginning of a flat element, without the closing brace
+     */
+    private static void flat(StringBuilder json, int i) {
+        json.append("{\"id\":").append(1000000000000L + i)
+                .append(",\"name\":\"Person ").append(i)
+                .append("\",\"age\":").append(20 + i % 60)
+                .append(",\"score\":").append(i % 1000).append(".25")
+                .append(",\"active\":").append(i % 2 == 0)
+                .append(",\"comment\":\"not mapped\"");
+    }
+
+    /**
+     * Append a wide element
+     */
+    private static void wide(StringBuilder json, int i) {
+        json.append('{');
+        for (int group = 0; group < 3; group++) {
+            if (group > 0)
+                json.append(',');
+
+            json.append("\"text").append(group).append("\":\"value ").append(i).append('"')
+                    .append(",\"int").append(group).append("\":").append(i)
+                    .append(",\"long").append(group).append("\":").append(9000000000L + i)
+                    .append(",\"double").append(group).append("\":").append(i).append(".5")
+                    .append(",\"float").append(group).append("\":").append(i % 100).append(".5")
+                    .append(",\"bool").append(group).append("\":").append(i % 3 == 0)
+                    .append(",\"decimal").append(group).append("\":\"").append(i).append(".123456789\"")
+                    .append(",\"code").append(group).append("\":\"").append((char) ('A' + i % 26)).append('"');
+        }
+        json.append('}');
+    }
+
+    /**
+     * Transport answering every call with the same payload, to measure the parse without the network
+     */
+    public static final class MemoryTransport implements FedExtTransport {
+        private final byte[] payload;
+
+        public MemoryTransport(byte[] payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+            return new FedExtResponse(200, Collections.<String, String>emptyMap(), new ByteArrayInputStream(this.payload));
+        }
+    }
+
+    /**
+     * Small element filled through setters
+     */
+    public static class Flat {
+        private long id;
+        private String name;
+        private int age;
+        private double score;
+        private boolean active;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public long getId() {
+            return this.id;
+        }
+
+        public int getAge() {
+            return this.age;
+        }
+    }
+
+    /**
+     * Element owning sub objects
+     */
+    public static class Nested {
+        public long id;
+        public String name;
+        public int age;
+        public double score;
+        public boolean active;
+        public Address address;
+        public Contact contact;
+    }
+
+    /**
+     * Sub object of Nested
+     */
+    public static class Address {
+        public String street;
+        public String city;
+        public int zip;
+    }
+
+    /**
+     * Sub object of Nested
+     */
+    public static class Contact {
+        public String email;
+        public String phone;
+    }
+
+    /**
+     * Element with many public fields of all the supported types
+     */
+    public static class Wide {
+        public String text0, text1, text2;
+        public int int0, int1, int2;
+        public long long0, long1, long2;
+        public double double0, double1, double2;
+        public float float0, float1, float2;
+        public boolean bool0, bool1, bool2;
+        public BigDecimal decimal0, decimal1, decimal2;
+        public char code0, code1, code2;
+    }
+
+    /**
+     * Object with one field of each supported type, used to measure the assignment of the values
+     */
+    public static class Typed {
+        public String stringValue;
+        public char charValue;
+        public boolean booleanValue;
+        public byte byteValue;
+        public short shortValue;
+        public int intValue;
+        public long longValue;
+        public float floatValue;
+        public double doubleValue;
+        public BigInteger bigIntegerValue;
+        public BigDecimal bigDecimalValue;
+        public Integer integerValue;
+    }
+
+    /**
+     * Same fields as Typed, assigned through their setters
+     */
+    public static class TypedBean {
+        private String stringValue;
+        private char charValue;
+        private boolean booleanValue;
+        private byte byteValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private BigInteger bigIntegerValue;
+        private BigDecimal bigDecimalValue;
+        private Integer integerValue;
+
+        public void setStringValue(String stringValue) {
+            this.stringValue = stringValue;
+        }
+
+        public void setCharValue(char charValue) {
+            this.charValue = charValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public void setByteValue(byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        public void setShortValue(short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public void setFloatValue(float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public void setBigIntegerValue(BigInteger bigIntegerValue) {
+            this.bigIntegerValue = bigIntegerValue;
+        }
+
+        public void setBigDecimalValue(BigDecimal bigDecimalValue) {
+            this.bigDecimalValue = bigDecimalValue;
+        }
+
+        public void setIntegerValue(Integer integerValue) {
+            this.integerValue = integerValue;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package FedExt;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class FillArrayBenchmark measures complete calls against a local HTTP stub started in the same process :
+ * connection, response download, parse and filling, through the default HttpTransport
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FillArrayBenchmark {
+    @Param({"FLAT", "NESTED", "WIDE", "DEEP"})
+    public BenchmarkData.Shape shape;
+
+    @Param({"1000"})
+    public int elements;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private FedExtClient client;
+    private FedExtRequest request;
+
+    @Setup
+    public void setup() throws Exception {
+        final byte[] payload = BenchmarkData.payload(this.shape, this.elements);
+
+        // Without it, the stub waits for the delayed acknowledgement between the headers and the body
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/data", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, payload.length);
+
+                OutputStream body = exchange.getResponseBody();
+                body.write(payload);
+                body.close();
+            }
+        });
+        this.serverThreads = Executors.newFixedThreadPool(4);
+        this.server.setExecutor(this.serverThreads);
+        this.server.start();
+
+        this.client = FedExtClient.builder().transport(new HttpTransport()).build();
+        this.request = new FedExtRequest(new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/data?shape=" + this.shape));
+
+        FedExtResult<?> result = this.client.fillArray(this.request, this.shape.getClazz());
+        if (!result.isSuccess() || ((Object[]) result.getValue()).length != this.elements)
+            throw new IllegalStateException(this.shape + " : " + result.getErrorInfo());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop(0);
+        this.serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public Object[] fillArray() throws Exception {
+        return this.client.fillArray(this.request, this.shape.getClazz()).getValue();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object[] fillArrayConcurrent() throws Exception {
+        return this.client.fillArray(this.request, this.shape.getClazz()).getValue();
+    }
+
+    @Benchmark
+    public int stream() {
+        int count = 0;
+        FedExtStream<?> stream = this.client.stream(this.request, this.shape.getClazz());
+
+        try {
+            while (stream.hasNext()) {
+                stream.next();
+                count++;
+            }
+        } finally {
+            stream.close();
+        }
+
+        return count;
+    }
+}
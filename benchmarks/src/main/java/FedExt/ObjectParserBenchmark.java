@@ -0,0 +1,41 @@
+package FedExt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class ObjectParserBenchmark measures the introspection of a MobiS class,
+ * paid once per class thanks to ObjectParserCache, and the lookup of an already parsed class
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectParserBenchmark {
+    @Param({"FLAT", "NESTED", "WIDE"})
+    public BenchmarkData.Shape shape;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectParserCache.prepare(this.shape.getClazz());
+    }
+
+    @Benchmark
+    public ObjectParser parseClass() throws Exception {
+        return new ObjectParser(this.shape.getClazz());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ObjectParser cachedPlan() throws Exception {
+        return ObjectParserCache.get(this.shape.getClazz());
+    }
+}
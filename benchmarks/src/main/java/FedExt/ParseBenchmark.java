@@ -0,0 +1,73 @@
+package FedExt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class ParseBenchmark measures the parse of a JSON response and the filling of the elements,
+ * without the network : the response is read from memory through a transport
+ * Run with -prof gc to see the bytes allocated per fill
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    @Param({"FLAT", "NESTED", "WIDE", "DEEP"})
+    public BenchmarkData.Shape shape;
+
+    @Param({"100", "10000"})
+    public int elements;
+
+    private FedExtClient client;
+    private FedExtRequest request;
+    private FedExtRequest keepRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        this.client = FedExtClient.builder()
+                .transport(new BenchmarkData.MemoryTransport(BenchmarkData.payload(this.shape, this.elements)))
+                .build();
+        this.request = new FedExtRequest(new URL("http://localhost/memory"));
+        this.keepRequest = this.request.copy();
+        this.keepRequest.setKeepJsonData(true);
+
+        FedExtClient.prepare(this.shape.getClazz());
+        check(this.client.fillArray(this.request, this.shape.getClazz()));
+    }
+
+    /**
+     * Parse while reading the response
+     */
+    @Benchmark
+    public Object[] fillArray() throws Exception {
+        return this.client.fillArray(this.request, this.shape.getClazz()).getValue();
+    }
+
+    /**
+     * Read the whole response in a String first, then parse it
+     */
+    @Benchmark
+    public Object[] fillArrayKeepJson() throws Exception {
+        return this.client.fillArray(this.keepRequest, this.shape.getClazz()).getValue();
+    }
+
+    /**
+     * Stop the benchmark if the payload is not filled entirely, the measure would be meaningless
+     */
+    private void check(FedExtResult<?> result) {
+        Object[] array = (Object[]) result.getValue();
+
+        if (!result.isSuccess() || array == null || array.length != this.elements)
+            throw new IllegalStateException(this.shape + " : " + (array == null ? 0 : array.length) + " elements " + result.getErrorInfo());
+    }
+}
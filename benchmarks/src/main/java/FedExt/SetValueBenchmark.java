@@ -0,0 +1,139 @@
+package FedExt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class SetValueBenchmark measures the assignment of one value to a field, for each supported type :
+ *      - setValue   : the value is given as a JSON string and converted to the field type
+ *      - setTyped   : the value is already in the field type, as read from a JSON number or boolean
+ * The field is either public (access "field") or assigned through its setter (access "setter")
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SetValueBenchmark {
+    @Param({"STRING", "CHAR", "BOOLEAN", "BYTE", "SHORT", "INT", "LONG", "FLOAT", "DOUBLE", "BIG_INTEGER", "BIG_DECIMAL", "INTEGER"})
+    public String type;
+
+    @Param({"field", "setter"})
+    public String access;
+
+    private ObjectMapping target;
+    private ObjectProperty property;
+    private String text;
+
+    @Setup
+    public void setup() throws Exception {
+        Class clazz = this.access.equals("setter") ? BenchmarkData.TypedBean.class : BenchmarkData.Typed.class;
+        ObjectParser parser = ObjectParserCache.get(clazz);
+
+        this.target = new ObjectMapping(clazz, "");
+        this.property = parser.getTable(clazz).get(fieldName(this.type));
+        this.text = textValue(this.type);
+
+        if (this.property == null)
+            throw new IllegalStateException("no field for " + this.type);
+    }
+
+    @Benchmark
+    public Object setValue() {
+        this.target.setValue(this.property, this.text);
+        return this.target.getObjectToReturn();
+    }
+
+    @Benchmark
+    public Object setTyped() {
+        switch (this.property.getValueType()) {
+            case BOOLEAN:
+                this.target.setBoolean(this.property, true);
+                break;
+
+            case BYTE:
+                this.target.setByte(this.property, (byte) 42);
+                break;
+
+            case SHORT:
+                this.target.setShort(this.property, (short) 4242);
+                break;
+
+            case INT:
+                this.target.setInt(this.property, 424242);
+                break;
+
+            case LONG:
+                this.target.setLong(this.property, 9007199254740993L);
+                break;
+
+            case FLOAT:
+                this.target.setFloat(this.property, 42.5f);
+                break;
+
+            case DOUBLE:
+                this.target.setDouble(this.property, 42.25);
+                break;
+
+            case CHAR:
+                this.target.setChar(this.property, 'x');
+                break;
+
+            default:
+                // Strings and big numbers are always given as text
+                this.target.setValue(this.property, this.text);
+                break;
+        }
+
+        return this.target.getObjectToReturn();
+    }
+
+    private static String fieldName(String type) {
+        switch (type) {
+            case "BIG_INTEGER":
+                return "bigIntegerValue";
+
+            case "BIG_DECIMAL":
+                return "bigDecimalValue";
+
+            default:
+                return type.toLowerCase() + "Value";
+        }
+    }
+
+    private static String textValue(String type) {
+        switch (type) {
+            case "STRING":
+                return "Geneve";
+
+            case "CHAR":
+                return "x";
+
+            case "BOOLEAN":
+                return "true";
+
+            case "FLOAT":
+            case "DOUBLE":
+                return "42.25";
+
+            case "LONG":
+                return "9007199254740993";
+
+            case "BIG_INTEGER":
+                return "123456789012345678901234567890";
+
+            case "BIG_DECIMAL":
+                return "12345678901234567890.123456789";
+
+            default:
+                return "42";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package FedExt;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class AggregationNode is used internally by FedExtCall to find the fields of an aggregation in the elements
+ * A node is an object level of the elements : it lists the keys read at this level, each one being either
+ * a field of the aggregation (with the index of its accumulator) or the way to a deeper field, or both
+ * An aggregation reads only a few keys, so they are compared one by one, case insensitively and without allocation
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class AggregationNode {
+    static final int NONE = -1;
+
+    private String[] keys;
+    private int[] indexes;
+    private AggregationNode[] children;
+
+    /**
+     * Constructor of an empty level
+     */
+    private AggregationNode() {
+        this.keys = new String[0];
+        this.indexes = new int[0];
+        this.children = new AggregationNode[0];
+    }
+
+    /**
+     * Build the levels of the fields
+     *
+     * @param paths paths of the fields, for instance "price" or "address.zip" ; the index of a path gives its accumulator
+     * @return the element level
+     */
+    static AggregationNode build(List<String> paths) {
+        AggregationNode root = new AggregationNode();
+
+        for (int index = 0; index < paths.size(); index++) {
+            AggregationNode node = root;
+            String[] names = paths.get(index).split("\\.");
+
+            for (int i = 0; i < names.length; i++) {
+                int slot = node.add(names[i].trim());
+
+                if (i == names.length - 1) {
+                    node.indexes[slot] = index;
+                } else {
+                    if (node.children[slot] == null)
+                        node.children[slot] = new AggregationNode();
+
+                    node = node.children[slot];
+                }
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * Add a key to the level, if it is not known yet
+     *
+     * @param key key of the field
+     * @return the slot of the key
+     */
+    private int add(String key) {
+        int slot = find(key);
+
+        if (slot < 0) {
+            slot = this.keys.length;
+            this.keys = Arrays.copyOf(this.keys, slot + 1);
+            this.indexes = Arrays.copyOf(this.indexes, slot + 1);
+            this.children = Arrays.copyOf(this.children, slot + 1);
+            this.keys[slot] = key;
+            this.indexes[slot] = NONE;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Find a JSON key at this level
+     *
+     * @param key JSON key
+     * @return the slot of the key, -1 if the key is not read by the aggregation
+     */
+    int find(String key) {
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (this.keys[slot].length() == key.length() && this.keys[slot].regionMatches(true, 0, key, 0, key.length()))
+                return slot;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Return the accumulator of a key
+     *
+     * @param slot slot of the key
+     * @return the index of the path ending with this key, NONE if the key only leads to deeper fields
+     */
+    int index(int slot) {
+        return this.indexes[slot];
+    }
+
+    /**
+     * Return the deeper level of a key
+     *
+     * @param slot slot of the key
+     * @return the level, null if no path goes further
+     */
+    AggregationNode child(int slot) {
+        return this.children[slot];
+    }
+}
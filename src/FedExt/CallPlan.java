@@ -0,0 +1,122 @@
+package FedExt;
+
+/**
+ * This class CallPlan is used internally by FedExtCall to skip the preparation of a call made many times the same way
+ * (see FedExtPreparedFetch) : the mapping plan of the class, the field table of the projection, the checked filter
+ * and the root path are resolved once, when the plan is compiled, instead of at the start of each call
+ * A plan is immutable and shared by all the calls of its prepared fetch
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class CallPlan {
+    private final Class clazz;
+    private final ObjectParser members;
+    private final FieldTable table;
+    private final RootPath rootPath;
+    private final FedExtFilter filter;
+
+    /**
+     * Constructor
+     *
+     * @param clazz    class of the objects to fill
+     * @param members  mapping plan of the class
+     * @param table    field table restricted to the projection
+     * @param rootPath root path of the data, null to find the data by its keys
+     * @param filter   checked filter of the elements, null to keep all the elements
+     */
+    private CallPlan(Class clazz, ObjectParser members, FieldTable table, RootPath rootPath, FedExtFilter filter) {
+        this.clazz = clazz;
+        this.members = members;
+        this.table = table;
+        this.rootPath = rootPath;
+        this.filter = filter;
+    }
+
+    /**
+     * Resolve what the calls of a request share, with the same checks as a call
+     *
+     * @param clazz   class of the objects to fill
+     * @param request options of the calls : root path, projection and filter
+     * @return the plan
+     * @throws IllegalStateException if the class has no mappable field or an option is not valid
+     */
+    static CallPlan compile(Class clazz, FedExtRequest request) throws Exception {
+        ObjectParser members = ObjectParserCache.get(clazz);
+        if (members.getFieldNumber() == 0)
+            throw new IllegalStateException("no mappable field has been found in " + clazz.getName());
+
+        FieldTable table = members.getTable(clazz, request.getProjection());
+        if (table == null)
+            throw new IllegalStateException("invalid projection : " + request.getProjection());
+
+        // The conditions must apply to scalar fields of the class
+        if (request.getFilter() != null) {
+            FieldTable fullTable = members.getTable(clazz);
+
+            for (String field : request.getFilter().getFields()) {
+                ObjectProperty property = fullTable.get(field);
+
+                if (property == null || property.isClass())
+                    throw new IllegalStateException("invalid filter : " + field + " is not a scalar field");
+            }
+        }
+
+        RootPath rootPath = null;
+        if (!request.getRootPath().isEmpty()) {
+            rootPath = RootPath.parse(request.getRootPath());
+
+            if (rootPath == null)
+                throw new IllegalStateException("invalid root path : " + request.getRootPath());
+        }
+
+        return new CallPlan(clazz, members, table, rootPath, request.getFilter());
+    }
+
+    /**
+     * Return the class of the objects to fill
+     *
+     * @return the class
+     */
+    Class getClazz() {
+        return this.clazz;
+    }
+
+    /**
+     * Return the mapping plan of the class
+     *
+     * @return the mapping plan
+     */
+    ObjectParser getMembers() {
+        return this.members;
+    }
+
+    /**
+     * Return the field table of the fields to fill
+     *
+     * @return the table, restricted to the projection
+     */
+    FieldTable getTable() {
+        return this.table;
+    }
+
+    /**
+     * Return the root path of the data
+     *
+     * @return the root path, null to find the data by its keys
+     */
+    RootPath getRootPath() {
+        return this.rootPath;
+    }
+
+    /**
+     * Return the filter of the elements
+     *
+     * @return the filter, null to keep all the elements
+     */
+    FedExtFilter getFilter() {
+        return this.filter;
+    }
+}
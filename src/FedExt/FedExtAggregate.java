@@ -0,0 +1,217 @@
+package FedExt;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class FedExtAggregate holds the aggregates computed by a FedExtAggregation :
+ * the number of elements and, for each aggregated field, the count of values, the sum, the minimum,
+ * the maximum and the average
+ * The aggregate of all the elements gives the aggregates of each group with getGroups()
+ * The values are accumulated as double, a value which is not a number is not counted
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtAggregate {
+    private final String key;
+    private final List<String> fields;
+    private long count;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final Map<String, FedExtAggregate> groups;
+
+    /**
+     * Constructor
+     *
+     * @param key     value of the group, null for all the elements
+     * @param fields  paths of the aggregated fields
+     * @param grouped true if the aggregate of all the elements is split into groups
+     */
+    FedExtAggregate(String key, List<String> fields, boolean grouped) {
+        this.key = key;
+        this.fields = fields;
+        this.counts = new long[fields.size()];
+        this.sums = new double[fields.size()];
+        this.minimums = new double[fields.size()];
+        this.maximums = new double[fields.size()];
+        this.groups = grouped ? new LinkedHashMap<String, FedExtAggregate>() : null;
+
+        Arrays.fill(this.minimums, Double.NaN);
+        Arrays.fill(this.maximums, Double.NaN);
+    }
+
+    /**
+     * Add an element
+     *
+     * @param values  value of each aggregated field
+     * @param present true for each field having a value in the element
+     */
+    void add(double[] values, boolean[] present) {
+        this.count++;
+
+        for (int i = 0; i < this.counts.length; i++) {
+            if (!present[i])
+                continue;
+
+            double value = values[i];
+            if (this.counts[i]++ == 0) {
+                this.minimums[i] = value;
+                this.maximums[i] = value;
+            } else {
+                if (value < this.minimums[i])
+                    this.minimums[i] = value;
+                if (value > this.maximums[i])
+                    this.maximums[i] = value;
+            }
+            this.sums[i] += value;
+        }
+    }
+
+    /**
+     * Return the aggregate of a group, created with its first element
+     *
+     * @param key value of the group, null if the element has no value for the field of the groups
+     * @return the aggregate of the group
+     */
+    FedExtAggregate group(String key) {
+        FedExtAggregate group = this.groups.get(key);
+
+        if (group == null) {
+            group = new FedExtAggregate(key, this.fields, false);
+            this.groups.put(key, group);
+        }
+
+        return group;
+    }
+
+    /**
+     * Return the value of the group
+     *
+     * @return the value of the field of the groups, null for the aggregate of all the elements
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Return the number of elements
+     *
+     * @return the number of elements
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Return the number of values of a field
+     *
+     * @param field path of an aggregated field
+     * @return the number of elements with a numeric value for the field
+     */
+    public long getCount(String field) {
+        return this.counts[index(field)];
+    }
+
+    /**
+     * Return the sum of a field
+     *
+     * @param field path of an aggregated field
+     * @return the sum, 0 without value
+     */
+    public double getSum(String field) {
+        return this.sums[index(field)];
+    }
+
+    /**
+     * Return the minimum of a field
+     *
+     * @param field path of an aggregated field
+     * @return the minimum, NaN without value
+     */
+    public double getMin(String field) {
+        return this.minimums[index(field)];
+    }
+
+    /**
+     * Return the maximum of a field
+     *
+     * @param field path of an aggregated field
+     * @return the maximum, NaN without value
+     */
+    public double getMax(String field) {
+        return this.maximums[index(field)];
+    }
+
+    /**
+     * Return the average of a field
+     *
+     * @param field path of an aggregated field
+     * @return the average, NaN without value
+     */
+    public double getAverage(String field) {
+        int index = index(field);
+
+        return (this.counts[index] == 0) ? Double.NaN : this.sums[index] / this.counts[index];
+    }
+
+    /**
+     * Return the aggregates of each group, in the order of their first element
+     *
+     * @return the aggregates by value of the field of the groups, empty if the elements are not grouped
+     */
+    public Map<String, FedExtAggregate> getGroups() {
+        if (this.groups == null)
+            return Collections.emptyMap();
+
+        return Collections.unmodifiableMap(this.groups);
+    }
+
+    /**
+     * Find an aggregated field
+     *
+     * @param field path of the field (the case is ignored)
+     * @return the index of the field
+     */
+    private int index(String field) {
+        for (int i = 0; i < this.fields.size(); i++) {
+            if (this.fields.get(i).equalsIgnoreCase(field))
+                return i;
+        }
+
+        throw new IllegalArgumentException("field not aggregated : " + field);
+    }
+
+    /**
+     * Describe the aggregates
+     *
+     * @return the count and the aggregates of each field
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+
+        if (this.key != null)
+            description.append(this.key).append(" : ");
+
+        description.append("count=").append(this.count);
+        for (int i = 0; i < this.fields.size(); i++) {
+            description.append(", ").append(this.fields.get(i))
+                    .append("{count=").append(this.counts[i])
+                    .append(", sum=").append(this.sums[i])
+                    .append(", min=").append(this.minimums[i])
+                    .append(", max=").append(this.maximums[i])
+                    .append(", avg=").append(getAverage(this.fields.get(i)))
+                    .append('}');
+        }
+
+        return description.toString();
+    }
+}
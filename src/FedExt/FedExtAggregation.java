@@ -0,0 +1,115 @@
+package FedExt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class FedExtAggregation describes the aggregates to compute over the elements of a remote Array,
+ * instead of filling the Array and computing them afterwards :
+ *
+ *      FedExtAggregation aggregation = FedExtAggregation.on("price", "quantity").groupBy("status");
+ *
+ * For each field the count of values, the sum, the minimum, the maximum and the average are computed
+ * while the JSON response is parsed : the values are accumulated as numbers and no element is instantiated,
+ * so the memory used only depends on the number of groups, not on the number of elements.
+ * The fields are paths of scalar fields, for instance "price" or "address.zip"
+ * An aggregation is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtAggregation {
+    private final List<String> fields;
+    private final String groupBy;
+
+    /**
+     * Constructor
+     *
+     * @param fields  paths of the aggregated fields
+     * @param groupBy path of the field giving the group of an element, null for no group
+     */
+    private FedExtAggregation(List<String> fields, String groupBy) {
+        this.fields = fields;
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Aggregate some fields of the elements, only the elements are counted if no field is given
+     *
+     * @param fields paths of numeric fields, for instance "price" or "address.zip" (the case is ignored)
+     * @return the aggregation
+     */
+    public static FedExtAggregation on(String... fields) {
+        List<String> paths = new ArrayList<String>();
+
+        for (String field : fields) {
+            if (field == null || field.trim().isEmpty())
+                throw new IllegalArgumentException("missing field name");
+
+            if (!paths.contains(field.trim()))
+                paths.add(field.trim());
+        }
+
+        return new FedExtAggregation(Collections.unmodifiableList(paths), null);
+    }
+
+    /**
+     * Compute the aggregates for each value of a field too
+     *
+     * @param field path of the field giving the group of an element, for instance "status"
+     * @return the aggregation with groups
+     */
+    public FedExtAggregation groupBy(String field) {
+        if (field == null || field.trim().isEmpty())
+            throw new IllegalArgumentException("missing field name");
+
+        return new FedExtAggregation(this.fields, field.trim());
+    }
+
+    /**
+     * Return the aggregated fields
+     *
+     * @return the paths of the fields
+     */
+    public List<String> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Return the field giving the groups
+     *
+     * @return the path of the field, null if the elements are not grouped
+     */
+    public String getGroupBy() {
+        return this.groupBy;
+    }
+
+    /**
+     * Return all the fields read by the aggregation : the aggregated fields, then the field of the groups
+     *
+     * @return the paths of the fields
+     */
+    List<String> getPaths() {
+        if (this.groupBy == null)
+            return this.fields;
+
+        List<String> paths = new ArrayList<String>(this.fields);
+        paths.add(this.groupBy);
+
+        return paths;
+    }
+
+    /**
+     * Describe the aggregation
+     *
+     * @return the fields and the group
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(this.fields.toArray()) + ((this.groupBy == null) ? "" : " by " + this.groupBy);
+    }
+}
@@ -0,0 +1,591 @@
+package FedExt;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class FedExtCache keeps the responses of the Web Services, so that the same call is not made again :
+ *
+ *      FedExtCache cache = FedExtCache.builder().maxBytes(64 << 20).ttl(60000).ttl("https://api.example.com/rates", 5000).build();
+ *      FedExtClient client = FedExtClient.builder().cache(cache).build();
+ *
+ * The responses are kept by URL (completed with the parameters) until their time to live is over,
+ * the least recently used ones being evicted when the bodies exceed the maximal size.
+ * Once expired, a response with an ETag or a Last-Modified header is revalidated : the Web Service answers 304
+ * if it has not changed, and the kept body is used again.
+ * The bodies are parsed again for each call ; for the immutable classes (see Builder.immutable) the filled
+ * object itself is kept too and given back without any parse. A response is only kept if it has been read
+ * entirely and parsed without error, and if the Web Service does not forbid it (Cache-Control: no-store)
+ * A cache is thread-safe and can be shared by several clients
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtCache implements FedExtCacheMBean {
+    public static final long DEFAULT_MAX_BYTES = 32L << 20;
+    public static final long DEFAULT_TTL = 60000;
+
+    private final long maxBytes;
+    private final long ttl;
+    private final Map<String, Long> routeTtls;
+    private final Set<Class> immutableClasses;
+    private final LinkedHashMap<String, Entry> entries;
+    private long bytes;
+    private final LongAdder hits;
+    private final LongAdder revalidations;
+    private final LongAdder misses;
+    private final LongAdder mappedHits;
+    private final LongAdder stores;
+    private final LongAdder evictions;
+    private ObjectName objectName;
+
+    /**
+     * Constructor
+     *
+     * @param builder configuration of the cache
+     */
+    private FedExtCache(Builder builder) {
+        this.maxBytes = builder.maxBytes;
+        this.ttl = builder.ttl;
+        this.routeTtls = new LinkedHashMap<String, Long>(builder.routeTtls);
+        this.immutableClasses = new HashSet<Class>(builder.immutableClasses);
+
+        // The iteration order is the access order : the first entry is the least recently used
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+        this.hits = new LongAdder();
+        this.revalidations = new LongAdder();
+        this.misses = new LongAdder();
+        this.mappedHits = new LongAdder();
+        this.stores = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Start the configuration of a new cache
+     *
+     * @return the builder with the default configuration
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return the kept response of a URL
+     *
+     * @param key URL completed with the parameters
+     * @return the response, fresh or expired, null if there is none
+     */
+    synchronized Entry get(String key) {
+        return this.entries.get(key);
+    }
+
+    /**
+     * Keep a response, evicting the least recently used ones if needed
+     *
+     * @param key     URL completed with the parameters
+     * @param body    body of the response
+     * @param headers headers of the response
+     * @return the kept response, null if it is too large
+     */
+    Entry put(String key, byte[] body, Map<String, String> headers) {
+        if (body.length > this.maxBytes)
+            return null;
+
+        Entry entry = new Entry(body, headers, System.currentTimeMillis() + ttlOf(key));
+
+        synchronized (this) {
+            Entry previous = this.entries.put(key, entry);
+            if (previous != null)
+                this.bytes -= previous.body.length;
+            this.bytes += body.length;
+
+            Iterator<Entry> eldest = this.entries.values().iterator();
+            while (this.bytes > this.maxBytes && eldest.hasNext()) {
+                this.bytes -= eldest.next().body.length;
+                eldest.remove();
+                this.evictions.increment();
+            }
+        }
+
+        this.stores.increment();
+        return entry;
+    }
+
+    /**
+     * Extend the life of a response the Web Service has confirmed (304)
+     *
+     * @param key   URL completed with the parameters
+     * @param entry kept response
+     */
+    void revalidate(String key, Entry entry) {
+        entry.expiresAt = System.currentTimeMillis() + ttlOf(key);
+    }
+
+    /**
+     * Check if a response may be kept
+     *
+     * @param key      URL completed with the parameters
+     * @param response opened response
+     * @return true if the response can be kept once read
+     */
+    boolean isStorable(String key, FedExtResponse response) {
+        if (response.getStatus() != 200)
+            return false;
+
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase().contains("no-store"))
+            return false;
+
+        // Without time to live, only a response which can be revalidated is worth keeping
+        return ttlOf(key) > 0 || response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+    }
+
+    /**
+     * Check if the filled objects of a class can be kept and shared between the calls
+     *
+     * @param clazz class of the filled object
+     * @return true for an immutable class
+     */
+    boolean isImmutable(Class clazz) {
+        return clazz != null && this.immutableClasses.contains(clazz);
+    }
+
+    /**
+     * Return the maximal size of the kept bodies
+     *
+     * @return the size in bytes
+     */
+    long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Count a call answered by a kept response
+     *
+     * @param revalidated true if the response has been confirmed by the Web Service (304)
+     * @param mapped      true if the filled object has been given back without parse
+     */
+    void recordHit(boolean revalidated, boolean mapped) {
+        if (revalidated)
+            this.revalidations.increment();
+        else
+            this.hits.increment();
+
+        if (mapped)
+            this.mappedHits.increment();
+    }
+
+    /**
+     * Count a call downloading the response
+     */
+    void recordMiss() {
+        this.misses.increment();
+    }
+
+    /**
+     * Return the time to live of the responses of a URL : the one of the longest matching route, or the default one
+     *
+     * @param key URL completed with the parameters
+     * @return the time to live in milliseconds
+     */
+    long ttlOf(String key) {
+        String route = null;
+
+        for (String prefix : this.routeTtls.keySet()) {
+            if (key.startsWith(prefix) && (route == null || prefix.length() > route.length()))
+                route = prefix;
+        }
+
+        return (route == null) ? this.ttl : this.routeTtls.get(route);
+    }
+
+    /**
+     * Forget the response of a URL
+     *
+     * @param url URL completed with the parameters
+     */
+    public synchronized void invalidate(String url) {
+        Entry entry = this.entries.remove(url);
+
+        if (entry != null)
+            this.bytes -= entry.body.length;
+    }
+
+    /**
+     * Forget all the responses
+     */
+    @Override
+    public synchronized void clear() {
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getRevalidations() {
+        return this.revalidations.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getMappedHits() {
+        return this.mappedHits.sum();
+    }
+
+    @Override
+    public long getStores() {
+        return this.stores.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Return the part of the calls answered without downloading the response
+     *
+     * @return the ratio between 0 and 1, 0 before the first call
+     */
+    @Override
+    public double getHitRatio() {
+        long answered = getHits() + getRevalidations();
+        long calls = answered + getMisses();
+
+        return (calls == 0) ? 0 : (double) answered / calls;
+    }
+
+    @Override
+    public synchronized int getEntries() {
+        return this.entries.size();
+    }
+
+    @Override
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Publish the statistics through JMX, under the name "FedExt:type=Cache,name=..."
+     *
+     * @param name name distinguishing this cache from the other ones of the application
+     */
+    public synchronized void register(String name) throws Exception {
+        unregister();
+
+        ObjectName objectName = new ObjectName("FedExt:type=Cache,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Remove the statistics from JMX
+     */
+    public synchronized void unregister() throws Exception {
+        if (this.objectName == null)
+            return;
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(this.objectName))
+            server.unregisterMBean(this.objectName);
+
+        this.objectName = null;
+    }
+
+    /**
+     * Describe the statistics
+     *
+     * @return the counters
+     */
+    @Override
+    public String toString() {
+        return "FedExtCache{hits=" + getHits() +
+                ", revalidations=" + getRevalidations() +
+                ", misses=" + getMisses() +
+                ", mappedHits=" + getMappedHits() +
+                ", entries=" + getEntries() +
+                ", bytes=" + getBytes() +
+                ", evictions=" + getEvictions() + "}";
+    }
+
+    /**
+     * Kept response of a URL, with the objects already filled from it
+     */
+    static final class Entry {
+        private final byte[] body;
+        private final Map<String, String> headers;
+        private volatile long expiresAt;
+        private final ConcurrentMap<String, Object> values;
+
+        /**
+         * Constructor
+         *
+         * @param body      body of the response
+         * @param headers   headers of the response
+         * @param expiresAt end of the life of the response, in milliseconds since the epoch
+         */
+        private Entry(byte[] body, Map<String, String> headers, long expiresAt) {
+            this.body = body;
+            this.headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+            this.headers.putAll(headers);
+            this.expiresAt = expiresAt;
+            this.values = new ConcurrentHashMap<String, Object>();
+        }
+
+        /**
+         * Check if the response can be used without asking the Web Service
+         *
+         * @return true until the time to live is over
+         */
+        boolean isFresh() {
+            return System.currentTimeMillis() < this.expiresAt;
+        }
+
+        /**
+         * Return the body of the response, which must not be modified
+         *
+         * @return the body
+         */
+        byte[] getBody() {
+            return this.body;
+        }
+
+        /**
+         * Return the headers of the response
+         *
+         * @return the headers (the names are case insensitive)
+         */
+        Map<String, String> getHeaders() {
+            return Collections.unmodifiableMap(this.headers);
+        }
+
+        /**
+         * Return the headers asking the Web Service to answer 304 if the response has not changed
+         *
+         * @return the conditional headers, empty if the response can not be revalidated
+         */
+        Map<String, String> getValidators() {
+            Map<String, String> validators = new LinkedHashMap<String, String>();
+
+            if (this.headers.containsKey("ETag"))
+                validators.put("If-None-Match", this.headers.get("ETag"));
+            if (this.headers.containsKey("Last-Modified"))
+                validators.put("If-Modified-Since", this.headers.get("Last-Modified"));
+
+            return Collections.unmodifiableMap(validators);
+        }
+
+        /**
+         * Return an object already filled from the response
+         *
+         * @param key description of the fill (class, collection, projection...)
+         * @return the filled object, null if there is none
+         */
+        Object getValue(String key) {
+            return this.values.get(key);
+        }
+
+        /**
+         * Keep an object filled from the response
+         *
+         * @param key   description of the fill (class, collection, projection...)
+         * @param value filled object, of an immutable class
+         */
+        void putValue(String key, Object value) {
+            this.values.put(key, value);
+        }
+    }
+
+    /**
+     * Stream keeping a copy of the bytes read, up to a limit, so that the response can be kept once read entirely
+     */
+    static final class Capture extends FilterInputStream {
+        private final Map<String, String> headers;
+        private final long limit;
+        private ByteArrayOutputStream copy;
+        private boolean complete;
+
+        /**
+         * Constructor
+         *
+         * @param response opened response to copy
+         * @param limit    maximal size of the copy, the copy is abandoned beyond
+         */
+        Capture(FedExtResponse response, long limit) {
+            super(response.getBody());
+            this.headers = response.getHeaders();
+            this.limit = limit;
+            this.copy = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+
+            if (b == -1)
+                this.complete = true;
+            else if (this.copy != null)
+                keep(new byte[]{(byte) b}, 0, 1);
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+
+            if (read == -1)
+                this.complete = true;
+            else if (read > 0 && this.copy != null)
+                keep(buffer, offset, read);
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // The skipped bytes must be copied too
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+
+            return Math.max(read, 0);
+        }
+
+        /**
+         * Copy the bytes read
+         */
+        private void keep(byte[] buffer, int offset, int length) {
+            if (this.copy.size() + length > this.limit)
+                this.copy = null;
+            else
+                this.copy.write(buffer, offset, length);
+        }
+
+        /**
+         * Check if the copy is still useful
+         *
+         * @return false if the response exceeds the limit
+         */
+        boolean isCopying() {
+            return this.copy != null;
+        }
+
+        /**
+         * Return the copy of the whole body
+         *
+         * @return the body, null if it has not been read entirely or exceeds the limit
+         */
+        byte[] getBytes() {
+            return (this.complete && this.copy != null) ? this.copy.toByteArray() : null;
+        }
+
+        /**
+         * Return the headers of the copied response
+         *
+         * @return the headers
+         */
+        Map<String, String> getHeaders() {
+            return this.headers;
+        }
+    }
+
+    /**
+     * This class Builder collects the configuration of a FedExtCache
+     */
+    public static final class Builder {
+        private long maxBytes;
+        private long ttl;
+        private final Map<String, Long> routeTtls;
+        private final Set<Class> immutableClasses;
+
+        /**
+         * Constructor with the default configuration
+         */
+        private Builder() {
+            this.maxBytes = DEFAULT_MAX_BYTES;
+            this.ttl = DEFAULT_TTL;
+            this.routeTtls = new LinkedHashMap<String, Long>();
+            this.immutableClasses = new HashSet<Class>();
+        }
+
+        /**
+         * Define the maximal size of the kept bodies, the least recently used ones are evicted beyond
+         *
+         * @param maxBytes size in bytes
+         * @return the builder
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Define the default time to live of the responses
+         *
+         * @param millis time to live in milliseconds, 0 to revalidate each time
+         * @return the builder
+         */
+        public Builder ttl(long millis) {
+            this.ttl = millis;
+            return this;
+        }
+
+        /**
+         * Define the time to live of the responses of a route
+         *
+         * @param route  beginning of the URLs of the route, for instance "https://api.example.com/rates"
+         * @param millis time to live in milliseconds, 0 to revalidate each time
+         * @return the builder
+         */
+        public Builder ttl(String route, long millis) {
+            this.routeTtls.put(route, millis);
+            return this;
+        }
+
+        /**
+         * Declare classes whose filled objects are never modified : they are kept and shared between the calls
+         * (each call gets its own Array, but the same elements)
+         *
+         * @param classes immutable MobiS classes
+         * @return the builder
+         */
+        public Builder immutable(Class... classes) {
+            Collections.addAll(this.immutableClasses, classes);
+            return this;
+        }
+
+        /**
+         * Create the cache
+         *
+         * @return the cache
+         */
+        public FedExtCache build() {
+            return new FedExtCache(this);
+        }
+    }
+}
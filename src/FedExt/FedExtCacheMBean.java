@@ -0,0 +1,31 @@
+package FedExt;
+
+/**
+ * This interface FedExtCacheMBean is the JMX view of FedExtCache (see FedExtCache.register)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtCacheMBean {
+    long getHits();
+
+    long getRevalidations();
+
+    long getMisses();
+
+    long getMappedHits();
+
+    long getStores();
+
+    long getEvictions();
+
+    double getHitRatio();
+
+    int getEntries();
+
+    long getBytes();
+
+    void clear();
+}
@@ -0,0 +1,1763 @@
+package FedExt;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class FedExtCall is used internally by FedExtClient to run one call of a Web Service :
+ * it holds the state of the call, reads the JSON response and fills the requested object
+ * A call is used only once and by only one thread, the client itself keeps no state of the calls
+ * Each call measures itself (see FedExtCallMetrics) and reports to the listener of the client when it ends
+ * An aggregation call walks the same response without filling anything : the values are only accumulated
+ * With a cache (see FedExtCache), the response is read from the cache or revalidated, and kept once parsed
+ * A page of a paginated source (see FedExtPager) is downloaded first, then parsed while the next page is downloaded
+ * With a limiter (see FedExtLimiter), a call takes a place for its host before it is sent and releases it once read
+ * With a deadline (see FedExtRequest.setDeadline), the timer of FedExtExecutors aborts the call if it is still running at the deadline
+ * A prepared call (see FedExtPreparedFetch) gets its mapping plan, projection, filter and root path resolved in advance
+ * A partial call (see FedExtRequest.setPartial, setMaxElements) stops at its deadline or element count and keeps the elements
+ * already completed : the rest of the response is abandoned by closing the connection, without reading it
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+class FedExtCall {
+    private static final int BUFFER_SIZE = 8192;
+    private static final Truncation TRUNCATION = new Truncation();
+    private static final int SAMPLE_MASK = 63;
+
+    private final FedExtClient client;
+    private final FedExtRequest request;
+    private ObjectParser members;
+    private ObjectMapping object2Return;
+    private String jsonData;
+    private String errorInfo;
+    private volatile FedExtResponse response;
+    private volatile boolean aborted;
+    private volatile boolean expired;
+    private volatile boolean truncated;
+    private int kept;
+    private volatile MeteredInputStream body;
+    private long deadlineNanos;
+    private RootPath rootPath;
+    private FedExtDescriptor descriptor;
+    private Map<String, String> keyMapping;
+    private FieldTable table;
+    private FedExtFilter filter;
+    private boolean rootFound;
+    private long keysMapped;
+    private long mappingSamples;
+    private long mappingSampleNanos;
+    private long valuesSet;
+    private long assignSamples;
+    private long assignSampleNanos;
+    private FedExtAggregation aggregation;
+    private FedExtAggregate aggregate;
+    private AggregationNode aggregationRoot;
+    private double[] elementValues;
+    private boolean[] elementPresent;
+    private String elementGroup;
+    private boolean streamed;
+    private FedExtCache.Entry cacheEntry;
+    private FedExtCache.Capture capture;
+    private Object cachedValue;
+    private Map<String, String> responseHeaders;
+    private byte[] prefetched;
+    private long prefetchStart;
+    private long prefetchNanos;
+    private RootPath cursorPath;
+    private int cursorPrefix;
+    private boolean cursorRead;
+    private String cursor;
+    private CursorListener cursorListener;
+    private FedExtLimiter.Permit permit;
+    private volatile FedExtLimiter.Wait limiterWait;
+    private CallPlan plan;
+    private long openNanos;
+    private final FedExtCallMetrics metrics;
+
+    /**
+     * Receiver of the cursor of the next page, as soon as it is read in the response
+     */
+    interface CursorListener {
+        void cursorRead(String cursor);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param client  client running the call
+     * @param request description of the call
+     */
+    FedExtCall(FedExtClient client, FedExtRequest request) {
+        this.client = client;
+        this.request = request;
+        this.jsonData = "";
+        this.errorInfo = "";
+        this.metrics = new FedExtCallMetrics();
+    }
+
+    /**
+     * Call the Web Service and fill the object or the collection
+     *
+     * @param clazz          class of the object to fill
+     * @param collectionType type of collection (Array, or object if empty)
+     * @param sink           receiver of the elements of the collection, null to collect them in the Array to return
+     */
+    void fill(Class clazz, String collectionType, ObjectMapping.ElementSink sink) throws Exception {
+        // A downloaded page is measured from the start of its download
+        long start = (this.prefetched != null) ? this.prefetchStart : System.nanoTime();
+        this.metrics.clazz = clazz;
+        this.streamed = (sink != null);
+        ScheduledFuture<?> watchdog = startWatchdog(start);
+
+        try {
+            // Initialize Object to fill and return
+            this.object2Return = new ObjectMapping(clazz, collectionType);
+            this.metrics.objectsCreated++;
+
+            if (sink != null)
+                this.object2Return.setSink(sink);
+
+            startProcess();
+
+            // Ended before the deadline took effect : the data is complete
+            if (this.errorInfo.isEmpty())
+                this.truncated = false;
+        } catch (Throwable e) {
+            // A call stopped by its deadline ends with an error, like a call which could not be made, unless it is partial
+            if (!this.expired && !this.truncated) {
+                this.metrics.errorType = this.aborted ? "aborted" : e.getClass().getName();
+                throw e;
+            }
+            this.errorInfo = e.toString();
+        } finally {
+            if (watchdog != null)
+                watchdog.cancel(false);
+            complete(start);
+        }
+    }
+
+    /**
+     * Schedule the abort of the call at its deadline
+     *
+     * @param start start time of the call, in nanoseconds
+     * @return the scheduled abort, null if the call has no deadline or has already reached it
+     */
+    private ScheduledFuture<?> startWatchdog(long start) {
+        long deadline = this.request.getDeadline();
+        if (deadline <= 0)
+            return null;
+
+        this.deadlineNanos = start + deadline * 1000000L;
+        long delay = this.deadlineNanos - System.nanoTime();
+
+        if (delay <= 0) {
+            expire();
+            return null;
+        }
+
+        return FedExtExecutors.getTimer().schedule(this::expire, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Abort the call because its deadline is reached : a partial call keeps the elements already completed
+     */
+    private void expire() {
+        if (this.request.isPartial())
+            this.truncated = true;
+        else
+            this.expired = true;
+        abort();
+    }
+
+    /**
+     * Check if the reading has been stopped before the end of the response, at the deadline or at the element count
+     *
+     * @return true if the Array holds only the first elements of the response
+     */
+    boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Return the time left before the deadline, given to the transport
+     *
+     * @return the time in milliseconds, at least 1, or 0 if the call has no deadline
+     */
+    private long timeLeft() {
+        if (this.deadlineNanos == 0)
+            return 0;
+
+        return Math.max((this.deadlineNanos - System.nanoTime()) / 1000000L, 1);
+    }
+
+    /**
+     * Call the Web Service and compute the aggregates of the elements, without instantiating them
+     *
+     * @param clazz       class of the elements, null to read the fields of the aggregation as plain JSON paths
+     * @param aggregation fields to aggregate
+     */
+    void aggregate(Class clazz, FedExtAggregation aggregation) throws Exception {
+        this.aggregation = aggregation;
+
+        fill(clazz, "Array", null);
+    }
+
+    /**
+     * Call the Web Service and read the whole response in memory ; the response is parsed later by fill,
+     * meanwhile the previous page can be parsed (see FedExtPager)
+     * An error is memorized and reported by getErrorInfo
+     */
+    void download() {
+        this.prefetchStart = System.nanoTime();
+
+        try {
+            // Only a direct call can be downloaded in advance, the other ones are made by fill
+            URL url = this.request.getURL();
+            if (!this.request.getConfigName().isEmpty() || url == null || url.toString().equals(""))
+                return;
+
+            URL callURL = new URL(completeURL(url));
+            this.metrics.url = callURL.toString();
+
+            if (!openResponse(callURL))
+                return;
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            try {
+                while ((read = this.body.read(buffer)) != -1)
+                    data.write(buffer, 0, read);
+            } finally {
+                this.body.close();
+            }
+
+            this.prefetchNanos = this.body.getNanos();
+            this.prefetched = data.toByteArray();
+        } catch (Exception e) {
+            this.errorInfo = this.aborted ? "aborted" : e.toString();
+        } finally {
+            this.response = null;
+            releasePermit();
+        }
+    }
+
+    /**
+     * Release the place taken for the host, once the response has been read
+     * The limit of the host is adapted to the time spent by the Web Service, or cut if the network has failed
+     */
+    private void releasePermit() {
+        FedExtLimiter.Permit current = this.permit;
+        if (current == null)
+            return;
+
+        this.permit = null;
+        boolean failed = (this.body != null && this.body.isFailed());
+        current.release(this.openNanos + ((this.body == null) ? 0 : this.body.getNanos()), failed && !this.aborted, !this.aborted);
+    }
+
+    /**
+     * Read the cursor of the next page in the response, in addition to the data
+     * The cursor path must be made of keys only, and the call must have a root path
+     *
+     * @param cursorPath path of the cursor, for instance "$.meta.next"
+     * @param listener   receiver of the cursor as soon as it is read, null for none
+     */
+    void setCursorPath(RootPath cursorPath, CursorListener listener) {
+        this.cursorPath = cursorPath;
+        this.cursorListener = listener;
+    }
+
+    /**
+     * Use the options resolved in advance instead of preparing them again (see FedExtPreparedFetch)
+     *
+     * @param plan plan compiled from the same class and options as the request
+     */
+    void setPlan(CallPlan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Get the cursor of the next page
+     *
+     * @return the cursor as read in the response, null if missing
+     */
+    String getCursor() {
+        return this.cursor;
+    }
+
+    /**
+     * Get a header of the response
+     *
+     * @param name name of the header, case insensitive
+     * @return the value, null if the header is missing or the response has not been opened
+     */
+    String getResponseHeader(String name) {
+        return (this.responseHeaders == null) ? null : this.responseHeaders.get(name);
+    }
+
+    /**
+     * Complete the metrics of the ended call and report them to the listener of the client
+     *
+     * @param start start time of the call, in nanoseconds
+     */
+    private void complete(long start) {
+        releasePermit();
+        this.metrics.totalNanos = System.nanoTime() - start;
+
+        if (this.body != null) {
+            this.metrics.bytesReceived = this.body.getBytes();
+            this.metrics.readNanos = this.body.getNanos() + this.prefetchNanos;
+        }
+
+        if (this.truncated) {
+            // The error is only the consequence of the abort : the elements completed are the result
+            this.errorInfo = "";
+        } else if (this.expired && !this.errorInfo.isEmpty()) {
+            // The error is only the consequence of the abort
+            this.errorInfo = "deadline of " + this.request.getDeadline() + " ms exceeded";
+            this.metrics.errorType = "deadline";
+        }
+
+        if (this.metrics.errorType.isEmpty() && !this.errorInfo.isEmpty()) {
+            // An exception memorized with toString() begins with its class name
+            int separator = this.errorInfo.indexOf(':');
+            this.metrics.errorType = (separator > 0) ? this.errorInfo.substring(0, separator) : this.errorInfo;
+        }
+
+        FedExtListener listener = this.client.getListener();
+        if (listener != null) {
+            try {
+                listener.callCompleted(this.metrics);
+            } catch (RuntimeException e) {
+                // A failing listener does not change the outcome of the call
+            }
+        }
+    }
+
+    /**
+     * Close the current connection to the Web Service, the running parse stops with an error
+     * A response read from memory is stopped as well, by its stream refusing the next reads,
+     * and a call waiting for a place of the limiter stops waiting
+     */
+    void abort() {
+        this.aborted = true;
+        FedExtResponse current = this.response;
+        MeteredInputStream currentBody = this.body;
+        FedExtLimiter.Wait currentWait = this.limiterWait;
+
+        if (currentWait != null)
+            currentWait.cancel();
+        if (current != null)
+            current.abort();
+        if (currentBody != null)
+            currentBody.abort();
+    }
+
+    /**
+     * Define the stream of the response to parse
+     *
+     * @param body stream of the response, refusing the reads if the call is already aborted
+     */
+    private void setBody(MeteredInputStream body) {
+        this.body = body;
+
+        // An abort made meanwhile has not seen this stream
+        if (this.aborted)
+            body.abort();
+    }
+
+    /**
+     * Get the filled object
+     *
+     * @return the object
+     */
+    <T> T getObject() {
+        if (this.cachedValue != null)
+            return (T) this.cachedValue;
+
+        return this.object2Return.getObjectToReturn();
+    }
+
+    /**
+     * Get the filled array
+     *
+     * @return the Array, null if nothing has been found
+     */
+    <T> T[] getArray() {
+        // Each call gets its own Array of the shared immutable elements
+        if (this.cachedValue != null)
+            return (T[]) ((Object[]) this.cachedValue).clone();
+
+        return this.object2Return.getArrayToReturn();
+    }
+
+    /**
+     * Get the computed aggregates
+     *
+     * @return the aggregate of all the elements, null if the aggregation could not start
+     */
+    FedExtAggregate getAggregate() {
+        return this.aggregate;
+    }
+
+    /**
+     * Get the JSON response, only memorized if requested
+     *
+     * @return the JSON response or an empty string
+     */
+    String getJsonData() {
+        return this.jsonData;
+    }
+
+    /**
+     * Get the error information
+     *
+     * @return the error or an empty string
+     */
+    String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Get the metrics of the call, complete once the call has ended
+     *
+     * @return the metrics
+     */
+    FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Call the Web Service and return the data
+     */
+    private void startProcess() throws Exception {
+        // Init value
+        this.errorInfo = "";
+
+        // Check for valid class, an aggregation can also read plain JSON paths
+        if (this.object2Return.getPropertyClazz() == null && this.aggregation == null) {
+            this.errorInfo = "missing reference class";
+            return;
+        }
+
+        // A plan only applies to the fill of its own class
+        if (this.plan != null && (this.plan.getClazz() != this.object2Return.getPropertyClazz() || this.aggregation != null))
+            this.plan = null;
+
+        if (this.plan != null) {
+            // Everything has been checked once for all the calls of the prepared fetch
+            this.members = this.plan.getMembers();
+            this.table = this.plan.getTable();
+            this.rootPath = this.plan.getRootPath();
+        } else if (this.object2Return.getPropertyClazz() != null) {
+            // Parse class
+            parseClass();
+            if (!this.errorInfo.isEmpty())
+                return;
+
+            // Fields to fill
+            this.table = this.members.getTable(this.object2Return.getPropertyClazz(), this.request.getProjection());
+            if (this.table == null) {
+                this.errorInfo = "invalid projection : " + this.request.getProjection();
+                return;
+            }
+
+            // Filter of the elements of a collection
+            if (this.request.getFilter() != null && !this.object2Return.getCollectionType().isEmpty()) {
+                // The conditions must apply to scalar fields of the class
+                FieldTable fullTable = this.members.getTable(this.object2Return.getPropertyClazz());
+                for (String field : this.request.getFilter().getFields()) {
+                    ObjectProperty property = fullTable.get(field);
+
+                    if (property == null || property.isClass()) {
+                        this.errorInfo = "invalid filter : " + field + " is not a scalar field";
+                        return;
+                    }
+                }
+            }
+        }
+
+        if (!this.object2Return.getCollectionType().isEmpty())
+            this.filter = (this.plan != null) ? this.plan.getFilter() : this.request.getFilter();
+
+        // Descriptor of the configuration name, kept by the client (see FedExtDescriptorCache)
+        if (!this.request.getConfigName().isEmpty()) {
+            resolveDescriptor();
+            if (!this.errorInfo.isEmpty())
+                return;
+        }
+
+        // Fields to aggregate
+        if (this.aggregation != null) {
+            prepareAggregation();
+            if (!this.errorInfo.isEmpty())
+                return;
+        }
+
+        // Root path of the data
+        if (this.plan == null && !this.request.getRootPath().isEmpty()) {
+            this.rootPath = RootPath.parse(this.request.getRootPath());
+
+            if (this.rootPath == null) {
+                this.errorInfo = "invalid root path : " + this.request.getRootPath();
+                return;
+            }
+        }
+
+        // The cursor of the next page is read where its path leaves the root path
+        if (this.cursorPath != null) {
+            if (this.rootPath == null) {
+                this.errorInfo = "a root path is required to read the cursor " + this.cursorPath;
+                return;
+            }
+
+            while (this.cursorPrefix < this.cursorPath.size() - 1 && this.cursorPrefix < this.rootPath.size()
+                    && this.rootPath.isName(this.cursorPrefix) && this.cursorPath.getName(this.cursorPrefix).equals(this.rootPath.getName(this.cursorPrefix)))
+                this.cursorPrefix++;
+        }
+
+        // Routing
+        selectRoute();
+    }
+
+    /**
+     * Get the descriptor of the configuration name : the Web Service is then called directly, without the External Wrapping Server
+     * The root path of the descriptor is used when the request has none, and the keys of the response are renamed to the fields
+     */
+    private void resolveDescriptor() {
+        try {
+            this.descriptor = this.client.getDescriptors().get(this.request.getConfigName());
+        } catch (Exception e) {
+            this.errorInfo = e.toString();
+            return;
+        }
+
+        if (this.request.getRootPath().isEmpty() && this.descriptor.getParsedRootPath() != null)
+            this.rootPath = this.descriptor.getParsedRootPath();
+
+        if (!this.descriptor.getFields().isEmpty())
+            this.keyMapping = this.descriptor.getFields();
+    }
+
+    /**
+     * Give the field name of a key of the response, renamed by the descriptor of the configuration
+     *
+     * @param key key of the response
+     * @return the name of the field, the key itself if it is not renamed
+     */
+    private String rename(String key) {
+        if (this.keyMapping == null)
+            return key;
+
+        String field = this.keyMapping.get(key);
+        return (field == null) ? key : field;
+    }
+
+    /**
+     * Check the fields of the aggregation and prepare their accumulators
+     */
+    private void prepareAggregation() {
+        List<String> paths = this.aggregation.getPaths();
+
+        if (this.members != null) {
+            // With a class, the paths must lead to scalar fields through sub objects
+            for (String path : paths) {
+                if (!isScalarPath(path)) {
+                    this.errorInfo = "invalid aggregation : " + path + " is not a scalar field";
+                    return;
+                }
+            }
+
+            // The elements are recognized by any key of the class
+            this.table = this.members.getTable(this.object2Return.getPropertyClazz());
+        } else if (this.rootPath == null && this.request.getRootPath().isEmpty()) {
+            // Without class, the elements can not be recognized by their keys : they are the document or its elements
+            this.rootPath = RootPath.parse("$");
+        }
+
+        this.aggregationRoot = AggregationNode.build(paths);
+        this.aggregate = new FedExtAggregate(null, this.aggregation.getFields(), this.aggregation.getGroupBy() != null);
+        this.elementValues = new double[paths.size()];
+        this.elementPresent = new boolean[paths.size()];
+    }
+
+    /**
+     * Check if a path leads to a scalar field of the class, through sub objects only
+     *
+     * @param path path of the field, for instance "address.zip"
+     * @return true if the field can be aggregated
+     */
+    private boolean isScalarPath(String path) {
+        FieldTable current = this.members.getTable(this.object2Return.getPropertyClazz());
+        String[] names = path.split("\\.");
+
+        for (int i = 0; i < names.length; i++) {
+            int slot = current.find(names[i].trim());
+            if (slot < 0)
+                return false;
+
+            // A collection can not be aggregated as a single value, only the last name is a scalar
+            ObjectProperty property = current.property(slot);
+            if (!property.getCollectionType().isEmpty() || property.isClass() != (i < names.length - 1))
+                return false;
+
+            current = current.child(slot);
+        }
+
+        return true;
+    }
+
+    /**
+     * Parse class and memorize fields properties
+     */
+    private void parseClass() throws Exception {
+        // Get the mappable fields : the class is parsed only once per process
+        this.members = ObjectParserCache.get(this.object2Return.getPropertyClazz());
+
+        // Error message if no mappable field has been found
+        if (this.members.getFieldNumber() == 0)
+            this.errorInfo = "no mappable field has been found";
+    }
+
+    /**
+     * Select the route according to the given parameters
+     */
+    private void selectRoute() throws Exception {
+        URL url = this.request.getURL();
+
+        if (this.request.getConfigName().isEmpty()) {
+            if (url == null || url.toString().equals("")) {
+                // Error
+                this.errorInfo = "missing configuration name or url";
+                return;
+            } else {
+                // Direct call - extServer is not used
+                callWS(url);
+            }
+        } else {
+            // Call through a configuration name - the Web Service of its descriptor is called directly
+            callWS(this.descriptor.getURL());
+        }
+    }
+
+    /**
+     * Call the web Service and return the adapted response
+     *
+     * @param url        Address of WS where the json must be read
+     */
+    private void callWS(URL url) throws Exception {
+        String fullURL = completeURL(url);
+
+        URL callURL = new URL(fullURL);
+        this.metrics.url = fullURL;
+
+        if (this.prefetched != null) {
+            // The response has already been downloaded
+            setBody(new MeteredInputStream(new ByteArrayInputStream(this.prefetched)));
+            this.prefetched = null;
+        } else if (!openResponse(callURL)) {
+            // Open the response, from the cache if possible
+            return;
+        }
+
+        // The object already filled from the same response is given back without parse
+        if (this.cachedValue != null)
+            return;
+
+        if (this.request.isKeepJsonData()) {
+            // Get the JSON response
+            getJSON();
+
+            // Error detected ?
+            if (!this.errorInfo.isEmpty())
+                return;
+
+            // The Object can now be filled
+            fill();
+        } else {
+            // The response is parsed while it is downloaded
+            fillFromStream();
+        }
+
+        // Keep the response and the filled object for the next calls
+        if (this.errorInfo.isEmpty() && !this.aborted)
+            storeInCache(fullURL);
+    }
+
+    /**
+     * Complete the address of the Web Service with the parameters of the request
+     *
+     * @param url Address of WS
+     * @return the address to call
+     */
+    private String completeURL(URL url) {
+        Map<String, String> params = this.request.getParams();
+
+        // The parameters of the request override the ones of the descriptor
+        if (this.descriptor != null && !this.descriptor.getParams().isEmpty()) {
+            params = new LinkedHashMap<String, String>(this.descriptor.getParams());
+            params.putAll(this.request.getParams());
+        }
+
+        if (params.isEmpty())
+            return url.toString();
+
+        // Complete url with the encoded parameters, the first one starting the query
+        StringBuilder fullURL = new StringBuilder(url.toString());
+        for (Map.Entry<String, String> entry : params.entrySet())
+            UrlTemplate.appendParam(fullURL, entry.getKey(), entry.getValue());
+
+        return fullURL.toString();
+    }
+
+    /**
+     * Memorize the json response of the opened Web Service in a String
+     */
+    private void getJSON() throws Exception {
+        this.jsonData = "";
+
+        try {
+            InputStream in = this.body;
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            try {
+                while ((read = in.read(buffer)) != -1)
+                    body.write(buffer, 0, read);
+            } finally {
+                in.close();
+            }
+
+            this.jsonData = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            this.errorInfo = e.toString();
+        } finally {
+            this.response = null;
+        }
+
+        if (this.errorInfo.isEmpty() && this.jsonData.isEmpty())
+            this.errorInfo = "JSON is empty";
+    }
+
+    /**
+     * Open the response of the Web Service through the transport of the client
+     * With a cache, a fresh kept response is used without call, an expired one is revalidated
+     *
+     * @param url Address of WS, completed with the parameters
+     * @return true if the response is opened, false if an error has been memorized
+     */
+    private boolean openResponse(URL url) {
+        long start = System.nanoTime();
+        FedExtCache cache = this.client.getCache();
+        String key = url.toString();
+
+        try {
+            Map<String, String> headers = Collections.emptyMap();
+
+            if (cache != null) {
+                this.cacheEntry = cache.get(key);
+
+                if (this.cacheEntry != null) {
+                    if (this.cacheEntry.isFresh()) {
+                        useCacheEntry(cache, false);
+                        return true;
+                    }
+
+                    // The Web Service answers 304 if the response has not changed
+                    headers = this.cacheEntry.getValidators();
+                }
+            }
+
+            // The number of calls running towards the host is limited
+            FedExtLimiter limiter = this.client.getLimiter();
+            if (limiter != null) {
+                // The wait is cut to the deadline and stopped by an abort
+                FedExtLimiter.Wait wait = new FedExtLimiter.Wait();
+                this.limiterWait = wait;
+                if (this.aborted)
+                    wait.cancel();
+
+                try {
+                    this.permit = limiter.acquire(url, this.deadlineNanos, wait);
+                } finally {
+                    this.limiterWait = null;
+                }
+
+                if (this.permit == null) {
+                    // The wait has lasted until the deadline
+                    if (this.deadlineNanos != 0 && System.nanoTime() - this.deadlineNanos >= 0)
+                        expire();
+                    if (this.aborted)
+                        throw new IOException("aborted");
+
+                    this.errorInfo = "limit reached for " + FedExtLimiter.routeOf(url);
+                    return false;
+                }
+            }
+
+            long open = System.nanoTime();
+            try {
+                // A call aborted meanwhile is not sent
+                if (this.aborted)
+                    throw new IOException("aborted");
+
+                this.response = this.client.getTransport().open(url, headers, timeLeft());
+            } catch (Exception e) {
+                // The Web Service could not be reached
+                if (this.permit != null) {
+                    this.permit.release(System.nanoTime() - open, !this.aborted, false);
+                    this.permit = null;
+                }
+                throw e;
+            }
+
+            this.openNanos = System.nanoTime() - open;
+            this.responseHeaders = this.response.getHeaders();
+
+            if (cache != null) {
+                if (this.cacheEntry != null && this.response.getStatus() == 304) {
+                    this.response.close();
+                    this.response = null;
+                    releasePermit();
+                    cache.revalidate(key, this.cacheEntry);
+                    useCacheEntry(cache, true);
+                    return true;
+                }
+
+                this.cacheEntry = null;
+                this.metrics.cacheStatus = "miss";
+                cache.recordMiss();
+
+                if (cache.isStorable(key, this.response)) {
+                    // The body is copied while it is read
+                    this.capture = new FedExtCache.Capture(this.response, cache.getMaxBytes());
+                    setBody(new MeteredInputStream(this.capture));
+                    return true;
+                }
+            }
+
+            setBody(new MeteredInputStream(this.response.getBody()));
+            return true;
+        } catch (Exception e) {
+            this.errorInfo = e.toString();
+            return false;
+        } finally {
+            this.metrics.connectNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Answer the call with a kept response : the object already filled from it for an immutable class,
+     * otherwise its body, which is parsed as if it had been downloaded
+     *
+     * @param cache       cache of the client
+     * @param revalidated true if the Web Service has confirmed the response (304)
+     */
+    private void useCacheEntry(FedExtCache cache, boolean revalidated) {
+        String valueKey = valueKey(cache);
+
+        this.cachedValue = (valueKey == null) ? null : this.cacheEntry.getValue(valueKey);
+        setBody(new MeteredInputStream(new ByteArrayInputStream(this.cacheEntry.getBody())));
+        this.responseHeaders = this.cacheEntry.getHeaders();
+        this.metrics.cacheStatus = revalidated ? "revalidated" : "hit";
+
+        cache.recordHit(revalidated, this.cachedValue != null);
+    }
+
+    /**
+     * Keep the downloaded response and the filled object in the cache
+     *
+     * @param key URL completed with the parameters
+     */
+    private void storeInCache(String key) {
+        FedExtCache cache = this.client.getCache();
+        if (cache == null)
+            return;
+
+        if (this.capture != null) {
+            byte[] data = this.capture.getBytes();
+
+            if (data != null)
+                this.cacheEntry = cache.put(key, data, this.capture.getHeaders());
+        }
+
+        String valueKey = valueKey(cache);
+        if (this.cacheEntry == null || valueKey == null)
+            return;
+
+        Object value = this.object2Return.getCollectionType().isEmpty() ? this.object2Return.getObjectToReturn() : this.object2Return.getArrayToReturn();
+        if (value != null)
+            this.cacheEntry.putValue(valueKey, value);
+    }
+
+    /**
+     * Describe the fill, so that a filled object is only reused by an identical fill
+     *
+     * @param cache cache of the client
+     * @return the description, null if the filled object can not be kept (mutable class, stream, aggregation or partial call)
+     */
+    private String valueKey(FedExtCache cache) {
+        // A page downloaded in advance does not know yet what it will fill
+        if (this.object2Return == null)
+            return null;
+
+        Class clazz = this.object2Return.getPropertyClazz();
+
+        if (this.aggregation != null || this.streamed || !cache.isImmutable(clazz))
+            return null;
+
+        // A partial call may keep only the first elements : its Array is neither given to a full fill nor taken from one,
+        // the kept response is parsed again instead
+        if (this.request.isPartial() || this.request.getMaxElements() > 0)
+            return null;
+
+        String key = clazz.getName() + "|" + this.object2Return.getCollectionType() + "|" + this.request.getRootPath()
+                + "|" + this.request.getProjection() + "|" + this.request.getFilter();
+
+        // The same response is mapped again when the configuration changes
+        return (this.descriptor == null) ? key : key + "|" + this.descriptor.getName() + "@" + this.descriptor.getVersion();
+    }
+
+    /**
+     * Parse the memorized JSON and fill the Object to return
+     */
+    private void fill() throws Exception {
+        // Open stream with JSON response
+        JsonReader reader = openStream();
+
+        // Parse the json file and fill the object
+        long start = System.nanoTime();
+        try {
+            parseDocument(reader);
+        } finally {
+            // Close the stream
+            reader.close();
+            this.metrics.parseNanos = System.nanoTime() - start;
+            estimateParse();
+        }
+    }
+
+    /**
+     * Fill the Object to return directly from the stream of the opened response,
+     * without keeping the JSON in memory
+     */
+    private void fillFromStream() throws Exception {
+        this.jsonData = "";
+
+        JsonReader reader = new JsonReader(new InputStreamReader(this.body, StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+
+        try {
+            // Nothing to parse ?
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                this.errorInfo = "JSON is empty";
+                return;
+            }
+
+            // Parse the json stream and fill the object
+            parseDocument(reader);
+
+            // The rest of the response is read, so that the whole body can be kept in the cache
+            if (this.capture != null && this.errorInfo.isEmpty()) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+
+                while (this.capture.isCopying() && this.body.read(buffer) != -1) {
+                    // Copied by the capture
+                }
+            }
+        } finally {
+            // The rest of a truncated response is not read : the connection is closed instead of being drained
+            if (this.truncated && this.response != null)
+                this.response.abort();
+
+            // Close the stream and release the connection
+            reader.close();
+            this.response = null;
+
+            // The waiting for the data is counted as reading, not as parsing
+            this.metrics.parseNanos = System.nanoTime() - start - this.body.getNanos();
+            estimateParse();
+        }
+    }
+
+    /**
+     * Search a key in a field table, the search being timed once every 64 keys
+     *
+     * @param table field table of the current class
+     * @param key   key of the JSON
+     * @return the slot of the field, negative if the key is not mapped
+     */
+    private int findKey(FieldTable table, String key) {
+        if ((++this.keysMapped & SAMPLE_MASK) != 0)
+            return table.find(key);
+
+        long start = System.nanoTime();
+        int slot = table.find(key);
+        this.mappingSampleNanos += System.nanoTime() - start;
+        this.mappingSamples++;
+
+        return slot;
+    }
+
+    /**
+     * Count an assignment, and tell if it is one of those timed (once every 64 values)
+     *
+     * @return true if the assignment must be timed
+     */
+    private boolean isAssignSampled() {
+        return (++this.valuesSet & SAMPLE_MASK) == 0;
+    }
+
+    /**
+     * Add the time of a timed assignment
+     *
+     * @param start start of the assignment, in System.nanoTime()
+     */
+    private void recordAssign(long start) {
+        this.assignSampleNanos += System.nanoTime() - start;
+        this.assignSamples++;
+    }
+
+    /**
+     * Extrapolate the time spent to map the keys and to assign the values from the timed ones
+     * A parse with too few keys to be sampled counts no time, and the estimates never exceed the parse
+     * (a sample caught by a pause of the JIT or of the GC would otherwise be multiplied by 64)
+     */
+    private void estimateParse() {
+        if (this.mappingSamples > 0)
+            this.metrics.mappingNanos = Math.min(this.metrics.parseNanos,
+                    this.mappingSampleNanos * this.keysMapped / this.mappingSamples);
+        if (this.assignSamples > 0)
+            this.metrics.assignNanos = Math.min(this.metrics.parseNanos - this.metrics.mappingNanos,
+                    this.assignSampleNanos * this.valuesSet / this.assignSamples);
+    }
+
+    /**
+     * Open a stream on the memorized JSON response
+     */
+    private JsonReader openStream() throws Exception {
+        // Read the json by stream, the parse stopping if the call is aborted
+        return new JsonReader(new FilterReader(new StringReader(this.jsonData)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                if (aborted)
+                    throw new IOException("aborted");
+                return super.read(buffer, offset, length);
+            }
+        });
+    }
+
+    /**
+     * Parse the whole JSON document : from the root path if one is defined, otherwise from the first matching key
+     *
+     * @param reader stream of the json to parse
+     */
+    private void parseDocument(JsonReader reader) throws IOException, IllegalAccessException, InstantiationException {
+        FieldTable table = this.table;
+
+        if (this.rootPath == null) {
+            if (this.aggregation == null)
+                parseJSON(reader, this.object2Return, table, false, 0);
+            else
+                scanElements(reader);
+        } else {
+            navigate(reader, 0, table, false);
+
+            if (!this.rootFound)
+                this.errorInfo = "root path not found : " + this.rootPath;
+        }
+    }
+
+    /**
+     * Go down the root path : the values outside the path are skipped without being parsed
+     *
+     * @param reader stream of the json to parse, positioned on the value of the step
+     * @param step   index of the step of the root path
+     * @param table  field table of the requested class
+     * @param resume true if the parse must go on after the step (an array step [*] is above it)
+     * @return true when the data has been read entirely, the rest of the document is then ignored
+     */
+    private boolean navigate(JsonReader reader, int step, FieldTable table, boolean resume) throws IOException, IllegalAccessException, InstantiationException {
+        if (step == this.rootPath.size()) {
+            this.rootFound = true;
+            return parseRoot(reader, table) && isCursorRead();
+        }
+
+        JsonToken token = reader.peek();
+        this.metrics.tokens++;
+
+        if (this.rootPath.isName(step)) {
+            if (token != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return false;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                this.metrics.tokens++;
+                String key = reader.nextName();
+
+                if (key.equals(this.rootPath.getName(step))) {
+                    // A key is unique in its object : once found, the siblings are only read to go on with the next element
+                    if ((navigate(reader, step + 1, table, resume) || !resume) && isCursorRead())
+                        return true;
+                } else if (this.cursorPath != null && step == this.cursorPrefix && key.equals(this.cursorPath.getName(step))) {
+                    readCursor(reader, step + 1);
+                } else {
+                    this.metrics.keysSkipped++;
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } else {
+            if (token != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return false;
+            }
+
+            boolean wildcard = this.rootPath.isWildcard(step);
+            int index = 0;
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (this.rootPath.matches(step, index)) {
+                    if ((navigate(reader, step + 1, table, resume || wildcard) || !(resume || wildcard)) && isCursorRead())
+                        return true;
+                } else {
+                    reader.skipValue();
+                }
+                index++;
+            }
+            reader.endArray();
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if the rest of the document can be ignored as far as the cursor is concerned
+     *
+     * @return true if there is no cursor to read or if it has been read
+     */
+    private boolean isCursorRead() {
+        return this.cursorPath == null || this.cursorRead;
+    }
+
+    /**
+     * Go down the path of the cursor and read it
+     *
+     * @param reader stream of the json to parse, positioned on the value of the step
+     * @param step   index of the step of the cursor path
+     */
+    private void readCursor(JsonReader reader, int step) throws IOException {
+        if (step == this.cursorPath.size()) {
+            this.cursor = readScalar(reader);
+            this.cursorRead = true;
+
+            // The next page can be requested while this one is parsed
+            if (this.cursorListener != null && this.cursor != null && !this.cursor.isEmpty())
+                this.cursorListener.cursorRead(this.cursor);
+            return;
+        }
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+
+            if (!this.cursorRead && key.equals(this.cursorPath.getName(step)))
+                readCursor(reader, step + 1);
+            else
+                reader.skipValue();
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Parse the value found at the root path : an object is an element, an array gives its elements
+     *
+     * @param reader stream of the json to parse, positioned on the value
+     * @param table  field table of the requested class
+     * @return true if nothing more is needed (the single requested object has been filled)
+     */
+    private boolean parseRoot(JsonReader reader, FieldTable table) throws IOException, IllegalAccessException, InstantiationException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (parseRoot(reader, table))
+                        return true;
+                }
+                reader.endArray();
+                return false;
+
+            case BEGIN_OBJECT:
+                if (this.aggregation != null) {
+                    reader.beginObject();
+                    aggregateElement(reader, null);
+                    reader.endObject();
+                    return false;
+                }
+
+                // The data starts here, whatever its keys
+                if (!this.object2Return.isStarted())
+                    this.object2Return.start(1);
+
+                reader.beginObject();
+                parseJSON(reader, this.object2Return, table, false, 1);
+                reader.endObject();
+
+                // A single object is complete with the first element
+                return this.object2Return.getCollectionType().isEmpty();
+
+            default:
+                reader.skipValue();
+                return false;
+        }
+    }
+
+    /**
+     * Parse the read JSON and fill the requested object
+     * The keys are searched in the field table of the current class, the sub objects are only created for a JSON object
+     *
+     * @param reader stream of the json to parse
+     * @param table  field table of the class of mainObject
+     */
+    private void parseJSON(JsonReader reader, ObjectMapping mainObject, FieldTable table, boolean isArray, int level) throws IOException, IllegalAccessException, InstantiationException {
+        boolean stop = false;
+        boolean ignore = false;
+        boolean rejected = false;
+        int fulfilled = 0;
+        int slot;
+        String key;
+        ObjectProperty currentProperty = null;
+        FieldTable currentTable = null;
+
+        while (reader.hasNext() && !stop) {
+            JsonToken token = reader.peek();
+            this.metrics.tokens++;
+            switch (token) {
+                case BEGIN_OBJECT:
+                    if (ignore)
+                        reader.skipValue();
+                    else {
+                        reader.beginObject();
+                        // The content of an object is never an array, even if the object is an array element
+                        if (currentProperty == null) {
+                            parseJSON(reader, mainObject, table, false, level + 1);
+                        } else {
+                            ObjectMapping currentField = new ObjectMapping(currentProperty);
+                            this.metrics.objectsCreated++;
+                            parseJSON(reader, currentField, currentTable, false, level + 1);
+
+                            // Assign Property Value to the Object
+                            if (this.object2Return.isStarted()) {
+                                boolean timed = isAssignSampled();
+                                long assignStart = timed ? System.nanoTime() : 0;
+                                mainObject.setObjectValue(currentField);
+                                if (timed)
+                                    recordAssign(assignStart);
+                                this.metrics.valuesAssigned++;
+
+                                if (!(this.object2Return.isStarted() && mainObject.isInitialClass()))
+                                    mainObject.transfer(mainObject, false);
+                            }
+                        }
+
+                        reader.endObject();
+                        this.metrics.tokens++;
+                    }
+                    break;
+
+                case BEGIN_ARRAY:
+                    if (ignore)
+                        reader.skipValue();
+                    else {
+                        reader.beginArray();
+                        if (currentProperty == null)
+                            parseJSON(reader, mainObject, table, true, level + 1);
+                        else {
+                            parseJSON(reader, mainObject, currentTable, true, level + 1);
+                        }
+                        reader.endArray();
+                        this.metrics.tokens++;
+                    }
+                    break;
+
+                case NAME:
+                    // Search the key in the table of the current class, nothing is allocated for the lookup
+                    key = rename(reader.nextName());
+                    slot = findKey(table, key);
+                    currentProperty = (slot < 0) ? null : table.property(slot);
+                    currentTable = (slot < 0) ? null : table.child(slot);
+                    if (slot < 0)
+                        this.metrics.keysSkipped++;
+                    else
+                        this.metrics.keysMatched++;
+                    // A key of the filter starts the element too, even if it is not a field to fill
+                    if (!this.object2Return.isStarted() && (currentProperty != null
+                            || (this.filter != null && mainObject == this.object2Return && this.filter.concerns(key)))) {
+                        mainObject.start(level);
+                    }
+                    ignore = (mainObject.isStarted() && currentProperty == null);
+
+                    // The conditions of the filter are checked on the values of the element as soon as they are read
+                    if (this.filter != null && mainObject == this.object2Return && level == this.object2Return.getLevel() && this.filter.concerns(key)) {
+                        int result = this.filter.test(key, readFilteredValue(reader, mainObject, currentProperty));
+                        currentProperty = null;
+
+                        if (result < 0) {
+                            // The element is abandoned : the rest of it is skipped without being mapped
+                            while (reader.hasNext()) {
+                                reader.nextName();
+                                reader.skipValue();
+                            }
+                            rejected = true;
+                            stop = true;
+                        } else {
+                            fulfilled += result;
+                        }
+                    }
+                    break;
+
+                case BOOLEAN:
+                    if (!ignore && this.object2Return.isStarted() && currentProperty != null) {
+                        boolean timed = isAssignSampled();
+                        long assignStart = timed ? System.nanoTime() : 0;
+                        readBoolean(reader, mainObject, currentProperty);
+                        if (timed)
+                            recordAssign(assignStart);
+                        this.metrics.valuesAssigned++;
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+
+                case NUMBER:
+                    if (!ignore && this.object2Return.isStarted() && currentProperty != null) {
+                        boolean timed = isAssignSampled();
+                        long assignStart = timed ? System.nanoTime() : 0;
+                        readNumber(reader, mainObject, currentProperty);
+                        if (timed)
+                            recordAssign(assignStart);
+                        this.metrics.valuesAssigned++;
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+
+                case STRING:
+                    if (!ignore && this.object2Return.isStarted() && currentProperty != null) {
+                        String value = reader.nextString();
+                        boolean timed = isAssignSampled();
+                        long assignStart = timed ? System.nanoTime() : 0;
+                        mainObject.setValue(currentProperty, value);
+                        if (timed)
+                            recordAssign(assignStart);
+                        this.metrics.valuesAssigned++;
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+
+                case NULL:
+                    reader.skipValue();
+                    break;
+
+                case END_DOCUMENT:
+                    reader.skipValue();
+                    stop = true;
+                    break;
+            }
+        }
+
+        // Only the end of the element itself completes it : the items of an array of its fields are parsed deeper
+        if (!isArray && mainObject == this.object2Return && level == this.object2Return.getLevel() && mainObject.isInitialClass()) {
+            // An element without a value for each condition of the filter is rejected too
+            if (this.filter != null && fulfilled < this.filter.size())
+                rejected = true;
+
+            if (rejected) {
+                // The element is not added, the next one gets a new instance
+                mainObject.resetInstance(mainObject);
+                this.metrics.elementsRejected++;
+            } else if (isLimitReached()) {
+                // One element more than the count : the parse stops, the Array is complete
+                this.truncated = true;
+                throw TRUNCATION;
+            } else {
+                this.object2Return.transfer(mainObject, true);
+            }
+
+            // The element is replaced by a new instance in a collection
+            if (!this.object2Return.getCollectionType().isEmpty())
+                this.metrics.objectsCreated++;
+        }
+    }
+
+    /**
+     * Count an element about to be added to the collection
+     *
+     * @return true if the collection already holds the maximal number of elements of the request
+     */
+    private boolean isLimitReached() {
+        int max = this.request.getMaxElements();
+        if (max <= 0 || this.object2Return.getCollectionType().isEmpty())
+            return false;
+
+        return this.kept++ >= max;
+    }
+
+    /**
+     * Look for the elements to aggregate without root path : like for a fill, an object with a key of the class is an element
+     *
+     * @param reader stream of the json to parse, positioned on a value
+     */
+    private void scanElements(JsonReader reader) throws IOException {
+        this.metrics.tokens++;
+
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while (reader.hasNext())
+                    scanElements(reader);
+                reader.endArray();
+                break;
+
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = rename(reader.nextName());
+
+                    if (this.table.find(key) >= 0) {
+                        // The first key of the class makes the object an element
+                        aggregateElement(reader, key);
+                    } else {
+                        this.metrics.keysSkipped++;
+                        scanElements(reader);
+                    }
+                }
+                reader.endObject();
+                break;
+
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    /**
+     * Aggregate an element : only the keys of the aggregation and of the filter are read, nothing is instantiated
+     *
+     * @param reader stream of the json to parse, positioned inside the object of the element
+     * @param key    key of the element already read, null if none
+     */
+    private void aggregateElement(JsonReader reader, String key) throws IOException {
+        boolean rejected = false;
+        int fulfilled = 0;
+
+        Arrays.fill(this.elementPresent, false);
+        this.elementGroup = null;
+
+        while (!rejected && (key != null || reader.hasNext())) {
+            if (key == null)
+                key = rename(reader.nextName());
+
+            this.metrics.tokens++;
+            int slot = this.aggregationRoot.find(key);
+
+            if (this.filter != null && this.filter.concerns(key)) {
+                // The value of a condition can be aggregated too
+                String value = readScalar(reader);
+                int result = this.filter.test(key, value);
+
+                if (result < 0) {
+                    rejected = true;
+                } else {
+                    fulfilled += result;
+
+                    if (slot >= 0)
+                        accumulate(this.aggregationRoot.index(slot), value);
+                }
+            } else if (slot < 0) {
+                this.metrics.keysSkipped++;
+                reader.skipValue();
+            } else {
+                this.metrics.keysMatched++;
+                aggregateValue(reader, this.aggregationRoot, slot);
+            }
+
+            key = null;
+        }
+
+        // The rest of a rejected element is skipped
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+
+        if (rejected || (this.filter != null && fulfilled < this.filter.size())) {
+            this.metrics.elementsRejected++;
+            return;
+        }
+
+        this.aggregate.add(this.elementValues, this.elementPresent);
+        if (this.aggregation.getGroupBy() != null)
+            this.aggregate.group(this.elementGroup).add(this.elementValues, this.elementPresent);
+    }
+
+    /**
+     * Read the value of a key of the aggregation : a field to accumulate, or a sub object leading to deeper fields
+     *
+     * @param reader stream of the json to parse, positioned on the value
+     * @param node   level of the key
+     * @param slot   slot of the key in its level
+     */
+    private void aggregateValue(JsonReader reader, AggregationNode node, int slot) throws IOException {
+        int index = node.index(slot);
+        AggregationNode child = node.child(slot);
+
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                if (child == null) {
+                    reader.skipValue();
+                    break;
+                }
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    int childSlot = child.find(rename(reader.nextName()));
+                    this.metrics.tokens++;
+
+                    if (childSlot < 0) {
+                        this.metrics.keysSkipped++;
+                        reader.skipValue();
+                    } else {
+                        this.metrics.keysMatched++;
+                        aggregateValue(reader, child, childSlot);
+                    }
+                }
+                reader.endObject();
+                break;
+
+            case NUMBER:
+                if (index >= 0 && index < this.aggregation.getFields().size()) {
+                    // A number is read without String conversion
+                    this.elementValues[index] = reader.nextDouble();
+                    this.elementPresent[index] = true;
+                    this.metrics.valuesAssigned++;
+                } else {
+                    accumulate(index, readScalar(reader));
+                }
+                break;
+
+            case STRING:
+            case BOOLEAN:
+                accumulate(index, readScalar(reader));
+                break;
+
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    /**
+     * Keep a value of the current element until the element is complete
+     *
+     * @param index index of the path of the value, NONE if the value is not used
+     * @param value value as read in the JSON, null for a JSON null
+     */
+    private void accumulate(int index, String value) {
+        if (index == AggregationNode.NONE || value == null)
+            return;
+
+        if (index == this.aggregation.getFields().size()) {
+            // Value giving the group
+            this.elementGroup = value;
+            this.metrics.valuesAssigned++;
+            return;
+        }
+
+        try {
+            this.elementValues[index] = Double.parseDouble(value);
+            this.elementPresent[index] = true;
+            this.metrics.valuesAssigned++;
+        } catch (NumberFormatException e) {
+            // A value which is not a number is not aggregated
+        }
+    }
+
+    /**
+     * Read a scalar value as text
+     *
+     * @param reader stream of the json to parse, positioned on the value
+     * @return the value as read in the JSON, null for a JSON null or a non scalar value
+     */
+    private static String readScalar(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+
+            case BOOLEAN:
+                return reader.nextBoolean() ? "true" : "false";
+
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * Read the value of a field of the filter, and assign it if the field is mapped
+     *
+     * @param reader   stream of the json to parse, positioned on the value
+     * @param object   element owning the field
+     * @param property properties of the mapped field, null if the field is not filled (for instance out of the projection)
+     * @return the value as read in the JSON, null for a JSON null or a non scalar value
+     */
+    private String readFilteredValue(JsonReader reader, ObjectMapping object, ObjectProperty property) throws IOException {
+        String value = readScalar(reader);
+
+        if (property != null && value != null) {
+            object.setValue(property, value);
+            this.metrics.valuesAssigned++;
+        }
+
+        return value;
+    }
+
+    /**
+     * Read a JSON number directly in the type of the mapped field, without String conversion
+     *
+     * @param reader   stream of the json to parse, positioned on a number
+     * @param object   object owning the field
+     * @param property properties of the mapped field
+     */
+    private void readNumber(JsonReader reader, ObjectMapping object, ObjectProperty property) throws IOException {
+        switch (property.getValueType()) {
+            case INT:
+                object.setInt(property, nextInt(reader));
+                break;
+
+            case LONG:
+                object.setLong(property, nextLong(reader));
+                break;
+
+            case DOUBLE:
+                object.setDouble(property, reader.nextDouble());
+                break;
+
+            case FLOAT:
+                object.setFloat(property, (float) reader.nextDouble());
+                break;
+
+            case SHORT:
+                object.setShort(property, (short) nextInt(reader));
+                break;
+
+            case BYTE:
+                object.setByte(property, (byte) nextInt(reader));
+                break;
+
+            case STRING:
+            case CHAR:
+            case BIG_DECIMAL:
+            case BIG_INTEGER:
+                // The literal is kept as it is, so no precision is lost
+                object.setValue(property, reader.nextString());
+                break;
+
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    /**
+     * Read a JSON boolean for the mapped field
+     *
+     * @param reader   stream of the json to parse, positioned on a boolean
+     * @param object   object owning the field
+     * @param property properties of the mapped field
+     */
+    private void readBoolean(JsonReader reader, ObjectMapping object, ObjectProperty property) throws IOException {
+        switch (property.getValueType()) {
+            case BOOLEAN:
+                object.setBoolean(property, reader.nextBoolean());
+                break;
+
+            case STRING:
+                object.setValue(property, reader.nextBoolean() ? "true" : "false");
+                break;
+
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    /**
+     * Read a JSON number as an int, a decimal value is truncated
+     *
+     * @param reader stream of the json to parse, positioned on a number
+     * @return the int value
+     */
+    private static int nextInt(JsonReader reader) throws IOException {
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            // Decimal or too large : the reader keeps the value, which can be read again as a double
+            return (int) reader.nextDouble();
+        }
+    }
+
+    /**
+     * Read a JSON number as a long, a decimal value is truncated
+     * Unlike a double, all the 64 bits are kept (for instance for an identifier)
+     *
+     * @param reader stream of the json to parse, positioned on a number
+     * @return the long value
+     */
+    private static long nextLong(JsonReader reader) throws IOException {
+        try {
+            return reader.nextLong();
+        } catch (NumberFormatException e) {
+            // Decimal or too large : the reader keeps the value, which can be read again as a double
+            return (long) reader.nextDouble();
+        }
+    }
+
+    /**
+     * Signal used to leave the parsing when the element count of a partial call is reached
+     */
+    private static class Truncation extends RuntimeException {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package FedExt;
+
+/**
+ * This class FedExtCallMetrics holds the measures of one call : the time of each phase and the counters of the parse
+ * The counters are filled by the call itself while it runs ; once the call has ended, the metrics no more change
+ * and are given to the FedExtListener of the client and with the FedExtResult
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtCallMetrics {
+    String url;
+    Class clazz;
+    long connectNanos;
+    long readNanos;
+    long parseNanos;
+    long mappingNanos;
+    long assignNanos;
+    long totalNanos;
+    long bytesReceived;
+    long tokens;
+    long keysMatched;
+    long keysSkipped;
+    long objectsCreated;
+    long valuesAssigned;
+    long elementsRejected;
+    String cacheStatus = "";
+    String errorType;
+
+    /**
+     * Constructor
+     */
+    FedExtCallMetrics() {
+        this.url = "";
+        this.errorType = "";
+    }
+
+    /**
+     * Add the measures of another call, for instance the next page of a paginated source (see FedExtPager)
+     * The URL, the class and the cache status remain the ones of the first call, the first error is kept
+     *
+     * @param other metrics of the ended call
+     */
+    void add(FedExtCallMetrics other) {
+        if (this.url.isEmpty())
+            this.url = other.url;
+        if (this.clazz == null)
+            this.clazz = other.clazz;
+        if (this.cacheStatus.isEmpty())
+            this.cacheStatus = other.cacheStatus;
+        if (this.errorType.isEmpty())
+            this.errorType = other.errorType;
+
+        this.connectNanos += other.connectNanos;
+        this.readNanos += other.readNanos;
+        this.parseNanos += other.parseNanos;
+        this.mappingNanos += other.mappingNanos;
+        this.assignNanos += other.assignNanos;
+        this.totalNanos += other.totalNanos;
+        this.bytesReceived += other.bytesReceived;
+        this.tokens += other.tokens;
+        this.keysMatched += other.keysMatched;
+        this.keysSkipped += other.keysSkipped;
+        this.objectsCreated += other.objectsCreated;
+        this.valuesAssigned += other.valuesAssigned;
+        this.elementsRejected += other.elementsRejected;
+    }
+
+    /**
+     * Get the URL which has been called
+     *
+     * @return the URL with the parameters, empty if no Web Service has been called
+     */
+    public String getURL() {
+        return this.url;
+    }
+
+    /**
+     * Get the class of the filled object or of the elements
+     *
+     * @return the class
+     */
+    public Class getClazz() {
+        return this.clazz;
+    }
+
+    /**
+     * Get the time spent in a phase
+     *
+     * @param phase phase of the call
+     * @return the time in nanoseconds, estimated from samples for MAPPING and ASSIGN
+     */
+    public long getNanos(FedExtPhase phase) {
+        switch (phase) {
+            case CONNECT:
+                return this.connectNanos;
+
+            case READ:
+                return this.readNanos;
+
+            case PARSE:
+                return this.parseNanos;
+
+            case MAPPING:
+                return this.mappingNanos;
+
+            case ASSIGN:
+                return this.assignNanos;
+
+            default:
+                return this.totalNanos;
+        }
+    }
+
+    /**
+     * Get the number of bytes of the response body, after decompression
+     *
+     * @return the number of bytes
+     */
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * Get the number of JSON tokens read
+     *
+     * @return the number of tokens
+     */
+    public long getTokens() {
+        return this.tokens;
+    }
+
+    /**
+     * Get the number of JSON keys mapped to a field
+     *
+     * @return the number of keys
+     */
+    public long getKeysMatched() {
+        return this.keysMatched;
+    }
+
+    /**
+     * Get the number of JSON keys without field, whose value has been skipped
+     *
+     * @return the number of keys
+     */
+    public long getKeysSkipped() {
+        return this.keysSkipped;
+    }
+
+    /**
+     * Get the number of objects instantiated : sub objects and elements of the collection
+     *
+     * @return the number of objects
+     */
+    public long getObjectsCreated() {
+        return this.objectsCreated;
+    }
+
+    /**
+     * Get the number of values assigned to a field
+     *
+     * @return the number of values
+     */
+    public long getValuesAssigned() {
+        return this.valuesAssigned;
+    }
+
+    /**
+     * Get the number of elements rejected by the filter of the request
+     *
+     * @return the number of elements
+     */
+    public long getElementsRejected() {
+        return this.elementsRejected;
+    }
+
+    /**
+     * Get how the cache has answered the call
+     *
+     * @return "hit" for a fresh kept response, "revalidated" for a response confirmed by the Web Service (304),
+     * "miss" for a downloaded response, empty without cache
+     */
+    public String getCacheStatus() {
+        return this.cacheStatus;
+    }
+
+    /**
+     * Get the type of the error : the class of the exception, or the error information if there is no exception
+     *
+     * @return the type of error, empty if the call succeeded
+     */
+    public String getErrorType() {
+        return this.errorType;
+    }
+
+    /**
+     * Check if the call succeeded
+     *
+     * @return true if no error has been detected
+     */
+    public boolean isSuccess() {
+        return this.errorType.isEmpty();
+    }
+
+    /**
+     * Describe the metrics in one line, for the logs
+     *
+     * @return the metrics
+     */
+    @Override
+    public String toString() {
+        return "FedExtCallMetrics{" +
+                "url=" + this.url +
+                ", totalMs=" + this.totalNanos / 1000000.0 +
+                ", connectMs=" + this.connectNanos / 1000000.0 +
+                ", readMs=" + this.readNanos / 1000000.0 +
+                ", parseMs=" + this.parseNanos / 1000000.0 +
+                ", mappingMs=" + this.mappingNanos / 1000000.0 +
+                ", assignMs=" + this.assignNanos / 1000000.0 +
+                ", bytes=" + this.bytesReceived +
+                ", tokens=" + this.tokens +
+                ", keysMatched=" + this.keysMatched +
+                ", keysSkipped=" + this.keysSkipped +
+                ", objects=" + this.objectsCreated +
+                ", values=" + this.valuesAssigned +
+                ", rejected=" + this.elementsRejected +
+                ", cache=" + this.cacheStatus +
+                (this.errorType.isEmpty() ? "" : ", error=" + this.errorType) +
+                '}';
+    }
+}
@@ -0,0 +1,782 @@
+package FedExt;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class FedExtClient calls the external data sources and fills the MobiS objects
+ * A client is immutable and thread-safe : a single client can serve all the calls of the application,
+ * the state of each call is held by its FedExtRequest and its FedExtResult
+ * The mapping plans of the MobiS classes are shared by all the clients (see ObjectParserCache)
+ * With coalescing, identical fills running at the same moment share one call of the Web Service (see Builder.coalesce)
+ * Several sources can be called in parallel and merged into one result (see fillFederated),
+ * or joined by looking up the keys of the elements of one source in another one (see enrich)
+ * With a limiter, the calls towards a host stay near its capacity (see Builder.limiter)
+ * With hedging, a fill still running after a delay sends a duplicate call, the first response wins (see Builder.hedging)
+ * A call made many times with only some values changing can be prepared once (see FedExtPreparedFetch)
+ * A configuration name is resolved once by the External Wrapping Server, then called directly (see Builder.descriptors)
+ * A paginated Web Service is read page after page, the next pages being downloaded while the current one is parsed (see fillPages)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtClient {
+    private static volatile FedExtClient defaultClient;
+
+    private final FedExtServer server;
+    private final FedExtDescriptorCache descriptors;
+    private final Executor executor;
+    private final FedExtTransport transport;
+    private final FedExtListener listener;
+    private final FedExtCache cache;
+    private final FedExtLimiter limiter;
+    private final FedExtHedging hedging;
+    private final boolean coalescing;
+    private final ConcurrentMap<String, CompletableFuture<FedExtCall>> inFlight;
+    private final LongAdder coalesced;
+    private volatile FedExtClient twin;
+
+    /**
+     * Constructor with the default configuration
+     */
+    public FedExtClient() {
+        this(new Builder());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param builder configuration of the client
+     */
+    private FedExtClient(Builder builder) {
+        this.server = builder.server;
+        this.descriptors = (builder.descriptors == null) ? FedExtDescriptorCache.builder().source(builder.server).build() : builder.descriptors;
+        this.executor = builder.executor;
+        this.transport = builder.transport;
+        this.listener = builder.listener;
+        this.cache = builder.cache;
+        this.limiter = builder.limiter;
+        this.hedging = builder.hedging;
+        this.coalescing = builder.coalescing;
+        this.inFlight = new ConcurrentHashMap<String, CompletableFuture<FedExtCall>>();
+        this.coalesced = new LongAdder();
+    }
+
+    /**
+     * Return the client shared by default (for instance by FedExtService)
+     *
+     * @return the default client
+     */
+    public static FedExtClient getDefault() {
+        FedExtClient client = defaultClient;
+
+        if (client == null) {
+            synchronized (FedExtClient.class) {
+                if (defaultClient == null)
+                    defaultClient = new FedExtClient();
+                client = defaultClient;
+            }
+        }
+
+        return client;
+    }
+
+    /**
+     * Start the configuration of a new client
+     *
+     * @return the builder with the default configuration
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Start the configuration of a new client from the configuration of this one
+     *
+     * @return the builder with the configuration of this client
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Parse the given MobiS classes in advance (for instance at the application startup),
+     * so that the first call does not pay for the class introspection
+     *
+     * @param classes MobiS classes which will be filled later
+     */
+    public static void prepare(Class... classes) throws Exception {
+        ObjectParserCache.prepare(classes);
+    }
+
+    /**
+     * Call the Web Service to load the data and fill the object
+     *
+     * @param request description of the call
+     * @param clazz   class of the object to fill
+     * @return the result with the request object
+     */
+    public <T> FedExtResult<T> fillObject(FedExtRequest request, Class<T> clazz) throws Exception {
+        FedExtCall call = fill(request, clazz, "", null);
+
+        return new FedExtResult<T>(call.<T>getObject(), call.getErrorInfo(), call.getJsonData(), call.getMetrics());
+    }
+
+    /**
+     * Call the Web Service to load the data and fill the Array
+     *
+     * @param request description of the call
+     * @param clazz   class of the elements
+     * @return the result with the Array of the request object, null if nothing has been found
+     */
+    public <T> FedExtResult<T[]> fillArray(FedExtRequest request, Class<T> clazz) throws Exception {
+        FedExtCall call = fill(request, clazz, "Array", null);
+
+        return new FedExtResult<T[]>(call.<T>getArray(), call.getErrorInfo(), call.getJsonData(), call.getMetrics(), call.isTruncated());
+    }
+
+    /**
+     * Make a prepared call and fill the object (see FedExtPreparedFetch)
+     *
+     * @param fetch  prepared call
+     * @param values values of the placeholders of the template, the other values are added as parameters of the query
+     * @return the result with the request object
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public <T> FedExtResult<T> fillObject(FedExtPreparedFetch<T> fetch, Map<String, String> values) throws Exception {
+        FedExtCall call = fill(fetch.request(values), fetch.getClazz(), "", fetch.getPlan());
+
+        return new FedExtResult<T>(call.<T>getObject(), call.getErrorInfo(), call.getJsonData(), call.getMetrics());
+    }
+
+    /**
+     * Make a prepared call and fill the Array (see FedExtPreparedFetch)
+     *
+     * @param fetch  prepared call
+     * @param values values of the placeholders of the template, the other values are added as parameters of the query
+     * @return the result with the Array of the request object, null if nothing has been found
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public <T> FedExtResult<T[]> fillArray(FedExtPreparedFetch<T> fetch, Map<String, String> values) throws Exception {
+        FedExtCall call = fill(fetch.request(values), fetch.getClazz(), "Array", fetch.getPlan());
+
+        return new FedExtResult<T[]>(call.<T>getArray(), call.getErrorInfo(), call.getJsonData(), call.getMetrics(), call.isTruncated());
+    }
+
+    /**
+     * Call the Web Service to load the data and fill only some fields of the object
+     *
+     * @param request    description of the call
+     * @param clazz      class of the object to fill
+     * @param projection paths of the fields to fill (for instance "name", "address.city"), the others are skipped
+     * @return the result with the request object
+     */
+    public <T> FedExtResult<T> fillObject(FedExtRequest request, Class<T> clazz, String... projection) throws Exception {
+        FedExtRequest projected = request.copy();
+        projected.setProjection(projection);
+
+        return fillObject(projected, clazz);
+    }
+
+    /**
+     * Call the Web Service to load the data and fill only some fields of the elements of the Array
+     *
+     * @param request    description of the call
+     * @param clazz      class of the elements
+     * @param projection paths of the fields to fill (for instance "name", "address.city"), the others are skipped
+     * @return the result with the Array of the request object, null if nothing has been found
+     */
+    public <T> FedExtResult<T[]> fillArray(FedExtRequest request, Class<T> clazz, String... projection) throws Exception {
+        FedExtRequest projected = request.copy();
+        projected.setProjection(projection);
+
+        return fillArray(projected, clazz);
+    }
+
+    /**
+     * Call the Web Service to load the data and fill the Array with the elements fulfilling a filter
+     * The other elements are abandoned while the response is parsed, they are never added to the Array
+     *
+     * @param request description of the call
+     * @param clazz   class of the elements
+     * @param filter  conditions on the scalar fields of the elements
+     * @return the result with the Array of the request object, null if nothing has been found
+     */
+    public <T> FedExtResult<T[]> fillArray(FedExtRequest request, Class<T> clazz, FedExtFilter filter) throws Exception {
+        FedExtRequest filtered = request.copy();
+        filtered.setFilter(filter);
+
+        return fillArray(filtered, clazz);
+    }
+
+    /**
+     * Call the Web Service and compute aggregates over the elements of the array, without filling them
+     * The values are accumulated while the response is parsed, so the memory used does not depend on the number of elements
+     * The elements are found like for fillArray : by the root path of the request, or by the keys of the class
+     *
+     * @param request     description of the call, its filter selects the aggregated elements
+     * @param clazz       class of the elements, whose mapping plan checks the fields of the aggregation
+     * @param aggregation fields to aggregate and field of the groups
+     * @return the result with the aggregate of all the elements, which gives the aggregates of the groups
+     */
+    public FedExtResult<FedExtAggregate> aggregate(FedExtRequest request, Class<?> clazz, FedExtAggregation aggregation) throws Exception {
+        FedExtCall call = new FedExtCall(this, request);
+        call.aggregate(clazz, aggregation);
+
+        return new FedExtResult<FedExtAggregate>(call.getAggregate(), call.getErrorInfo(), call.getJsonData(), call.getMetrics());
+    }
+
+    /**
+     * Call the Web Service and compute aggregates over the elements of the array, without class
+     * The fields of the aggregation are plain JSON paths in the elements ; the elements are the objects found
+     * at the root path of the request, or the document itself (or its elements if it is an array)
+     *
+     * @param request     description of the call, its filter selects the aggregated elements
+     * @param aggregation fields to aggregate and field of the groups
+     * @return the result with the aggregate of all the elements, which gives the aggregates of the groups
+     */
+    public FedExtResult<FedExtAggregate> aggregate(FedExtRequest request, FedExtAggregation aggregation) throws Exception {
+        return aggregate(request, null, aggregation);
+    }
+
+    /**
+     * Call the Web Service and give the elements of the array one by one, as soon as they are filled
+     * The returned stream must be closed if it is not read until the end
+     *
+     * @param request description of the call
+     * @param clazz   class of the elements
+     * @return a stream of the request objects
+     */
+    public <T> FedExtStream<T> stream(FedExtRequest request, Class<T> clazz) {
+        return new FedExtStream<T>(new FedExtCall(this, request.copy()), clazz, this.executor);
+    }
+
+    /**
+     * Call all the pages of a paginated Web Service and fill one Array with their elements
+     * The next pages are downloaded while the current one is parsed (see FedExtPagination.prefetch)
+     *
+     * @param request    description of the call of the first page, its root path locates the elements in each page
+     * @param clazz      class of the elements
+     * @param pagination strategy of pagination
+     * @return the result with the elements of all the pages read, null if nothing has been found,
+     * and the metrics of all the pages ; on error, the elements of the pages read before
+     */
+    public <T> FedExtResult<T[]> fillPages(FedExtRequest request, Class<T> clazz, FedExtPagination pagination) throws Exception {
+        FedExtPager pager = new FedExtPager(this, request.copy(), clazz, pagination);
+        final List<Object> elements = new ArrayList<Object>();
+
+        pager.run(new ObjectMapping.ElementSink() {
+            @Override
+            public void add(Object element) {
+                elements.add(element);
+            }
+        });
+
+        T[] array = elements.isEmpty() ? null : elements.toArray((T[]) Array.newInstance(clazz, elements.size()));
+
+        return new FedExtResult<T[]>(array, pager.getErrorInfo(), "", pager.getMetrics());
+    }
+
+    /**
+     * Call all the pages of a paginated Web Service and give their elements one by one, as soon as they are filled
+     * The next pages are downloaded while the current one is parsed (see FedExtPagination.prefetch)
+     * The returned stream must be closed if it is not read until the end
+     *
+     * @param request    description of the call of the first page, its root path locates the elements in each page
+     * @param clazz      class of the elements
+     * @param pagination strategy of pagination
+     * @return a stream of the request objects of all the pages
+     */
+    public <T> FedExtStream<T> streamPages(FedExtRequest request, Class<T> clazz, FedExtPagination pagination) {
+        return new FedExtStream<T>(new FedExtPager(this, request.copy(), clazz, pagination), this.executor);
+    }
+
+    /**
+     * Call several sources in parallel and merge their elements into one Array (see FedExtFederation)
+     * A source which fails or does not answer within its timeout is left out, the others are merged in the order of the federation
+     *
+     * @param federation sources of the query, with their timeouts
+     * @param clazz      class of the elements of all the sources
+     * @return the result with the merged Array, null if nothing has been found, and the outcome of each source ;
+     * its error information lists the sources left out
+     */
+    public <T> FedExtFederatedResult<T> fillFederated(FedExtFederation federation, Class<T> clazz) throws Exception {
+        FedExtGatherer gatherer = new FedExtGatherer(this, federation, clazz);
+        gatherer.run(null);
+
+        List<Object> elements = gatherer.getElements();
+        T[] array = elements.isEmpty() ? null : elements.toArray((T[]) Array.newInstance(clazz, elements.size()));
+
+        return new FedExtFederatedResult<T>(array, gatherer.getErrorInfo(), gatherer.getMetrics(), gatherer.getSources());
+    }
+
+    /**
+     * Call several sources in parallel and give their elements one by one, as soon as they are filled (see FedExtFederation)
+     * The elements of the sources are interleaved ; a source which does not answer within its timeout is aborted,
+     * the elements it has already given remain in the stream, and the source is reported PARTIAL with their number (see FedExtStream.getSources).
+     * The error information of the stream lists the sources left out
+     * The returned stream must be closed if it is not read until the end
+     *
+     * @param federation sources of the query, with their timeouts
+     * @param clazz      class of the elements of all the sources
+     * @return a stream of the request objects of all the sources
+     */
+    public <T> FedExtStream<T> streamFederated(FedExtFederation federation, Class<T> clazz) {
+        return new FedExtStream<T>(new FedExtGatherer(this, federation, clazz), this.executor);
+    }
+
+    /**
+     * Complete the elements filled from a first source with the objects of a second source (see FedExtEnrichment)
+     * The distinct keys of the elements are looked up by batches or in parallel, instead of one call per element ;
+     * each object found is set in the target field of the elements having its key
+     *
+     * @param elements   elements to complete, modified in place
+     * @param enrichment key and target fields, second source and way of calling it
+     * @return the result with the same elements and the metrics of the calls of the second source ;
+     * on error, the elements whose lookup failed are left without sub object
+     */
+    public <T> FedExtResult<T[]> enrich(T[] elements, FedExtEnrichment enrichment) throws Exception {
+        FedExtEnricher enricher = new FedExtEnricher(this, enrichment);
+
+        if (elements != null)
+            enricher.enrich(elements);
+
+        return new FedExtResult<T[]>(elements, enricher.getErrorInfo(), "", enricher.getMetrics());
+    }
+
+    /**
+     * Call the Web Service and fill the object in the background, on the executor of the client
+     * The future fails with a FedExtException if the object could not be filled
+     *
+     * @param request description of the call, copied so that it can be reused meanwhile
+     * @param clazz   class of the object to fill
+     * @return the future request object, cancelling it closes the connection
+     */
+    public <T> CompletableFuture<T> fillObjectAsync(FedExtRequest request, final Class<T> clazz) {
+        final FedExtCall call = new FedExtCall(this, request.copy());
+
+        return runAsync(call, () -> {
+            call.fill(clazz, "", null);
+            return call.<T>getObject();
+        });
+    }
+
+    /**
+     * Call the Web Service and fill the Array in the background, on the executor of the client
+     * The future fails with a FedExtException if the Array could not be filled
+     *
+     * @param request description of the call, copied so that it can be reused meanwhile
+     * @param clazz   class of the elements
+     * @return the future Array of the request object, cancelling it closes the connection
+     */
+    public <T> CompletableFuture<T[]> fillArrayAsync(FedExtRequest request, final Class<T> clazz) {
+        final FedExtCall call = new FedExtCall(this, request.copy());
+
+        return runAsync(call, () -> {
+            call.fill(clazz, "Array", null);
+            return call.<T>getArray();
+        });
+    }
+
+    /**
+     * Run the call of a fill, or join the identical call already running if the client coalesces the fills
+     *
+     * @param request        description of the call
+     * @param clazz          class of the object to fill
+     * @param collectionType type of collection (Array, or object if empty)
+     * @param plan           options resolved in advance, null to prepare them in the call
+     * @return the ended call, shared by all the coalesced fills
+     */
+    private FedExtCall fill(FedExtRequest request, Class clazz, String collectionType, CallPlan plan) throws Exception {
+        if (!this.coalescing)
+            return run(request, clazz, collectionType, plan);
+
+        String key = coalescingKey(request, clazz, collectionType);
+        CompletableFuture<FedExtCall> flight = new CompletableFuture<>();
+        CompletableFuture<FedExtCall> running = this.inFlight.putIfAbsent(key, flight);
+
+        if (running != null) {
+            // The identical call already running gives its result to this fill too
+            this.coalesced.increment();
+
+            try {
+                return running.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception)
+                    throw (Exception) e.getCause();
+                throw e;
+            }
+        }
+
+        try {
+            FedExtCall call = run(request, clazz, collectionType, plan);
+            flight.complete(call);
+
+            return call;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // The next fills make a new call
+            this.inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Run the call of a fill, hedged if the client duplicates the slow calls
+     *
+     * @param request        description of the call
+     * @param clazz          class of the object to fill
+     * @param collectionType type of collection (Array, or object if empty)
+     * @param plan           options resolved in advance, null to prepare them in the call
+     * @return the ended call
+     */
+    private FedExtCall run(FedExtRequest request, Class clazz, String collectionType, CallPlan plan) throws Exception {
+        // Only a direct call can be duplicated
+        if (this.hedging != null && request.getConfigName().isEmpty() && request.getURL() != null)
+            return new FedExtHedge(this, this.hedging, request, clazz, collectionType, plan).run();
+
+        FedExtCall call = new FedExtCall(this, request);
+        call.setPlan(plan);
+        call.fill(clazz, collectionType, null);
+        return call;
+    }
+
+    /**
+     * Describe a fill, so that only identical fills are coalesced
+     *
+     * @param request        description of the call
+     * @param clazz          class of the object to fill
+     * @param collectionType type of collection (Array, or object if empty)
+     * @return the description of the call and of the fill
+     */
+    private static String coalescingKey(FedExtRequest request, Class clazz, String collectionType) {
+        // The order of the parameters does not matter
+        return request.getConfigName() + "|" + request.getURL() + "|" + new TreeMap<String, String>(request.getParams())
+                + "|" + ((clazz == null) ? "" : clazz.getName()) + "|" + collectionType + "|" + request.getRootPath()
+                + "|" + request.getProjection() + "|" + request.getFilter() + "|" + request.isKeepJsonData() + "|" + request.getDeadline()
+                + "|" + request.isPartial() + "|" + request.getMaxElements();
+    }
+
+    /**
+     * Run a call on the executor
+     *
+     * @param call call dedicated to this fill
+     * @param fill fill to run
+     * @return the future result
+     */
+    private <T> CompletableFuture<T> runAsync(final FedExtCall call, final Callable<T> fill) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        this.executor.execute(() -> {
+            if (future.isDone())
+                return;
+
+            try {
+                T result = fill.call();
+
+                if (call.getErrorInfo().isEmpty())
+                    future.complete(result);
+                else
+                    future.completeExceptionally(new FedExtException(call.getErrorInfo()));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        // A cancelled call stops reading the response
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled())
+                call.abort();
+        });
+
+        return future;
+    }
+
+    /**
+     * Return the External Wrapping Server used for the configuration names
+     *
+     * @return the server
+     */
+    public FedExtServer getServer() {
+        return this.server;
+    }
+
+    /**
+     * Return the descriptors of the configuration names
+     *
+     * @return the cache of the descriptors
+     */
+    public FedExtDescriptorCache getDescriptors() {
+        return this.descriptors;
+    }
+
+    /**
+     * Return the executor of the asynchronous calls
+     *
+     * @return the executor
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Return the transport opening the responses of the Web Services
+     *
+     * @return the transport
+     */
+    public FedExtTransport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * Return the listener notified at the end of each call
+     *
+     * @return the listener, null if there is none
+     */
+    public FedExtListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Return the cache of the responses
+     *
+     * @return the cache, null if the responses are not kept
+     */
+    public FedExtCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Return the limiter of the calls running towards each host
+     *
+     * @return the limiter, null if the calls are not limited
+     */
+    public FedExtLimiter getLimiter() {
+        return this.limiter;
+    }
+
+    /**
+     * Return the hedging of the slow calls
+     *
+     * @return the hedging, null if the calls are never duplicated
+     */
+    public FedExtHedging getHedging() {
+        return this.hedging;
+    }
+
+    /**
+     * Check if the identical fills running at the same moment share one call
+     *
+     * @return true if the fills are coalesced
+     */
+    public boolean isCoalescing() {
+        return this.coalescing;
+    }
+
+    /**
+     * Return the client with the same configuration which coalesces the fills, or which does not
+     * The client is created once and shared : the fills of all the services switched to it can coalesce together
+     *
+     * @param coalescing true for the client coalescing the fills
+     * @return this client if it already coalesces (or not) as requested, otherwise its shared twin
+     */
+    FedExtClient withCoalescing(boolean coalescing) {
+        if (this.coalescing == coalescing)
+            return this;
+
+        FedExtClient client = this.twin;
+
+        if (client == null) {
+            synchronized (this) {
+                if (this.twin == null) {
+                    FedExtClient created = toBuilder().coalesce(coalescing).build();
+                    created.twin = this;
+                    this.twin = created;
+                }
+                client = this.twin;
+            }
+        }
+
+        return client;
+    }
+
+    /**
+     * Return the number of fills which have joined an identical call instead of calling the Web Service
+     *
+     * @return the number of coalesced fills
+     */
+    public long getCoalescedFills() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * This class Builder collects the configuration of a FedExtClient
+     */
+    public static final class Builder {
+        private FedExtServer server;
+        private FedExtDescriptorCache descriptors;
+        private Executor executor;
+        private FedExtTransport transport;
+        private FedExtListener listener;
+        private FedExtCache cache;
+        private FedExtLimiter limiter;
+        private FedExtHedging hedging;
+        private boolean coalescing;
+
+        /**
+         * Constructor with the default configuration
+         */
+        private Builder() {
+            this.server = FedExtServer.getInstance();
+            this.executor = FedExtExecutors.getDefault();
+            this.transport = new HttpTransport();
+        }
+
+        /**
+         * Constructor with the configuration of an existing client
+         *
+         * @param client client to copy
+         */
+        private Builder(FedExtClient client) {
+            this.server = client.server;
+            this.descriptors = client.descriptors;
+            this.executor = client.executor;
+            this.transport = client.transport;
+            this.listener = client.listener;
+            this.cache = client.cache;
+            this.limiter = client.limiter;
+            this.hedging = client.hedging;
+            this.coalescing = client.coalescing;
+        }
+
+        /**
+         * Define the External Wrapping Server used for the configuration names
+         *
+         * @param server External Wrapping Server
+         * @return the builder
+         */
+        public Builder server(FedExtServer server) {
+            // The descriptors read from the former server are not kept
+            if (this.descriptors != null && this.descriptors.getSource() == this.server)
+                this.descriptors = null;
+            this.server = (server == null) ? FedExtServer.getInstance() : server;
+            return this;
+        }
+
+        /**
+         * Define where the descriptors of the configuration names are kept (by default a cache of the External Wrapping Server
+         * of the client, see FedExtDescriptorCache)
+         *
+         * @param descriptors cache of the descriptors, which can be shared by several clients
+         * @return the builder
+         */
+        public Builder descriptors(FedExtDescriptorCache descriptors) {
+            this.descriptors = descriptors;
+            return this;
+        }
+
+        /**
+         * Define the executor of the asynchronous calls (by default virtual threads if supported, see FedExtExecutors)
+         *
+         * @param executor executor running the calls
+         * @return the builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = (executor == null) ? FedExtExecutors.getDefault() : executor;
+            return this;
+        }
+
+        /**
+         * Define the transport opening the responses of the Web Services (by default an HttpTransport)
+         *
+         * @param transport transport shared by all the calls of the client
+         * @return the builder
+         */
+        public Builder transport(FedExtTransport transport) {
+            this.transport = (transport == null) ? new HttpTransport() : transport;
+            return this;
+        }
+
+        /**
+         * Define the listener notified with the metrics at the end of each call, for instance a FedExtMetrics
+         *
+         * @param listener listener shared by all the calls of the client, null for none
+         * @return the builder
+         */
+        public Builder listener(FedExtListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Define the cache of the responses, which can be shared by several clients
+         *
+         * @param cache cache of the responses, null to call the Web Services each time
+         * @return the builder
+         */
+        public Builder cache(FedExtCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Define the limiter of the calls running at the same moment towards each host, which can be shared by several clients
+         *
+         * @param limiter adaptive limits by host, null to send the calls without limit
+         * @return the builder
+         */
+        public Builder limiter(FedExtLimiter limiter) {
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * Duplicate the calls of the synchronous fills which are still running after a delay : the first response wins,
+         * the other call is aborted. Only idempotent Web Services should be hedged, each duplicate being a real call
+         * The streams, the aggregations and the asynchronous fills are never hedged
+         *
+         * @param hedging delays of the duplicates, which can be shared by several clients, null to never duplicate the calls
+         * @return the builder
+         */
+        public Builder hedging(FedExtHedging hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Coalesce the identical fills (same URL, parameters, class and options) running at the same moment :
+         * the first one calls the Web Service and parses the response, the others wait for it and get the same result
+         * The coalesced fills share the filled objects (each one gets its own Array), so they must not modify them
+         * The streams, the aggregations and the asynchronous fills are never coalesced
+         *
+         * @param coalescing true to coalesce the fills
+         * @return the builder
+         */
+        public Builder coalesce(boolean coalescing) {
+            this.coalescing = coalescing;
+            return this;
+        }
+
+        /**
+         * Create the client
+         *
+         * @return the immutable client
+         */
+        public FedExtClient build() {
+            return new FedExtClient(this);
+        }
+    }
+}
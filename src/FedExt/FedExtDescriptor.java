@@ -0,0 +1,318 @@
+package FedExt;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class FedExtDescriptor describes a configuration of the External Wrapping Server : the Web Service behind
+ * the configuration name and how its response maps to the MobiS classes
+ *      - url       : address of the Web Service, called directly by the client
+ *      - params    : parameters always sent, the parameters of the request are added to them
+ *      - rootPath  : where the data is in the response, used when the request has no root path
+ *      - fields    : keys of the response renamed to the fields of the classes, for instance "temp_c" to "temperature"
+ *      - version   : version of the configuration, changed by the server at each modification
+ * A descriptor is read from the server once and kept by the client (see FedExtDescriptorCache), as JSON :
+ *
+ *      {"name":"weather","version":"7","url":"https://api.example.com/weather","rootPath":"$.data",
+ *       "params":{"units":"metric"},"fields":{"temp_c":"temperature"},"maxAge":60000}
+ *
+ * A descriptor is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtDescriptor {
+    private final String name;
+    private final String version;
+    private final URL url;
+    private final Map<String, String> params;
+    private final String rootPath;
+    private final RootPath parsedRootPath;
+    private final Map<String, String> fields;
+    private final long maxAge;
+
+    /**
+     * Constructor
+     *
+     * @param builder description of the configuration
+     */
+    private FedExtDescriptor(Builder builder) {
+        this.name = builder.name;
+        this.version = builder.version;
+        this.url = builder.url;
+        this.params = Collections.unmodifiableMap(new LinkedHashMap<String, String>(builder.params));
+        this.rootPath = builder.rootPath;
+        this.parsedRootPath = builder.rootPath.isEmpty() ? null : RootPath.parse(builder.rootPath);
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<String, String>(builder.fields));
+        this.maxAge = builder.maxAge;
+    }
+
+    /**
+     * Start the description of a configuration
+     *
+     * @param name configuration name
+     * @return a builder
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Read a descriptor sent by the External Wrapping Server
+     *
+     * @param reader     stream of the JSON descriptor
+     * @param configName name of the configuration, used if the descriptor does not give it
+     * @return the descriptor
+     * @throws IOException if the JSON is not valid or the descriptor is incomplete
+     */
+    static FedExtDescriptor read(JsonReader reader, String configName) throws IOException {
+        Builder builder = new Builder(configName);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (key.equals("name")) {
+                builder.name = reader.nextString();
+            } else if (key.equals("version")) {
+                builder.version(reader.nextString());
+            } else if (key.equals("url")) {
+                builder.url(new URL(reader.nextString()));
+            } else if (key.equals("rootPath")) {
+                builder.rootPath(reader.nextString());
+            } else if (key.equals("maxAge")) {
+                builder.maxAge(reader.nextLong());
+            } else if (key.equals("params") || key.equals("fields")) {
+                Map<String, String> map = key.equals("params") ? builder.params : builder.fields;
+
+                reader.beginObject();
+                while (reader.hasNext())
+                    map.put(reader.nextName(), reader.nextString());
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        try {
+            return builder.build();
+        } catch (IllegalStateException e) {
+            throw new IOException("invalid descriptor : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Return the configuration name
+     *
+     * @return the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Return the version of the configuration
+     *
+     * @return the version, empty if the server does not version the configuration
+     */
+    public String getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Return the address of the Web Service
+     *
+     * @return the URL called directly by the client
+     */
+    public URL getURL() {
+        return this.url;
+    }
+
+    /**
+     * Return the parameters always sent to the Web Service
+     *
+     * @return the names and values of the parameters
+     */
+    public Map<String, String> getParams() {
+        return this.params;
+    }
+
+    /**
+     * Return where the data is in the response
+     *
+     * @return the JSON path of the data, empty if the data is found by its keys
+     */
+    public String getRootPath() {
+        return this.rootPath;
+    }
+
+    /**
+     * Return the parsed root path
+     *
+     * @return the root path, null if the data is found by its keys
+     */
+    RootPath getParsedRootPath() {
+        return this.parsedRootPath;
+    }
+
+    /**
+     * Return the keys of the response renamed to fields of the classes
+     *
+     * @return the field names by key of the response
+     */
+    public Map<String, String> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Return how long the descriptor can be used before the server is asked again
+     *
+     * @return the time in milliseconds, 0 to use the time of the cache
+     */
+    public long getMaxAge() {
+        return this.maxAge;
+    }
+
+    /**
+     * Describe the configuration
+     *
+     * @return the name, the version and the address
+     */
+    @Override
+    public String toString() {
+        return this.name + (this.version.isEmpty() ? "" : "@" + this.version) + " -> " + this.url
+                + (this.rootPath.isEmpty() ? "" : " at " + this.rootPath) + (this.fields.isEmpty() ? "" : " " + this.fields);
+    }
+
+    /**
+     * Builder of the descriptor, for instance for a local stand-in of the External Wrapping Server
+     */
+    public static final class Builder {
+        private String name;
+        private String version;
+        private URL url;
+        private final Map<String, String> params;
+        private String rootPath;
+        private final Map<String, String> fields;
+        private long maxAge;
+
+        /**
+         * Constructor
+         *
+         * @param name configuration name
+         */
+        private Builder(String name) {
+            this.name = name;
+            this.version = "";
+            this.params = new LinkedHashMap<String, String>();
+            this.rootPath = "";
+            this.fields = new LinkedHashMap<String, String>();
+        }
+
+        /**
+         * Define the version of the configuration
+         *
+         * @param version version, changed at each modification of the configuration
+         * @return this builder
+         */
+        public Builder version(String version) {
+            this.version = (version == null) ? "" : version;
+            return this;
+        }
+
+        /**
+         * Define the address of the Web Service
+         *
+         * @param url URL called directly by the client
+         * @return this builder
+         */
+        public Builder url(URL url) {
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * Define the address of the Web Service
+         *
+         * @param url URL called directly by the client
+         * @return this builder
+         * @throws MalformedURLException if the address is not valid
+         */
+        public Builder url(String url) throws MalformedURLException {
+            return url(new URL(url));
+        }
+
+        /**
+         * Add a parameter always sent to the Web Service
+         *
+         * @param param name of the parameter
+         * @param value value of the parameter
+         * @return this builder
+         */
+        public Builder param(String param, String value) {
+            this.params.put(param, value);
+            return this;
+        }
+
+        /**
+         * Define where the data is in the response (see FedExtRequest.setRootPath)
+         *
+         * @param rootPath JSON path of the data, empty to find the data by its keys
+         * @return this builder
+         */
+        public Builder rootPath(String rootPath) {
+            this.rootPath = (rootPath == null) ? "" : rootPath.trim();
+            return this;
+        }
+
+        /**
+         * Rename a key of the response to a field of the classes
+         *
+         * @param key   key of the response, for instance "temp_c"
+         * @param field name of the field, for instance "temperature"
+         * @return this builder
+         */
+        public Builder field(String key, String field) {
+            this.fields.put(key, field);
+            return this;
+        }
+
+        /**
+         * Define how long the descriptor can be used before the server is asked again
+         *
+         * @param maxAge time in milliseconds, 0 to use the time of the cache
+         * @return this builder
+         */
+        public Builder maxAge(long maxAge) {
+            this.maxAge = Math.max(maxAge, 0);
+            return this;
+        }
+
+        /**
+         * Build the descriptor
+         *
+         * @return the descriptor
+         */
+        public FedExtDescriptor build() {
+            if (this.name == null || this.name.isEmpty())
+                throw new IllegalStateException("missing configuration name");
+            if (this.url == null)
+                throw new IllegalStateException("missing url of " + this.name);
+            if (!this.rootPath.isEmpty() && RootPath.parse(this.rootPath) == null)
+                throw new IllegalStateException("invalid root path : " + this.rootPath);
+
+            return new FedExtDescriptor(this);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package FedExt;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class FedExtDescriptorCache keeps the descriptors of the configuration names (see FedExtDescriptor),
+ * so that a call through a configuration name goes straight to the Web Service, without asking the External Wrapping Server :
+ *
+ *      FedExtDescriptorCache descriptors = FedExtDescriptorCache.builder().source(server).maxAge(300000).build();
+ *      FedExtClient client = FedExtClient.builder().descriptors(descriptors).build();
+ *
+ * A descriptor is read from its source at the first call, then kept until its maximal age is over ; the source is then
+ * asked again with the kept version, and answers without descriptor if the configuration has not changed.
+ * A configuration modified on the server can be invalidated at once, for instance when the server announces its new version
+ * (see invalidate). If the source can not be reached, the kept descriptor is used until it answers again,
+ * the source being asked again every few seconds
+ * Only one call at a time reads the descriptor of a configuration, the other calls wait for it
+ * A cache is thread-safe and can be shared by several clients
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtDescriptorCache {
+    public static final long DEFAULT_MAX_AGE = 300000;
+    private static final long RETRY_DELAY = 5000;
+
+    private final FedExtDescriptorSource source;
+    private final long maxAge;
+    private final ConcurrentMap<String, Entry> entries;
+    private final LongAdder hits;
+    private final LongAdder loads;
+    private final LongAdder unchanged;
+    private final LongAdder failures;
+
+    /**
+     * Constructor
+     *
+     * @param builder configuration of the cache
+     */
+    private FedExtDescriptorCache(Builder builder) {
+        this.source = builder.source;
+        this.maxAge = builder.maxAge;
+        this.entries = new ConcurrentHashMap<String, Entry>();
+        this.hits = new LongAdder();
+        this.loads = new LongAdder();
+        this.unchanged = new LongAdder();
+        this.failures = new LongAdder();
+    }
+
+    /**
+     * Start the configuration of a new cache
+     *
+     * @return the builder with the default configuration
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return the descriptor of a configuration, read from the source if it is not kept or too old
+     *
+     * @param configName name of the configuration
+     * @return the descriptor
+     * @throws IOException if the configuration is unknown or the source can not be reached without kept descriptor
+     */
+    FedExtDescriptor get(String configName) throws IOException {
+        Entry entry = this.entries.computeIfAbsent(configName, name -> new Entry());
+        FedExtDescriptor descriptor = entry.descriptor;
+
+        if (descriptor != null && System.currentTimeMillis() < entry.expiresAt) {
+            this.hits.increment();
+            return descriptor;
+        }
+
+        entry.lock.lock();
+        try {
+            // Read meanwhile by another call
+            descriptor = entry.descriptor;
+            if (descriptor != null && System.currentTimeMillis() < entry.expiresAt) {
+                this.hits.increment();
+                return descriptor;
+            }
+
+            FedExtDescriptor read;
+            try {
+                read = this.source.resolve(configName, (descriptor == null) ? null : descriptor.getVersion());
+            } catch (IOException | RuntimeException e) {
+                this.failures.increment();
+
+                // The kept descriptor is used until the source answers again, the source is not asked at each call meanwhile
+                if (descriptor == null)
+                    throw e;
+                entry.expiresAt = System.currentTimeMillis() + Math.min(RETRY_DELAY, this.maxAge);
+                return descriptor;
+            }
+
+            if (read == null && descriptor == null)
+                throw new IOException("no descriptor for the configuration " + configName);
+
+            if (read == null) {
+                this.unchanged.increment();
+            } else {
+                this.loads.increment();
+                descriptor = read;
+                entry.descriptor = read;
+            }
+
+            entry.expiresAt = System.currentTimeMillis() + ((descriptor.getMaxAge() > 0) ? descriptor.getMaxAge() : this.maxAge);
+            return descriptor;
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * Ask the source again at the next call of a configuration, with the kept version
+     *
+     * @param configName name of the configuration
+     */
+    public void invalidate(String configName) {
+        Entry entry = this.entries.get(configName);
+
+        if (entry != null)
+            entry.expiresAt = 0;
+    }
+
+    /**
+     * Ask the source again at the next call of a configuration, if the kept version is not the given one
+     *
+     * @param configName name of the configuration
+     * @param version    current version of the configuration, for instance announced by the server
+     * @return true if the kept descriptor is out of date
+     */
+    public boolean invalidate(String configName, String version) {
+        Entry entry = this.entries.get(configName);
+        FedExtDescriptor descriptor = (entry == null) ? null : entry.descriptor;
+
+        if (descriptor == null || descriptor.getVersion().equals(version))
+            return false;
+
+        entry.expiresAt = 0;
+        return true;
+    }
+
+    /**
+     * Forget all the descriptors
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Return the kept descriptor of a configuration, without reading it
+     *
+     * @param configName name of the configuration
+     * @return the descriptor, fresh or expired, null if none has been read
+     */
+    public FedExtDescriptor getDescriptor(String configName) {
+        Entry entry = this.entries.get(configName);
+
+        return (entry == null) ? null : entry.descriptor;
+    }
+
+    /**
+     * Return the source of the descriptors
+     *
+     * @return the source
+     */
+    public FedExtDescriptorSource getSource() {
+        return this.source;
+    }
+
+    /**
+     * Return the number of calls served by a kept descriptor
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Return the number of descriptors read from the source
+     *
+     * @return the number of reads
+     */
+    public long getLoads() {
+        return this.loads.sum();
+    }
+
+    /**
+     * Return the number of times the source has confirmed the kept version
+     *
+     * @return the number of confirmations
+     */
+    public long getUnchanged() {
+        return this.unchanged.sum();
+    }
+
+    /**
+     * Return the number of failed reads of the source
+     *
+     * @return the number of failures
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * Describe the state of the cache
+     *
+     * @return the counters
+     */
+    @Override
+    public String toString() {
+        return "FedExtDescriptorCache{hits=" + getHits() + ", loads=" + getLoads() + ", unchanged=" + getUnchanged()
+                + ", failures=" + getFailures() + ", configurations=" + this.entries.size() + "}";
+    }
+
+    /**
+     * The kept descriptor of a configuration
+     */
+    private static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile FedExtDescriptor descriptor;
+        private volatile long expiresAt;
+    }
+
+    /**
+     * This class Builder collects the configuration of a FedExtDescriptorCache
+     */
+    public static final class Builder {
+        private FedExtDescriptorSource source;
+        private long maxAge;
+
+        /**
+         * Constructor with the default configuration
+         */
+        private Builder() {
+            this.source = FedExtServer.getInstance();
+            this.maxAge = DEFAULT_MAX_AGE;
+        }
+
+        /**
+         * Define the source of the descriptors (by default the default External Wrapping Server)
+         *
+         * @param source External Wrapping Server, or a local stand-in
+         * @return the builder
+         */
+        public Builder source(FedExtDescriptorSource source) {
+            this.source = (source == null) ? FedExtServer.getInstance() : source;
+            return this;
+        }
+
+        /**
+         * Define how long a descriptor is used before the source is asked again, unless the descriptor gives its own age
+         *
+         * @param millis time in milliseconds, 0 to ask the source at each call
+         * @return the builder
+         */
+        public Builder maxAge(long millis) {
+            this.maxAge = Math.max(millis, 0);
+            return this;
+        }
+
+        /**
+         * Create the cache
+         *
+         * @return the cache
+         */
+        public FedExtDescriptorCache build() {
+            return new FedExtDescriptorCache(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package FedExt;
+
+import java.io.IOException;
+
+/**
+ * This interface FedExtDescriptorSource gives the descriptors of the configuration names (see FedExtDescriptor)
+ * The default source is the External Wrapping Server itself (see FedExtServer) ; another source can be given
+ * to the descriptor cache, for instance a local stand-in serving fixed descriptors in the tests :
+ *
+ *      FedExtDescriptorSource local = (name, version) -> FedExtDescriptor.builder(name).url("http://localhost:9090/" + name).build();
+ *
+ * A source is shared by all the calls of a client, so it must be thread-safe
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtDescriptorSource {
+
+    /**
+     * Read the descriptor of a configuration
+     *
+     * @param configName   name of the configuration
+     * @param knownVersion version of the descriptor already kept, null if none
+     * @return the descriptor, or null if the kept version is still the current one
+     * @throws IOException if the configuration is unknown or the source can not be reached
+     */
+    FedExtDescriptor resolve(String configName, String knownVersion) throws IOException;
+}
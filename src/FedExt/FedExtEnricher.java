@@ -0,0 +1,283 @@
+package FedExt;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class FedExtEnricher is used internally by FedExtClient to run an enrichment (see FedExtEnrichment)
+ * The keys of the elements are read first and deduplicated ; they are then looked up in the second source,
+ * by batches or one by one, the lookups running in parallel on the executor of the client up to the parallelism
+ * of the enrichment. Each object found is finally set in the target field of all the elements having its key,
+ * through ObjectMapping like a sub object read in the JSON
+ * An enricher runs once : it is dedicated to one enrichment of one Array
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class FedExtEnricher {
+    private final FedExtClient client;
+    private final FedExtEnrichment enrichment;
+    private final ConcurrentMap<String, Object> found;
+    private final FedExtCallMetrics metrics;
+    private Class targetClass;
+    private Field[] matchPath;
+    private String errorInfo;
+    private String firstError;
+    private int failures;
+
+    /**
+     * Constructor
+     *
+     * @param client     client making the calls
+     * @param enrichment description of the enrichment
+     */
+    FedExtEnricher(FedExtClient client, FedExtEnrichment enrichment) {
+        this.client = client;
+        this.enrichment = enrichment;
+        this.found = new ConcurrentHashMap<String, Object>();
+        this.metrics = new FedExtCallMetrics();
+        this.errorInfo = "";
+    }
+
+    /**
+     * Complete the elements with the objects of the second source
+     *
+     * @param elements elements filled from the first source, modified in place
+     */
+    void enrich(Object[] elements) throws Exception {
+        long start = System.nanoTime();
+
+        try {
+            Class clazz = elements.getClass().getComponentType();
+            ObjectParser members = ObjectParserCache.get(clazz);
+
+            // The key must be a scalar field, the target a sub object
+            Field[] keyPath = resolve(members, clazz, this.enrichment.getKeyField());
+            if (keyPath == null) {
+                this.errorInfo = "invalid key : " + this.enrichment.getKeyField() + " is not a scalar field";
+                return;
+            }
+
+            ObjectProperty target = members.getTable(clazz).get(this.enrichment.getTargetField());
+            if (target == null || !target.isClass() || !target.getCollectionType().isEmpty() || target.getAccessor() == null) {
+                this.errorInfo = "invalid target : " + this.enrichment.getTargetField() + " is not a sub object";
+                return;
+            }
+
+            this.targetClass = target.getClazz();
+            if (this.enrichment.isBatched()) {
+                this.matchPath = resolve(ObjectParserCache.get(this.targetClass), this.targetClass, this.enrichment.getMatchField());
+                if (this.matchPath == null) {
+                    this.errorInfo = "invalid match : " + this.enrichment.getMatchField() + " is not a scalar field";
+                    return;
+                }
+            }
+
+            // Each distinct key is looked up once
+            String[] keys = new String[elements.length];
+            Set<String> distinct = new LinkedHashSet<String>();
+
+            for (int i = 0; i < elements.length; i++) {
+                Object key = (elements[i] == null) ? null : read(elements[i], keyPath);
+
+                if (key != null) {
+                    keys[i] = String.valueOf(key);
+                    distinct.add(keys[i]);
+                }
+            }
+
+            lookupAll(batches(distinct));
+
+            if (this.failures > 0)
+                this.errorInfo = (this.failures == 1) ? this.firstError : this.failures + " lookups failed, first " + this.firstError;
+
+            // An object found is shared by all the elements having its key
+            for (int i = 0; i < elements.length; i++) {
+                Object value = (keys[i] == null) ? null : this.found.get(keys[i]);
+
+                if (value != null)
+                    ObjectMapping.setObjectValue(elements[i], target, value);
+            }
+        } finally {
+            // The lookups overlap : the total time is the time of the whole enrichment
+            this.metrics.totalNanos = System.nanoTime() - start;
+
+            if (this.metrics.errorType.isEmpty() && !this.errorInfo.isEmpty())
+                this.metrics.errorType = (this.failures > 0) ? "lookup" : "enrich";
+        }
+    }
+
+    /**
+     * Split the keys into the lists sent by each call
+     *
+     * @param keys distinct keys
+     * @return the batches, of one key if the enrichment is not batched
+     */
+    private List<List<String>> batches(Set<String> keys) {
+        List<List<String>> batches = new ArrayList<List<String>>();
+        List<String> batch = null;
+
+        for (String key : keys) {
+            if (batch == null || batch.size() == this.enrichment.getBatchSize()) {
+                batch = new ArrayList<String>();
+                batches.add(batch);
+            }
+
+            batch.add(key);
+        }
+
+        return batches;
+    }
+
+    /**
+     * Run the lookups, at most parallelism at the same moment
+     *
+     * @param batches keys of each call
+     */
+    private void lookupAll(final List<List<String>> batches) {
+        final AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(this.enrichment.getParallelism(), batches.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[workers];
+
+        // Each worker makes the next call as soon as its previous call has ended
+        for (int w = 0; w < workers; w++) {
+            running[w] = CompletableFuture.runAsync(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < batches.size())
+                    lookup(batches.get(index));
+            }, this.client.getExecutor());
+        }
+
+        CompletableFuture.allOf(running).join();
+    }
+
+    /**
+     * Look up a batch of keys in the second source
+     *
+     * @param batch keys sent in the call
+     */
+    private void lookup(List<String> batch) {
+        FedExtRequest request = this.enrichment.getSource().copy();
+        request.setParam(this.enrichment.getParam(), String.join(this.enrichment.getSeparator(), batch));
+        FedExtCall call = new FedExtCall(this.client, request);
+        String error;
+
+        try {
+            if (this.enrichment.isBatched()) {
+                call.fill(this.targetClass, "Array", null);
+                Object[] array = call.getArray();
+
+                // The objects of the answer are matched to the keys by their own field
+                if (call.getErrorInfo().isEmpty() && array != null) {
+                    for (Object value : array) {
+                        Object key = read(value, this.matchPath);
+                        if (key != null)
+                            this.found.put(String.valueOf(key), value);
+                    }
+                }
+            } else {
+                call.fill(this.targetClass, "", null);
+
+                if (call.getErrorInfo().isEmpty())
+                    this.found.put(batch.get(0), call.getObject());
+            }
+
+            error = call.getErrorInfo();
+        } catch (Exception e) {
+            error = e.toString();
+        }
+
+        synchronized (this) {
+            this.metrics.add(call.getMetrics());
+
+            // The elements of a failed lookup are left without sub object
+            if (!error.isEmpty() && this.failures++ == 0)
+                this.firstError = "lookup of " + batch + " : " + error;
+        }
+    }
+
+    /**
+     * Find the fields leading to a scalar field, through sub objects
+     *
+     * @param members mapping plan of the class
+     * @param clazz   class of the objects
+     * @param path    path of the field, for instance "order.customerId"
+     * @return the fields of each step, null if the path does not lead to a scalar field
+     */
+    private static Field[] resolve(ObjectParser members, Class clazz, String path) {
+        FieldTable table = members.getTable(clazz);
+        String[] names = path.split("\\.");
+        Field[] fields = new Field[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            int slot = table.find(names[i].trim());
+            if (slot < 0)
+                return null;
+
+            ObjectProperty property = table.property(slot);
+            if (!property.getCollectionType().isEmpty() || property.isClass() != (i < names.length - 1))
+                return null;
+
+            try {
+                fields[i] = property.getField();
+                fields[i].setAccessible(true);
+            } catch (RuntimeException e) {
+                // Access refused by a security manager or a module
+                return null;
+            }
+
+            table = table.child(slot);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Read a scalar field through its sub objects
+     *
+     * @param object object to read
+     * @param path   fields of each step
+     * @return the value, null if it or one of the sub objects is missing
+     */
+    private static Object read(Object object, Field[] path) {
+        try {
+            for (Field field : path) {
+                if (object == null)
+                    return null;
+
+                object = field.get(object);
+            }
+
+            return object;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the error information, once the enrichment has ended
+     *
+     * @return the first failed lookup and the number of failures, or an empty string
+     */
+    String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Get the metrics of the calls made to the second source
+     *
+     * @return the sum of their metrics
+     */
+    FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+}
@@ -0,0 +1,258 @@
+package FedExt;
+
+/**
+ * This class FedExtEnrichment describes how the elements filled from a first source are completed by a second source :
+ * the key read in each element is looked up in the second source, and the object found is set in a field of the element
+ * (see FedExtClient.enrich). The keys are collected first and looked up once each, instead of one call per element :
+ *      - batched  : several keys are sent in one call (for instance "ids=1,2,3"), the elements of the answer
+ *                   are matched to the keys by one of their fields
+ *      - one by one : one call per distinct key (for instance "id=1"), several calls running in parallel
+ * The keys are compared as strings, so a number key matches the same number written as text
+ * An enrichment is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtEnrichment {
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final String keyField;
+    private final String targetField;
+    private final FedExtRequest source;
+    private final String param;
+    private final int batchSize;
+    private final String separator;
+    private final String matchField;
+    private final int parallelism;
+
+    /**
+     * Constructor
+     *
+     * @param builder description of the enrichment
+     */
+    private FedExtEnrichment(Builder builder) {
+        this.keyField = builder.keyField;
+        this.targetField = builder.targetField;
+        this.source = builder.source.copy();
+        this.param = builder.param;
+        this.batchSize = builder.batchSize;
+        this.separator = builder.separator;
+        this.matchField = builder.matchField;
+        this.parallelism = builder.parallelism;
+    }
+
+    /**
+     * Start the description of an enrichment
+     *
+     * @return a builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return the field of the elements giving the key
+     *
+     * @return the path of the field, for instance "customerId" or "order.customerId"
+     */
+    public String getKeyField() {
+        return this.keyField;
+    }
+
+    /**
+     * Return the field of the elements receiving the object found
+     *
+     * @return the name of the field
+     */
+    public String getTargetField() {
+        return this.targetField;
+    }
+
+    /**
+     * Return the description of the call of the second source, copied by each lookup
+     *
+     * @return the request
+     */
+    FedExtRequest getSource() {
+        return this.source;
+    }
+
+    /**
+     * Return the parameter receiving the key, or the keys of a batch
+     *
+     * @return the name of the parameter
+     */
+    public String getParam() {
+        return this.param;
+    }
+
+    /**
+     * Return the number of keys sent in one call
+     *
+     * @return the size of the batches, 1 for one call per key
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Check if several keys are sent in one call
+     *
+     * @return true for batches
+     */
+    public boolean isBatched() {
+        return this.batchSize > 1;
+    }
+
+    /**
+     * Return the separator of the keys of a batch
+     *
+     * @return the separator, for instance ","
+     */
+    public String getSeparator() {
+        return this.separator;
+    }
+
+    /**
+     * Return the field of the objects found which gives their key, used to match them to the keys of a batch
+     *
+     * @return the path of the field
+     */
+    public String getMatchField() {
+        return this.matchField;
+    }
+
+    /**
+     * Return the number of calls of the second source running at the same moment
+     *
+     * @return the number of calls
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Describe the enrichment
+     *
+     * @return the fields and the lookups
+     */
+    @Override
+    public String toString() {
+        return this.keyField + " -> " + this.targetField + " by " + this.param
+                + (isBatched() ? " (batches of " + this.batchSize + " matched on " + this.matchField + ")" : "")
+                + ", parallelism " + this.parallelism;
+    }
+
+    /**
+     * Builder of the enrichment
+     */
+    public static final class Builder {
+        private String keyField;
+        private String targetField;
+        private FedExtRequest source;
+        private String param;
+        private int batchSize;
+        private String separator;
+        private String matchField;
+        private int parallelism;
+
+        /**
+         * Constructor
+         */
+        private Builder() {
+            this.batchSize = 1;
+            this.separator = ",";
+            this.parallelism = DEFAULT_PARALLELISM;
+        }
+
+        /**
+         * Define the field of the elements giving the key
+         *
+         * @param keyField path of a scalar field, for instance "customerId" or "order.customerId"
+         * @return this builder
+         */
+        public Builder key(String keyField) {
+            this.keyField = keyField;
+            return this;
+        }
+
+        /**
+         * Define the field of the elements receiving the object found ; its class is the class filled from the second source
+         *
+         * @param targetField name of a field of a MobiS class
+         * @return this builder
+         */
+        public Builder into(String targetField) {
+            this.targetField = targetField;
+            return this;
+        }
+
+        /**
+         * Define the second source : its configuration name or URL, its parameters and its root path
+         *
+         * @param source description of the call, completed with the key parameter by each lookup
+         * @param param  parameter receiving the key, or the keys of a batch
+         * @return this builder
+         */
+        public Builder source(FedExtRequest source, String param) {
+            this.source = source;
+            this.param = param;
+            return this;
+        }
+
+        /**
+         * Send several keys in one call : the second source answers an array, whose elements are matched to the keys
+         *
+         * @param batchSize  maximal number of keys of a call
+         * @param matchField path of the field of the objects found giving their key, for instance "id"
+         * @return this builder
+         */
+        public Builder batch(int batchSize, String matchField) {
+            this.batchSize = Math.max(batchSize, 1);
+            this.matchField = matchField;
+            return this;
+        }
+
+        /**
+         * Define the separator of the keys of a batch (by default ",")
+         *
+         * @param separator separator of the keys in the parameter
+         * @return this builder
+         */
+        public Builder separator(String separator) {
+            this.separator = separator;
+            return this;
+        }
+
+        /**
+         * Define the number of calls of the second source running at the same moment (by default 4)
+         *
+         * @param parallelism number of calls, 1 to make them one after the other
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = Math.max(parallelism, 1);
+            return this;
+        }
+
+        /**
+         * Build the enrichment
+         *
+         * @return the enrichment
+         */
+        public FedExtEnrichment build() {
+            if (this.keyField == null || this.keyField.isEmpty())
+                throw new IllegalStateException("missing key field");
+            if (this.targetField == null || this.targetField.isEmpty())
+                throw new IllegalStateException("missing target field");
+            if (this.source == null || this.param == null || this.param.isEmpty())
+                throw new IllegalStateException("missing source or key parameter");
+            if (this.batchSize > 1 && (this.matchField == null || this.matchField.isEmpty()))
+                throw new IllegalStateException("a batch needs the field matching the keys");
+
+            return new FedExtEnrichment(this);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package FedExt;
+
+/**
+ * This class FedExtException reports the error information of a call which could not fill the object,
+ * when the error can not be read with getErrorInfo() (for instance for an asynchronous call)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtException extends Exception {
+
+    /**
+     * Constructor
+     *
+     * @param errorInfo error information of the call
+     */
+    public FedExtException(String errorInfo) {
+        super(errorInfo);
+    }
+
+    /**
+     * Return the error information of the call
+     *
+     * @return the error information
+     */
+    public String getErrorInfo() {
+        return getMessage();
+    }
+}
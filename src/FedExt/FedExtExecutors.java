@@ -0,0 +1,103 @@
+package FedExt;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class FedExtExecutors gives the executor used by default for the asynchronous calls
+ * A virtual thread per call is used when the JVM supports it (Java 21 and later),
+ * otherwise a shared pool of daemon threads which grows with the number of waiting calls
+ * A single daemon timer thread aborts the calls which reach their deadline ; it only runs the aborts, never the calls
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtExecutors {
+    private static volatile Executor defaultExecutor;
+    private static volatile ScheduledExecutorService timer;
+
+    /**
+     * No instance
+     */
+    private FedExtExecutors() {
+    }
+
+    /**
+     * Return the executor used by default for the asynchronous calls
+     *
+     * @return the shared default executor
+     */
+    public static Executor getDefault() {
+        Executor executor = defaultExecutor;
+
+        if (executor == null) {
+            synchronized (FedExtExecutors.class) {
+                if (defaultExecutor == null)
+                    defaultExecutor = createDefault();
+                executor = defaultExecutor;
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Return the timer aborting the calls at their deadline
+     *
+     * @return the shared timer
+     */
+    static ScheduledExecutorService getTimer() {
+        ScheduledExecutorService current = timer;
+
+        if (current == null) {
+            synchronized (FedExtExecutors.class) {
+                if (timer == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                        Thread thread = new Thread(runnable, "FedExt-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+                    // Most calls end before their deadline : their cancelled aborts must not pile up
+                    executor.setRemoveOnCancelPolicy(true);
+                    timer = executor;
+                }
+                current = timer;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Create the default executor : virtual threads if available, daemon threads otherwise
+     *
+     * @return the executor
+     */
+    private static Executor createDefault() {
+        try {
+            // Looked up by reflection so that the library still runs on older JVMs
+            Method virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreads.invoke(null);
+        } catch (Exception e) {
+            return Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "FedExt-async-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package FedExt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class FedExtFederatedResult holds the outcome of a federated query (see FedExtFederation) :
+ * the merged Array of the elements of all the sources included, and the outcome of each source
+ * The error information lists the sources left out ; the metrics are the sum of the metrics of the sources
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtFederatedResult<T> extends FedExtResult<T[]> {
+    private final List<FedExtSourceResult> sources;
+
+    /**
+     * Constructor
+     *
+     * @param value     merged Array of the elements
+     * @param errorInfo sources left out, empty if all the sources are included
+     * @param metrics   sum of the measures of the sources
+     * @param sources   outcome of each source, in the order of the merge
+     */
+    FedExtFederatedResult(T[] value, String errorInfo, FedExtCallMetrics metrics, List<FedExtSourceResult> sources) {
+        super(value, errorInfo, "", metrics);
+        this.sources = Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Get the outcome of each source
+     *
+     * @return the outcomes, in the order of the federation
+     */
+    public List<FedExtSourceResult> getSources() {
+        return this.sources;
+    }
+
+    /**
+     * Get the outcome of a source
+     *
+     * @param name name of the source
+     * @return the outcome, null if the federation has no such source
+     */
+    public FedExtSourceResult getSource(String name) {
+        for (FedExtSourceResult source : this.sources) {
+            if (source.getName().equals(name))
+                return source;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the names of the sources whose elements are in the merged Array
+     *
+     * @return the names, in the order of the merge
+     */
+    public List<String> getIncludedSources() {
+        List<String> names = new ArrayList<String>();
+        for (FedExtSourceResult source : this.sources) {
+            if (source.isIncluded())
+                names.add(source.getName());
+        }
+
+        return names;
+    }
+
+    /**
+     * Check if all the sources are included
+     *
+     * @return true if no source has failed or timed out
+     */
+    public boolean isComplete() {
+        for (FedExtSourceResult source : this.sources) {
+            if (!source.isIncluded())
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,196 @@
+package FedExt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class FedExtFederation describes a federated query : several external sources, each one with its own
+ * configuration name or URL, parameters and root path, whose elements are mapped onto the same MobiS class
+ * and merged into one Array or one stream (see FedExtClient.fillFederated and FedExtClient.streamFederated)
+ * The sources are called in parallel ; a source which does not answer within its timeout is left out,
+ * so that one slow source can not stall the merged result
+ * A federation is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtFederation {
+    private final List<Source> sources;
+
+    /**
+     * Constructor
+     *
+     * @param builder description of the sources
+     */
+    private FedExtFederation(Builder builder) {
+        this.sources = Collections.unmodifiableList(new ArrayList<Source>(builder.sources));
+    }
+
+    /**
+     * Start the description of a federated query
+     *
+     * @return a builder without source
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Return the sources, in the order of the merge
+     *
+     * @return the sources
+     */
+    List<Source> getSources() {
+        return this.sources;
+    }
+
+    /**
+     * Return the names of the sources
+     *
+     * @return the names, in the order of the merge
+     */
+    public List<String> getSourceNames() {
+        List<String> names = new ArrayList<String>();
+        for (Source source : this.sources)
+            names.add(source.name);
+
+        return names;
+    }
+
+    /**
+     * Describe the federation
+     *
+     * @return the sources and their timeouts
+     */
+    @Override
+    public String toString() {
+        return "FedExtFederation" + this.sources;
+    }
+
+    /**
+     * One source of the federation
+     */
+    static final class Source {
+        private final String name;
+        private final FedExtRequest request;
+        private final long timeoutMillis;
+
+        /**
+         * Constructor
+         *
+         * @param name          name of the source, reported in the results
+         * @param request       description of the call of the source, copied
+         * @param timeoutMillis time given to the source, 0 for no limit
+         */
+        private Source(String name, FedExtRequest request, long timeoutMillis) {
+            this.name = name;
+            this.request = request.copy();
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        /**
+         * Return the name of the source
+         *
+         * @return the name
+         */
+        String getName() {
+            return this.name;
+        }
+
+        /**
+         * Return the description of the call of the source
+         *
+         * @return the request, to be copied by each call
+         */
+        FedExtRequest getRequest() {
+            return this.request;
+        }
+
+        /**
+         * Return the time given to the source, from the start of the federated query
+         *
+         * @return the timeout in milliseconds, 0 for no limit
+         */
+        long getTimeoutMillis() {
+            return this.timeoutMillis;
+        }
+
+        @Override
+        public String toString() {
+            return this.name + ((this.timeoutMillis > 0) ? " (" + this.timeoutMillis + " ms)" : "");
+        }
+    }
+
+    /**
+     * Builder of the federation
+     */
+    public static final class Builder {
+        private final List<Source> sources;
+        private long timeoutMillis;
+
+        /**
+         * Constructor
+         */
+        private Builder() {
+            this.sources = new ArrayList<Source>();
+        }
+
+        /**
+         * Define the timeout of the sources added without their own timeout (by default none)
+         *
+         * @param timeoutMillis time given to each source, in milliseconds, 0 for no limit
+         * @return this builder
+         */
+        public Builder timeout(long timeoutMillis) {
+            this.timeoutMillis = Math.max(timeoutMillis, 0);
+            return this;
+        }
+
+        /**
+         * Add a source with the default timeout
+         *
+         * @param name    name of the source, reported in the results
+         * @param request configuration name or URL, parameters, root path... of the source
+         * @return this builder
+         */
+        public Builder source(String name, FedExtRequest request) {
+            return source(name, request, this.timeoutMillis);
+        }
+
+        /**
+         * Add a source with its own timeout
+         *
+         * @param name          name of the source, reported in the results
+         * @param request       configuration name or URL, parameters, root path... of the source
+         * @param timeoutMillis time given to the source, in milliseconds, 0 for no limit
+         * @return this builder
+         */
+        public Builder source(String name, FedExtRequest request, long timeoutMillis) {
+            if (request == null)
+                throw new IllegalArgumentException("missing request of the source " + name);
+
+            for (Source source : this.sources) {
+                if (source.name.equals(name))
+                    throw new IllegalArgumentException("duplicate source " + name);
+            }
+
+            this.sources.add(new Source(name, request, Math.max(timeoutMillis, 0)));
+            return this;
+        }
+
+        /**
+         * Build the federation
+         *
+         * @return the federation
+         */
+        public FedExtFederation build() {
+            if (this.sources.isEmpty())
+                throw new IllegalStateException("a federation needs at least one source");
+
+            return new FedExtFederation(this);
+        }
+    }
+}
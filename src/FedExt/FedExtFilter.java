@@ -0,0 +1,367 @@
+package FedExt;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class FedExtFilter selects the elements of an Array while the JSON response is parsed,
+ * instead of filtering the filled Array afterwards :
+ *
+ *      FedExtFilter filter = FedExtFilter.where("status").isEqualTo("active").and("price").isLessThan(100);
+ *
+ * The conditions apply to the scalar fields of the elements (not to the sub objects) and are all required.
+ * Each condition is checked as soon as the value of its field is read : a rejected element is abandoned,
+ * the rest of it is skipped without being mapped and it is never added to the Array.
+ * An element without a value (or with null) for a field of a condition is rejected.
+ * A filter is immutable once built and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtFilter {
+    /**
+     * Comparison of a condition
+     */
+    public enum Operator {
+        EQUAL, NOT_EQUAL, LESS, LESS_OR_EQUAL, GREATER, GREATER_OR_EQUAL, IN
+    }
+
+    private final Condition[] conditions;
+
+    /**
+     * Constructor
+     *
+     * @param conditions conditions required by the filter
+     */
+    private FedExtFilter(Condition[] conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Start a filter with a condition on a field
+     *
+     * @param field name of a scalar field of the class (the case is ignored)
+     * @return the condition to complete
+     */
+    public static Field where(String field) {
+        return new Field(new Condition[0], field);
+    }
+
+    /**
+     * Add a condition on another field (or on the same field, for instance to give a range)
+     *
+     * @param field name of a scalar field of the class (the case is ignored)
+     * @return the condition to complete
+     */
+    public Field and(String field) {
+        return new Field(this.conditions, field);
+    }
+
+    /**
+     * Return the number of conditions
+     *
+     * @return the number of conditions
+     */
+    public int size() {
+        return this.conditions.length;
+    }
+
+    /**
+     * Return the names of the fields of the conditions
+     *
+     * @return the field names, in the order of the conditions
+     */
+    public List<String> getFields() {
+        List<String> fields = new ArrayList<String>();
+
+        for (Condition condition : this.conditions)
+            fields.add(condition.field);
+
+        return fields;
+    }
+
+    /**
+     * Check if a JSON key is the field of a condition
+     *
+     * @param key JSON key
+     * @return true if the value of the key must be tested
+     */
+    boolean concerns(String key) {
+        for (Condition condition : this.conditions) {
+            if (condition.field.equalsIgnoreCase(key))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Test the value of a JSON key against the conditions of its field
+     *
+     * @param key   JSON key
+     * @param value value as read in the JSON, null for a JSON null or a non scalar value
+     * @return the number of conditions fulfilled, -1 if a condition is not fulfilled
+     */
+    int test(String key, String value) {
+        int fulfilled = 0;
+
+        for (Condition condition : this.conditions) {
+            if (condition.field.equalsIgnoreCase(key)) {
+                if (value == null || !condition.test(value))
+                    return -1;
+
+                fulfilled++;
+            }
+        }
+
+        return fulfilled;
+    }
+
+    /**
+     * Describe the filter
+     *
+     * @return the conditions
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+
+        for (Condition condition : this.conditions) {
+            if (description.length() > 0)
+                description.append(" and ");
+
+            description.append(condition.field).append(' ').append(condition.operator).append(' ')
+                    .append(condition.operands.length == 1 ? String.valueOf(condition.operands[0]) : Arrays.toString(condition.operands));
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * This class Field completes a condition on a field with its comparison
+     */
+    public static final class Field {
+        private final Condition[] previous;
+        private final String field;
+
+        /**
+         * Constructor
+         *
+         * @param previous conditions already defined
+         * @param field    name of the field of the new condition
+         */
+        private Field(Condition[] previous, String field) {
+            if (field == null || field.trim().isEmpty())
+                throw new IllegalArgumentException("missing field name");
+
+            this.previous = previous;
+            this.field = field.trim();
+        }
+
+        /**
+         * The value must be equal to the given one (a String, a Number or a Boolean)
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isEqualTo(Object value) {
+            return add(Operator.EQUAL, value);
+        }
+
+        /**
+         * The value must be different from the given one
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isNotEqualTo(Object value) {
+            return add(Operator.NOT_EQUAL, value);
+        }
+
+        /**
+         * The value must be lower than the given one (numbers are compared by value, texts alphabetically)
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isLessThan(Object value) {
+            return add(Operator.LESS, value);
+        }
+
+        /**
+         * The value must be lower than or equal to the given one
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isLessThanOrEqualTo(Object value) {
+            return add(Operator.LESS_OR_EQUAL, value);
+        }
+
+        /**
+         * The value must be greater than the given one
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isGreaterThan(Object value) {
+            return add(Operator.GREATER, value);
+        }
+
+        /**
+         * The value must be greater than or equal to the given one
+         *
+         * @param value value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isGreaterThanOrEqualTo(Object value) {
+            return add(Operator.GREATER_OR_EQUAL, value);
+        }
+
+        /**
+         * The value must be equal to one of the given ones
+         *
+         * @param values value to compare with
+         * @return the filter with this condition
+         */
+        public FedExtFilter isIn(Object... values) {
+            return add(Operator.IN, values);
+        }
+
+        /**
+         * Create the filter with the previous conditions and the new one
+         *
+         * @param operator comparison of the condition
+         * @param operands values to compare with
+         * @return the filter
+         */
+        private FedExtFilter add(Operator operator, Object... operands) {
+            for (Object operand : operands) {
+                if (operand == null)
+                    throw new IllegalArgumentException("null value in the condition on " + this.field);
+            }
+
+            Condition[] conditions = Arrays.copyOf(this.previous, this.previous.length + 1);
+            conditions[this.previous.length] = new Condition(this.field, operator, operands);
+
+            return new FedExtFilter(conditions);
+        }
+    }
+
+    /**
+     * Condition on the value of a field
+     */
+    private static final class Condition {
+        private final String field;
+        private final Operator operator;
+        private final Object[] operands;
+        private final double[] numbers;
+        private final BigDecimal[] decimals;
+
+        /**
+         * Constructor
+         *
+         * @param field    name of the field
+         * @param operator comparison
+         * @param operands values to compare with
+         */
+        private Condition(String field, Operator operator, Object[] operands) {
+            this.field = field;
+            this.operator = operator;
+            this.operands = operands;
+
+            // The numbers are compared as double, unless a double could not represent them exactly
+            boolean numeric = true;
+            boolean exact = false;
+            for (Object operand : operands) {
+                numeric &= (operand instanceof Number);
+                exact |= (operand instanceof Long || operand instanceof BigInteger || operand instanceof BigDecimal);
+            }
+
+            if (numeric && !exact) {
+                this.numbers = new double[operands.length];
+                for (int i = 0; i < operands.length; i++)
+                    this.numbers[i] = ((Number) operands[i]).doubleValue();
+            } else {
+                this.numbers = null;
+            }
+
+            if (numeric && exact) {
+                this.decimals = new BigDecimal[operands.length];
+                for (int i = 0; i < operands.length; i++)
+                    this.decimals[i] = new BigDecimal(operands[i].toString());
+            } else {
+                this.decimals = null;
+            }
+        }
+
+        /**
+         * Test a value
+         *
+         * @param value value as read in the JSON
+         * @return true if the condition is fulfilled
+         */
+        private boolean test(String value) {
+            try {
+                if (this.numbers != null) {
+                    double number = Double.parseDouble(value);
+
+                    for (int i = 0; i < this.numbers.length; i++) {
+                        if (compared(Double.compare(number, this.numbers[i])))
+                            return true;
+                    }
+                } else if (this.decimals != null) {
+                    BigDecimal number = new BigDecimal(value);
+
+                    for (int i = 0; i < this.decimals.length; i++) {
+                        if (compared(number.compareTo(this.decimals[i])))
+                            return true;
+                    }
+                } else {
+                    for (int i = 0; i < this.operands.length; i++) {
+                        if (compared(value.compareTo(this.operands[i].toString())))
+                            return true;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // A value which is not a number can not fulfil a numeric condition
+            }
+
+            return false;
+        }
+
+        /**
+         * Interpret a comparison according to the operator
+         *
+         * @param comparison result of the comparison of the value with an operand
+         * @return true if the condition is fulfilled
+         */
+        private boolean compared(int comparison) {
+            switch (this.operator) {
+                case EQUAL:
+                case IN:
+                    return comparison == 0;
+
+                case NOT_EQUAL:
+                    return comparison != 0;
+
+                case LESS:
+                    return comparison < 0;
+
+                case LESS_OR_EQUAL:
+                    return comparison <= 0;
+
+                case GREATER:
+                    return comparison > 0;
+
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package FedExt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class FedExtGatherer is used internally by FedExtClient to run a federated query (see FedExtFederation)
+ * Each source is a FedExtCall started at once on the executor of the client ; the gatherer then waits for each source
+ * until its timeout, counted from the start of the query, and aborts the sources which are too late
+ * Without sink, each source fills its own Array and the Arrays of the sources included are merged in the order of the federation ;
+ * with a sink (see FedExtStream), the elements of all the sources are passed on as soon as they are filled,
+ * and a source stopped after passing some of them is reported PARTIAL with their number
+ * A gatherer runs the query once : it is dedicated to one fill or one stream
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class FedExtGatherer implements FedExtStream.Producer {
+    private final FedExtClient client;
+    private final FedExtFederation federation;
+    private final Class clazz;
+    private final Branch[] branches;
+    private final List<FedExtSourceResult> results;
+    private final List<Object> elements;
+    private final FedExtCallMetrics metrics;
+    private volatile boolean aborted;
+    private String errorInfo;
+
+    /**
+     * Constructor
+     *
+     * @param client     client making the calls
+     * @param federation sources of the query
+     * @param clazz      class of the elements of all the sources
+     */
+    FedExtGatherer(FedExtClient client, FedExtFederation federation, Class clazz) {
+        this.client = client;
+        this.federation = federation;
+        this.clazz = clazz;
+        this.branches = new Branch[federation.getSources().size()];
+        this.results = new ArrayList<FedExtSourceResult>();
+        this.elements = new ArrayList<Object>();
+        this.metrics = new FedExtCallMetrics();
+        this.errorInfo = "";
+    }
+
+    /**
+     * Call all the sources in parallel and gather their elements
+     *
+     * @param sink receiver of the elements, null to merge the Arrays of the sources
+     */
+    @Override
+    public void run(ObjectMapping.ElementSink sink) throws Exception {
+        long start = System.nanoTime();
+        List<FedExtFederation.Source> sources = this.federation.getSources();
+
+        // All the sources are called at once
+        for (int i = 0; i < this.branches.length; i++) {
+            this.branches[i] = new Branch(sources.get(i), new FedExtCall(this.client, sources.get(i).getRequest().copy()), sink);
+
+            if (!this.aborted)
+                this.branches[i].future = CompletableFuture.runAsync(this.branches[i], this.client.getExecutor());
+        }
+
+        StringBuilder errors = new StringBuilder();
+
+        for (Branch branch : this.branches) {
+            FedExtSourceResult result = await(branch, start);
+            this.results.add(result);
+
+            if (result.isIncluded() || result.getStatus() == FedExtSourceResult.Status.PARTIAL) {
+                this.metrics.add(branch.call.getMetrics());
+
+                if (sink == null) {
+                    Object[] array = branch.call.getArray();
+                    if (array != null)
+                        this.elements.addAll(Arrays.asList(array));
+                }
+            }
+
+            if (!result.isIncluded()) {
+                errors.append((errors.length() == 0) ? "" : ", ").append("source ").append(result.getName()).append(" : ").append(result.getErrorInfo());
+
+                // The elements already passed to the stream remain in it
+                if (result.getStatus() == FedExtSourceResult.Status.PARTIAL)
+                    errors.append(", ").append(result.getElements()).append(" elements given");
+            }
+        }
+
+        // The sources run in parallel : the total time is the time of the whole query
+        this.metrics.totalNanos = System.nanoTime() - start;
+        this.errorInfo = errors.toString();
+
+        if (this.metrics.errorType.isEmpty() && !this.errorInfo.isEmpty())
+            this.metrics.errorType = "partial";
+    }
+
+    /**
+     * Wait for a source until its timeout
+     *
+     * @param branch call of the source
+     * @param start  start time of the query, in nanoseconds
+     * @return the outcome of the source
+     */
+    private FedExtSourceResult await(Branch branch, long start) {
+        long timeoutMillis = branch.source.getTimeoutMillis();
+
+        // Not started, the query has been stopped meanwhile
+        if (branch.future == null)
+            return result(branch, FedExtSourceResult.Status.FAILED, "aborted");
+
+        try {
+            if (timeoutMillis == 0)
+                branch.future.get();
+            else
+                branch.future.get(Math.max(start + timeoutMillis * 1000000L - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The slow source is left out, its connection is closed
+            branch.abandon();
+            branch.call.abort();
+            return result(branch, FedExtSourceResult.Status.TIMED_OUT, "timeout after " + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            // The query is stopped (for instance by the closing of its stream)
+            if (!this.aborted)
+                Thread.currentThread().interrupt();
+            abort();
+            return result(branch, FedExtSourceResult.Status.FAILED, "aborted");
+        } catch (ExecutionException e) {
+            return result(branch, FedExtSourceResult.Status.FAILED, e.getCause().toString());
+        }
+
+        if (branch.failure != null)
+            return result(branch, FedExtSourceResult.Status.FAILED, this.aborted ? "aborted" : branch.failure.toString());
+
+        if (!branch.call.getErrorInfo().isEmpty())
+            return result(branch, FedExtSourceResult.Status.FAILED, branch.call.getErrorInfo());
+
+        return result(branch, FedExtSourceResult.Status.INCLUDED, "");
+    }
+
+    /**
+     * Describe the outcome of a source
+     *
+     * @param branch    call of the source
+     * @param status    outcome of the source
+     * @param errorInfo error information, empty if the source is included
+     * @return the outcome
+     */
+    private FedExtSourceResult result(Branch branch, FedExtSourceResult.Status status, String errorInfo) {
+        // The count is final once the source is abandoned : no element is passed on afterwards
+        int count = (status == FedExtSourceResult.Status.INCLUDED) ? branch.count : branch.abandon();
+
+        // In a stream, the elements given before the failure or the timeout have already been read
+        if (branch.sink != null && status != FedExtSourceResult.Status.INCLUDED && count > 0)
+            status = FedExtSourceResult.Status.PARTIAL;
+
+        // Without sink the elements are only known by the Array of the source
+        if (branch.sink == null && status == FedExtSourceResult.Status.INCLUDED) {
+            Object[] array = branch.call.getArray();
+            count = (array == null) ? 0 : array.length;
+        }
+
+        return new FedExtSourceResult(branch.source.getName(), status, errorInfo, count, branch.call.getMetrics());
+    }
+
+    /**
+     * Stop the query : the calls of all the sources are closed
+     */
+    @Override
+    public void abort() {
+        this.aborted = true;
+
+        for (Branch branch : this.branches) {
+            if (branch != null)
+                branch.call.abort();
+        }
+    }
+
+    /**
+     * Get the error information, once the query has ended
+     *
+     * @return the sources left out, or an empty string
+     */
+    @Override
+    public String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Get the outcome of each source, once the query has ended
+     *
+     * @return the outcomes, in the order of the federation
+     */
+    @Override
+    public List<FedExtSourceResult> getSources() {
+        return this.results;
+    }
+
+    /**
+     * Get the merged elements of the sources included, once the query has ended without sink
+     *
+     * @return the elements, in the order of the federation
+     */
+    List<Object> getElements() {
+        return this.elements;
+    }
+
+    /**
+     * Get the metrics of the sources included
+     *
+     * @return the sum of their metrics
+     */
+    FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * The call of one source, run on the executor of the client
+     */
+    private final class Branch implements Runnable, ObjectMapping.ElementSink {
+        private final FedExtFederation.Source source;
+        private final FedExtCall call;
+        private final ObjectMapping.ElementSink sink;
+        private CompletableFuture<Void> future;
+        private int count;
+        private volatile Exception failure;
+        private boolean abandoned;
+
+        /**
+         * Constructor
+         *
+         * @param source source to call
+         * @param call   call dedicated to the source
+         * @param sink   receiver of the elements, null to fill the Array of the call
+         */
+        private Branch(FedExtFederation.Source source, FedExtCall call, ObjectMapping.ElementSink sink) {
+            this.source = source;
+            this.call = call;
+            this.sink = sink;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.call.fill(clazz, "Array", (this.sink == null) ? null : this);
+            } catch (Exception e) {
+                this.failure = e;
+            }
+        }
+
+        @Override
+        public void add(Object element) {
+            // An element parsed while the source is aborted is not passed on
+            synchronized (this) {
+                if (this.abandoned)
+                    throw new IllegalStateException("source " + this.source.getName() + " abandoned");
+
+                this.count++;
+            }
+
+            this.sink.add(element);
+        }
+
+        /**
+         * Pass no more element of the source
+         *
+         * @return the number of elements passed on
+         */
+        private synchronized int abandon() {
+            this.abandoned = true;
+            return this.count;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package FedExt;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class FedExtHedge is used internally by FedExtClient to run a hedged fill (see FedExtHedging)
+ * The first call runs on the executor of the client ; if it has not ended after the delay, a duplicate call is started.
+ * The first call ending without error wins and the other one is aborted ; if both fail, the last failure is given back
+ * A call failing before the delay is not duplicated : the hedging cuts the slow calls, it does not retry the failed ones
+ * A hedge runs once : it is dedicated to one fill
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class FedExtHedge {
+    private final FedExtClient client;
+    private final FedExtHedging hedging;
+    private final FedExtRequest request;
+    private final Class clazz;
+    private final String collectionType;
+    private final CallPlan plan;
+    private final CompletableFuture<FedExtCall> winner;
+    private final AtomicInteger running;
+    private FedExtCall primary;
+    private FedExtCall duplicate;
+
+    /**
+     * Constructor
+     *
+     * @param client         client making the calls
+     * @param hedging        delays and counters of the hedging
+     * @param request        description of the call
+     * @param clazz          class of the object to fill
+     * @param collectionType type of collection (Array, or object if empty)
+     * @param plan           options resolved in advance, null to prepare them in each call
+     */
+    FedExtHedge(FedExtClient client, FedExtHedging hedging, FedExtRequest request, Class clazz, String collectionType, CallPlan plan) {
+        this.client = client;
+        this.hedging = hedging;
+        this.request = request;
+        this.clazz = clazz;
+        this.collectionType = collectionType;
+        this.plan = plan;
+        this.winner = new CompletableFuture<FedExtCall>();
+        this.running = new AtomicInteger();
+    }
+
+    /**
+     * Run the call, and its duplicate if it is too slow
+     *
+     * @return the ended call which has filled the object
+     */
+    FedExtCall run() throws Exception {
+        long start = System.nanoTime();
+        boolean allowed = this.hedging.startCall();
+        FedExtCall result = null;
+
+        this.primary = new FedExtCall(this.client, this.request);
+        start(this.primary);
+
+        try {
+            try {
+                result = allowed ? this.winner.get(this.hedging.delayOf(this.request.getURL()), TimeUnit.NANOSECONDS) : this.winner.get();
+            } catch (TimeoutException e) {
+                FedExtRequest copy = this.request.copy();
+
+                // The duplicate only gets the time left to the fill
+                long deadline = this.request.getDeadline();
+                long left = deadline - (System.nanoTime() - start) / 1000000L;
+
+                if (deadline == 0 || left > 0) {
+                    copy.setDeadline((deadline == 0) ? 0 : left);
+                    this.duplicate = new FedExtCall(this.client, copy);
+                    this.hedging.recordHedge();
+                    start(this.duplicate);
+                }
+
+                result = this.winner.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            throw e;
+        } finally {
+            // The losing call is closed, its parse stops at once
+            if (result != this.primary)
+                this.primary.abort();
+            if (this.duplicate != null && result != this.duplicate)
+                this.duplicate.abort();
+        }
+
+        if (result.getErrorInfo().isEmpty())
+            this.hedging.recordSuccess(this.request.getURL(), result.getMetrics().totalNanos, result == this.duplicate);
+
+        return result;
+    }
+
+    /**
+     * Start a call on the executor of the client
+     *
+     * @param call call to run
+     */
+    private void start(FedExtCall call) {
+        this.running.incrementAndGet();
+        call.setPlan(this.plan);
+
+        this.client.getExecutor().execute(() -> {
+            try {
+                call.fill(this.clazz, this.collectionType, null);
+
+                if (call.getErrorInfo().isEmpty()) {
+                    this.winner.complete(call);
+                    return;
+                }
+
+                // The failure is only given back if no other call can still succeed
+                if (this.running.decrementAndGet() == 0)
+                    this.winner.complete(call);
+            } catch (Throwable e) {
+                if (this.running.decrementAndGet() == 0)
+                    this.winner.completeExceptionally(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,263 @@
+package FedExt;
+
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class FedExtHedging cuts the tail latency of the fills : when a call is still running after a delay,
+ * a duplicate call is sent, the first response wins and the other call is aborted (see FedExtClient.Builder.hedging)
+ *
+ *      FedExtHedging hedging = FedExtHedging.builder().percentile(95).maxRatio(0.05).build();
+ *      FedExtClient client = FedExtClient.builder().hedging(hedging).build();
+ *
+ * The delay is by default a percentile of the durations of the calls already made towards the same host,
+ * so that only the slowest calls are duplicated ; until enough calls have been measured, the initial delay is used
+ * The duplicates are bounded by a ratio of the calls, so that a slow host is not flooded with twice its load
+ * Only the calls of the synchronous fills are hedged ; a hedging is thread-safe and can be shared by several clients
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtHedging {
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final long DEFAULT_INITIAL_DELAY = 100;
+    public static final int DEFAULT_MIN_SAMPLES = 20;
+    public static final double DEFAULT_MAX_RATIO = 0.1;
+
+    private final double percentile;
+    private final long fixedDelay;
+    private final long initialDelay;
+    private final long minDelay;
+    private final int minSamples;
+    private final double maxRatio;
+    private final ConcurrentMap<String, FedExtHistogram> latencies;
+    private final LongAdder calls;
+    private final LongAdder hedges;
+    private final LongAdder hedgeWins;
+
+    /**
+     * Constructor
+     *
+     * @param builder configuration of the hedging
+     */
+    private FedExtHedging(Builder builder) {
+        this.percentile = builder.percentile;
+        this.fixedDelay = builder.fixedDelay;
+        this.initialDelay = builder.initialDelay;
+        this.minDelay = builder.minDelay;
+        this.minSamples = builder.minSamples;
+        this.maxRatio = builder.maxRatio;
+        this.latencies = new ConcurrentHashMap<String, FedExtHistogram>();
+        this.calls = new LongAdder();
+        this.hedges = new LongAdder();
+        this.hedgeWins = new LongAdder();
+    }
+
+    /**
+     * Start the configuration of a hedging
+     *
+     * @return a builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compute the delay after which a call is duplicated
+     *
+     * @param url address of the call
+     * @return the delay in nanoseconds
+     */
+    long delayOf(URL url) {
+        if (this.fixedDelay > 0)
+            return this.fixedDelay * 1000000L;
+
+        FedExtHistogram histogram = this.latencies.get(FedExtLimiter.routeOf(url));
+        if (histogram == null || histogram.getCount() < this.minSamples)
+            return this.initialDelay * 1000000L;
+
+        return Math.max(histogram.getPercentile(this.percentile), this.minDelay * 1000000L);
+    }
+
+    /**
+     * Count a hedged call, and check if it can still be duplicated
+     *
+     * @return true if the duplicates stay below the maximal ratio of the calls
+     */
+    boolean startCall() {
+        this.calls.increment();
+        return this.hedges.sum() < this.maxRatio * this.calls.sum();
+    }
+
+    /**
+     * Count a duplicate call
+     */
+    void recordHedge() {
+        this.hedges.increment();
+    }
+
+    /**
+     * Record the duration of a successful call, used for the next delays
+     *
+     * @param url       address of the call
+     * @param nanos     duration of the call, in nanoseconds
+     * @param duplicate true if the winning call is the duplicate
+     */
+    void recordSuccess(URL url, long nanos, boolean duplicate) {
+        this.latencies.computeIfAbsent(FedExtLimiter.routeOf(url), route -> new FedExtHistogram()).record(nanos);
+
+        if (duplicate)
+            this.hedgeWins.increment();
+    }
+
+    /**
+     * Return the current delay after which the calls towards a host are duplicated
+     *
+     * @param url address of the host
+     * @return the delay in milliseconds
+     */
+    public long getDelay(URL url) {
+        return delayOf(url) / 1000000L;
+    }
+
+    /**
+     * Return the number of hedged calls
+     *
+     * @return the number of calls
+     */
+    public long getCalls() {
+        return this.calls.sum();
+    }
+
+    /**
+     * Return the number of duplicate calls sent
+     *
+     * @return the number of duplicates
+     */
+    public long getHedges() {
+        return this.hedges.sum();
+    }
+
+    /**
+     * Return the number of duplicate calls which have answered first
+     *
+     * @return the number of calls won by a duplicate
+     */
+    public long getHedgeWins() {
+        return this.hedgeWins.sum();
+    }
+
+    /**
+     * Describe the hedging
+     *
+     * @return the delay and the counters
+     */
+    @Override
+    public String toString() {
+        return ((this.fixedDelay > 0) ? "after " + this.fixedDelay + " ms" : "after p" + this.percentile)
+                + ", max ratio " + this.maxRatio + ", calls " + getCalls() + ", hedges " + getHedges() + ", won " + getHedgeWins();
+    }
+
+    /**
+     * This class Builder collects the configuration of a FedExtHedging
+     */
+    public static final class Builder {
+        private double percentile;
+        private long fixedDelay;
+        private long initialDelay;
+        private long minDelay;
+        private int minSamples;
+        private double maxRatio;
+
+        /**
+         * Constructor with the default configuration
+         */
+        private Builder() {
+            this.percentile = DEFAULT_PERCENTILE;
+            this.initialDelay = DEFAULT_INITIAL_DELAY;
+            this.minDelay = 1;
+            this.minSamples = DEFAULT_MIN_SAMPLES;
+            this.maxRatio = DEFAULT_MAX_RATIO;
+        }
+
+        /**
+         * Duplicate the calls lasting longer than a percentile of the calls towards the same host (by default 95)
+         *
+         * @param percentile percentage, between 0 and 100
+         * @return the builder
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = Math.min(Math.max(percentile, 0), 100);
+            this.fixedDelay = 0;
+            return this;
+        }
+
+        /**
+         * Duplicate the calls lasting longer than a fixed delay, instead of a percentile
+         *
+         * @param fixedDelay delay in milliseconds
+         * @return the builder
+         */
+        public Builder delay(long fixedDelay) {
+            this.fixedDelay = Math.max(fixedDelay, 1);
+            return this;
+        }
+
+        /**
+         * Define the delay used while too few calls have been measured (by default 100 ms)
+         *
+         * @param initialDelay delay in milliseconds
+         * @return the builder
+         */
+        public Builder initialDelay(long initialDelay) {
+            this.initialDelay = Math.max(initialDelay, 1);
+            return this;
+        }
+
+        /**
+         * Define the shortest delay computed from the percentile (by default 1 ms)
+         *
+         * @param minDelay delay in milliseconds
+         * @return the builder
+         */
+        public Builder minDelay(long minDelay) {
+            this.minDelay = Math.max(minDelay, 1);
+            return this;
+        }
+
+        /**
+         * Define the number of calls measured towards a host before its percentile is used (by default 20)
+         *
+         * @param minSamples number of successful calls
+         * @return the builder
+         */
+        public Builder minSamples(int minSamples) {
+            this.minSamples = Math.max(minSamples, 1);
+            return this;
+        }
+
+        /**
+         * Define the maximal ratio of duplicate calls (by default 0.1, one duplicate for ten calls)
+         *
+         * @param maxRatio ratio between 0 and 1
+         * @return the builder
+         */
+        public Builder maxRatio(double maxRatio) {
+            this.maxRatio = Math.min(Math.max(maxRatio, 0), 1);
+            return this;
+        }
+
+        /**
+         * Build the hedging
+         *
+         * @return the hedging
+         */
+        public FedExtHedging build() {
+            return new FedExtHedging(this);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package FedExt;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class FedExtHistogram records durations for FedExtMetrics, with a precision of 12.5%
+ * Each power of two is divided in 8 buckets, so that the memory is fixed (about 4 KB) whatever the durations
+ * Recording a value is lock-free : it can be done by many threads at the same time
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = (64 - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    /**
+     * Constructor
+     */
+    public FedExtHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param nanos duration in nanoseconds, a negative value is recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        this.counts.incrementAndGet(bucketOf(value));
+        this.count.increment();
+        this.sum.add(value);
+
+        long current;
+        while (value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+            // Another thread has recorded a value meanwhile
+        }
+    }
+
+    /**
+     * Return the bucket of a value : the position of its highest bit, then its 3 next bits
+     *
+     * @param value positive value
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - 3)) & (SUB_BUCKETS - 1);
+
+        return (highestBit - 2) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Return the highest value of a bucket
+     *
+     * @param bucket index of the bucket
+     * @return the value
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int highestBit = bucket / SUB_BUCKETS + 2;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (highestBit - 3);
+
+        return lowerBound + (1L << (highestBit - 3)) - 1;
+    }
+
+    /**
+     * Return the number of recorded values
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Return the mean of the recorded values
+     *
+     * @return the mean in nanoseconds, 0 if nothing has been recorded
+     */
+    public double getMean() {
+        long n = this.count.sum();
+
+        return (n == 0) ? 0 : (double) this.sum.sum() / n;
+    }
+
+    /**
+     * Return the highest recorded value
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Return the value below which the given percentage of the recorded values are
+     *
+     * @param percentile percentage, between 0 and 100 (for instance 99 for the 99th percentile)
+     * @return the value in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100.0);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+
+            if (seen >= rank && seen > 0)
+                return Math.min(upperBoundOf(i), getMax());
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Forget all the recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            this.counts.set(i, 0);
+
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0);
+    }
+}
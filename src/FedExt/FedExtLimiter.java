@@ -0,0 +1,695 @@
+package FedExt;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class FedExtLimiter limits the number of calls running at the same moment towards each host,
+ * so that a slow external source is not overwhelmed by the calls fanned out by the client :
+ *
+ *      FedExtLimiter limiter = FedExtLimiter.builder().initialLimit(10).maxLimit(100).maxWait(2000).build();
+ *      FedExtClient client = FedExtClient.builder().limiter(limiter).build();
+ *
+ * The limit of a host adapts itself to the observed calls (additive increase, multiplicative decrease) :
+ * it grows slowly while the calls succeed quickly, and is cut when a call fails on the network or when the median
+ * latency of a round of calls becomes much longer than the lowest median of the recent rounds (see Builder.tolerance),
+ * so that the number of calls stays near the capacity of the source. The usual spread of the latencies, or a single
+ * slow call, does not cut the limit ; after a cut, the calls already running can not cut it again. A call beyond the limit waits for a free place (Policy.QUEUE)
+ * or fails at once (Policy.FAIL_FAST) ; a call which can not run fails with the error "limit reached"
+ * A queued call waits no longer than its deadline, and stops waiting as soon as it is aborted
+ * Only the calls really sent are limited : a response read from the cache does not count
+ * A limiter is thread-safe and can be shared by several clients
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtLimiter implements FedExtLimiterMBean {
+    public static final int DEFAULT_INITIAL_LIMIT = 10;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final long DEFAULT_MAX_WAIT = 10000;
+    public static final int DEFAULT_MAX_QUEUE = 1000;
+    public static final double DEFAULT_BACKOFF = 0.9;
+    public static final double DEFAULT_TOLERANCE = 2.0;
+    private static final int ROUND = 50;
+    private static final int ROUNDS = 20;
+
+    /**
+     * Behaviour of a call beyond the limit
+     *      - QUEUE     : the call waits for a free place, up to the maximal wait
+     *      - FAIL_FAST : the call fails at once
+     */
+    public enum Policy {
+        QUEUE, FAIL_FAST
+    }
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Policy policy;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final double backoff;
+    private final double tolerance;
+    private final long latencyThresholdNanos;
+    private final ConcurrentMap<String, Route> routes;
+    private final LongAdder acquired;
+    private final LongAdder rejected;
+    private final LongAdder decreases;
+    private ObjectName objectName;
+
+    /**
+     * Constructor
+     *
+     * @param builder configuration of the limiter
+     */
+    private FedExtLimiter(Builder builder) {
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.policy = builder.policy;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxWait);
+        this.maxQueue = builder.maxQueue;
+        this.backoff = builder.backoff;
+        this.tolerance = builder.tolerance;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(builder.latencyThreshold);
+        this.routes = new ConcurrentHashMap<String, Route>();
+        this.acquired = new LongAdder();
+        this.rejected = new LongAdder();
+        this.decreases = new LongAdder();
+    }
+
+    /**
+     * Start the configuration of a new limiter
+     *
+     * @return the builder with the default configuration
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Give the route of a URL : its host and its port
+     *
+     * @param url address of the call
+     * @return the route, for instance "api.example.com:443"
+     */
+    static String routeOf(URL url) {
+        int port = (url.getPort() < 0) ? url.getDefaultPort() : url.getPort();
+
+        return url.getHost().toLowerCase() + ":" + port;
+    }
+
+    /**
+     * Take a place for a call, waiting for it according to the policy
+     *
+     * @param url           address of the call
+     * @param deadlineNanos end of the call in System.nanoTime(), 0 for no deadline : the wait is cut to it
+     * @param wait          wait of the call, cancelled if the call is aborted meanwhile
+     * @return the place, to be released once the response has been read, null if the call can not run
+     */
+    Permit acquire(URL url, long deadlineNanos, Wait wait) {
+        String name = routeOf(url);
+        Route route = this.routes.get(name);
+
+        if (route == null) {
+            Route created = new Route(name, this.initialLimit);
+            route = this.routes.putIfAbsent(name, created);
+            if (route == null)
+                route = created;
+        }
+
+        long waitNanos = this.maxWaitNanos;
+        if (deadlineNanos != 0)
+            waitNanos = Math.min(waitNanos, deadlineNanos - System.nanoTime());
+
+        wait.route = route;
+        if (!route.acquire(waitNanos, wait)) {
+            // A call aborted meanwhile has not been refused by the limiter
+            if (!wait.cancelled)
+                this.rejected.increment();
+            return null;
+        }
+
+        this.acquired.increment();
+        return new Permit(route);
+    }
+
+    /**
+     * Return the current limit of a route
+     *
+     * @param route host and port, for instance "api.example.com:443"
+     * @return the number of calls allowed at the same moment, the initial limit if the route has not been called yet
+     */
+    public int getLimit(String route) {
+        Route state = this.routes.get(route);
+
+        return (state == null) ? this.initialLimit : state.getLimit();
+    }
+
+    /**
+     * Return the number of calls running towards a route
+     *
+     * @param route host and port, for instance "api.example.com:443"
+     * @return the number of calls
+     */
+    public int getInFlight(String route) {
+        Route state = this.routes.get(route);
+
+        return (state == null) ? 0 : state.getInFlight();
+    }
+
+    /**
+     * Return the number of calls waiting for a place towards a route
+     *
+     * @param route host and port, for instance "api.example.com:443"
+     * @return the number of calls
+     */
+    public int getQueued(String route) {
+        Route state = this.routes.get(route);
+
+        return (state == null) ? 0 : state.getQueued();
+    }
+
+    /**
+     * Return the state of each route : its limit, its running calls and its waiting calls
+     *
+     * @return the states by route, for instance "api.example.com:443" : "limit=12, inFlight=9, queued=0"
+     */
+    public Map<String, String> getRouteStates() {
+        Map<String, String> states = new TreeMap<String, String>();
+
+        for (Route route : this.routes.values())
+            states.put(route.name, route.toString());
+
+        return states;
+    }
+
+    @Override
+    public String[] getRoutes() {
+        List<String> lines = new ArrayList<String>();
+
+        for (Map.Entry<String, String> state : getRouteStates().entrySet())
+            lines.add(state.getKey() + " : " + state.getValue());
+
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    @Override
+    public long getAcquired() {
+        return this.acquired.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public long getDecreases() {
+        return this.decreases.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        int inFlight = 0;
+        for (Route route : this.routes.values())
+            inFlight += route.getInFlight();
+
+        return inFlight;
+    }
+
+    @Override
+    public int getQueued() {
+        int queued = 0;
+        for (Route route : this.routes.values())
+            queued += route.getQueued();
+
+        return queued;
+    }
+
+    /**
+     * Publish the statistics through JMX, under the name "FedExt:type=Limiter,name=..."
+     *
+     * @param name name distinguishing this limiter from the other ones of the application
+     */
+    public synchronized void register(String name) throws Exception {
+        unregister();
+
+        ObjectName objectName = new ObjectName("FedExt:type=Limiter,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Remove the statistics from JMX
+     */
+    public synchronized void unregister() throws Exception {
+        if (this.objectName == null)
+            return;
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(this.objectName))
+            server.unregisterMBean(this.objectName);
+
+        this.objectName = null;
+    }
+
+    /**
+     * Describe the statistics
+     *
+     * @return the counters and the state of each route
+     */
+    @Override
+    public String toString() {
+        return "FedExtLimiter{acquired=" + getAcquired() +
+                ", rejected=" + getRejected() +
+                ", decreases=" + getDecreases() +
+                ", routes=" + getRouteStates() + "}";
+    }
+
+    /**
+     * Place taken by a call, released once with the outcome of the call
+     */
+    static final class Permit {
+        private final Route route;
+        private boolean released;
+
+        /**
+         * Constructor
+         *
+         * @param route route of the call
+         */
+        private Permit(Route route) {
+            this.route = route;
+        }
+
+        /**
+         * Release the place and adapt the limit of the route
+         *
+         * @param latencyNanos time spent by the Web Service to answer : to open the response and to read it
+         * @param failed       true if the call failed on the network
+         * @param measured     false if the call has been stopped by the client, its latency is then ignored
+         */
+        void release(long latencyNanos, boolean failed, boolean measured) {
+            if (this.released)
+                return;
+
+            this.released = true;
+            this.route.release(latencyNanos, failed, measured);
+        }
+
+        /**
+         * Return the route of the call
+         *
+         * @return host and port
+         */
+        String getRoute() {
+            return this.route.name;
+        }
+    }
+
+    /**
+     * Wait of a call for a place, which the call can cancel from another thread (for instance at its deadline)
+     */
+    static final class Wait {
+        private volatile Route route;
+        private volatile boolean cancelled;
+
+        /**
+         * Stop waiting : the call does not run
+         */
+        void cancel() {
+            this.cancelled = true;
+
+            Route current = this.route;
+            if (current != null)
+                current.wake();
+        }
+    }
+
+    /**
+     * State of the calls towards one host
+     */
+    private final class Route {
+        private final String name;
+        private final ReentrantLock lock;
+        private final Condition available;
+        private double limit;
+        private int inFlight;
+        private int queued;
+        private final long[] round;
+        private int roundSize;
+        private final long[] medians;
+        private int rounds;
+        private int nextRound;
+        private boolean saturated;
+        private int sinceDecrease;
+
+        /**
+         * Constructor
+         *
+         * @param name  host and port
+         * @param limit initial limit
+         */
+        private Route(String name, int limit) {
+            this.name = name;
+            // A waiting virtual thread does not block its carrier thread
+            this.lock = new ReentrantLock();
+            this.available = this.lock.newCondition();
+            this.limit = limit;
+            this.round = new long[ROUND];
+            this.medians = new long[ROUNDS];
+        }
+
+        /**
+         * Take a place, waiting for it according to the policy
+         *
+         * @param waitNanos longest wait of the call
+         * @param wait      wait of the call, stopped once cancelled
+         * @return true if the call can run
+         */
+        private boolean acquire(long waitNanos, Wait wait) {
+            this.lock.lock();
+
+            try {
+                if (wait.cancelled)
+                    return false;
+
+                if (this.inFlight < (int) this.limit) {
+                    this.inFlight++;
+                    return true;
+                }
+
+                if (policy == Policy.FAIL_FAST || this.queued >= maxQueue)
+                    return false;
+
+                this.queued++;
+                try {
+                    long remaining = waitNanos;
+
+                    while (this.inFlight >= (int) this.limit) {
+                        if (remaining <= 0 || wait.cancelled)
+                            return false;
+
+                        remaining = this.available.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    this.queued--;
+                }
+
+                this.inFlight++;
+                return true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Release a place and adapt the limit
+         *
+         * @param latencyNanos time spent by the Web Service to answer
+         * @param failed       true if the call failed on the network
+         * @param measured     false if the latency must be ignored
+         */
+        private void release(long latencyNanos, boolean failed, boolean measured) {
+            this.lock.lock();
+
+            try {
+                // The limit only grows if it is really used
+                boolean used = this.inFlight * 2 >= this.limit;
+                this.inFlight--;
+                this.sinceDecrease++;
+
+                if (failed) {
+                    decrease();
+                } else if (measured) {
+                    this.round[this.roundSize++] = latencyNanos;
+                    if (this.roundSize == ROUND)
+                        endRound();
+
+                    if (!this.saturated && used)
+                        this.limit = Math.min(maxLimit, this.limit + 1.0 / this.limit);
+                }
+
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Compare the median latency of the round of calls with the lowest median of the previous rounds :
+         * a median, unlike a single call, only rises when the source slows down lastingly
+         * The lowest median is taken over the last rounds only, so that a slowdown which cutting the limit does not cure
+         * becomes the reference
+         */
+        private void endRound() {
+            Arrays.sort(this.round);
+            long median = this.round[ROUND / 2];
+            this.roundSize = 0;
+
+            long lowest = Long.MAX_VALUE;
+            for (int i = 0; i < this.rounds; i++)
+                lowest = Math.min(lowest, this.medians[i]);
+
+            if (latencyThresholdNanos > 0)
+                this.saturated = median > latencyThresholdNanos;
+            else
+                this.saturated = lowest != Long.MAX_VALUE && median > lowest * tolerance;
+
+            // The slowdown caused by the calls themselves does not become the reference,
+            // unless the limit can not be cut any more : the source is then slower for good
+            if (!this.saturated || this.limit <= minLimit) {
+                this.medians[this.nextRound] = median;
+                this.nextRound = (this.nextRound + 1) % ROUNDS;
+                this.rounds = Math.min(this.rounds + 1, ROUNDS);
+            }
+
+            if (this.saturated)
+                decrease();
+        }
+
+        /**
+         * Wake the waiting calls, so that a cancelled one stops waiting
+         */
+        private void wake() {
+            this.lock.lock();
+            try {
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Cut the limit, the source is saturated
+         * The calls already running when the limit is cut do not cut it again : the next cut waits for a round of calls
+         */
+        private void decrease() {
+            if (this.sinceDecrease < (int) this.limit)
+                return;
+
+            this.sinceDecrease = 0;
+            this.limit = Math.max(minLimit, this.limit * backoff);
+            decreases.increment();
+        }
+
+        private int getLimit() {
+            this.lock.lock();
+            try {
+                return (int) this.limit;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private int getInFlight() {
+            this.lock.lock();
+            try {
+                return this.inFlight;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private int getQueued() {
+            this.lock.lock();
+            try {
+                return this.queued;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public String toString() {
+            this.lock.lock();
+            try {
+                return "limit=" + (int) this.limit + ", inFlight=" + this.inFlight + ", queued=" + this.queued;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builder of the limiter
+     */
+    public static final class Builder {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private Policy policy;
+        private long maxWait;
+        private int maxQueue;
+        private double backoff;
+        private double tolerance;
+        private long latencyThreshold;
+
+        /**
+         * Constructor with the default configuration
+         */
+        private Builder() {
+            this.initialLimit = DEFAULT_INITIAL_LIMIT;
+            this.minLimit = 1;
+            this.maxLimit = DEFAULT_MAX_LIMIT;
+            this.policy = Policy.QUEUE;
+            this.maxWait = DEFAULT_MAX_WAIT;
+            this.maxQueue = DEFAULT_MAX_QUEUE;
+            this.backoff = DEFAULT_BACKOFF;
+            this.tolerance = DEFAULT_TOLERANCE;
+        }
+
+        /**
+         * Define the limit of a host before its first call
+         *
+         * @param initialLimit number of calls at the same moment
+         * @return the builder
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = Math.max(initialLimit, 1);
+            return this;
+        }
+
+        /**
+         * Define the bounds of the limits
+         *
+         * @param minLimit lowest limit, at least 1
+         * @param maxLimit highest limit
+         * @return the builder
+         */
+        public Builder limits(int minLimit, int maxLimit) {
+            this.minLimit = Math.max(minLimit, 1);
+            this.maxLimit = Math.max(maxLimit, this.minLimit);
+            return this;
+        }
+
+        /**
+         * Define the highest limit
+         *
+         * @param maxLimit highest number of calls at the same moment
+         * @return the builder
+         */
+        public Builder maxLimit(int maxLimit) {
+            return limits(this.minLimit, maxLimit);
+        }
+
+        /**
+         * Define the behaviour of a call beyond the limit (by default QUEUE)
+         *
+         * @param policy QUEUE to wait for a place, FAIL_FAST to fail at once
+         * @return the builder
+         */
+        public Builder policy(Policy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * Define the longest wait of a queued call
+         *
+         * @param millis time in milliseconds
+         * @return the builder
+         */
+        public Builder maxWait(long millis) {
+            this.maxWait = millis;
+            return this;
+        }
+
+        /**
+         * Define the number of calls which can wait for each host, the next ones fail at once
+         *
+         * @param maxQueue number of calls
+         * @return the builder
+         */
+        public Builder maxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+            return this;
+        }
+
+        /**
+         * Define the factor applied to the limit when the source is saturated (by default 0.9)
+         *
+         * @param backoff factor between 0 and 1
+         * @return the builder
+         */
+        public Builder backoff(double backoff) {
+            if (backoff <= 0 || backoff >= 1)
+                throw new IllegalArgumentException("the backoff must be between 0 and 1");
+
+            this.backoff = backoff;
+            return this;
+        }
+
+        /**
+         * Define how much higher than the lowest recent median the median latency of a round of calls can be before the source
+         * is considered saturated (by default 2, calls lastingly twice as long as usual cut the limit)
+         *
+         * @param tolerance factor applied to the lowest median latency
+         * @return the builder
+         */
+        public Builder tolerance(double tolerance) {
+            this.tolerance = Math.max(tolerance, 1);
+            return this;
+        }
+
+        /**
+         * Define a fixed median latency beyond which the source is considered saturated, instead of the tolerance
+         *
+         * @param millis latency in milliseconds, 0 to use the tolerance
+         * @return the builder
+         */
+        public Builder latencyThreshold(long millis) {
+            this.latencyThreshold = millis;
+            return this;
+        }
+
+        /**
+         * Create the limiter
+         *
+         * @return the limiter
+         */
+        public FedExtLimiter build() {
+            this.initialLimit = Math.min(Math.max(this.initialLimit, this.minLimit), this.maxLimit);
+            return new FedExtLimiter(this);
+        }
+    }
+}
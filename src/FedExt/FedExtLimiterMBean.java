@@ -0,0 +1,23 @@
+package FedExt;
+
+/**
+ * This interface FedExtLimiterMBean is the JMX view of FedExtLimiter (see FedExtLimiter.register)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtLimiterMBean {
+    long getAcquired();
+
+    long getRejected();
+
+    long getDecreases();
+
+    int getInFlight();
+
+    int getQueued();
+
+    String[] getRoutes();
+}
@@ -0,0 +1,20 @@
+package FedExt;
+
+/**
+ * This interface FedExtListener is notified at the end of each call made by a FedExtClient,
+ * successful or not, with the metrics of the call (see FedExtClient.Builder.listener)
+ * The listener is called by the thread which made the call, so it must be quick and thread-safe
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtListener {
+    /**
+     * A call has ended
+     *
+     * @param metrics metrics of the call
+     */
+    void callCompleted(FedExtCallMetrics metrics);
+}
@@ -0,0 +1,262 @@
+package FedExt;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class FedExtMetrics aggregates the metrics of all the calls of one or several clients :
+ * a latency histogram per phase, the counters of the parse and the errors by type
+ * It is a FedExtListener, so it is enough to give it to the client :
+ *
+ *      FedExtMetrics metrics = new FedExtMetrics();
+ *      FedExtClient client = FedExtClient.builder().listener(metrics).build();
+ *      metrics.register("default");
+ *
+ * Recording a call is lock-free and allocates nothing, it can stay enabled in production
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtMetrics implements FedExtListener, FedExtMetricsMBean {
+    private final Map<FedExtPhase, FedExtHistogram> latencies;
+    private final LongAdder calls;
+    private final LongAdder errors;
+    private final LongAdder bytesReceived;
+    private final LongAdder tokens;
+    private final LongAdder keysMatched;
+    private final LongAdder keysSkipped;
+    private final LongAdder objectsCreated;
+    private final LongAdder valuesAssigned;
+    private final LongAdder elementsRejected;
+    private final ConcurrentMap<String, LongAdder> errorTypes;
+    private ObjectName objectName;
+
+    /**
+     * Constructor
+     */
+    public FedExtMetrics() {
+        this.latencies = new EnumMap<FedExtPhase, FedExtHistogram>(FedExtPhase.class);
+        for (FedExtPhase phase : FedExtPhase.values())
+            this.latencies.put(phase, new FedExtHistogram());
+
+        this.calls = new LongAdder();
+        this.errors = new LongAdder();
+        this.bytesReceived = new LongAdder();
+        this.tokens = new LongAdder();
+        this.keysMatched = new LongAdder();
+        this.keysSkipped = new LongAdder();
+        this.objectsCreated = new LongAdder();
+        this.valuesAssigned = new LongAdder();
+        this.elementsRejected = new LongAdder();
+        this.errorTypes = new ConcurrentHashMap<String, LongAdder>();
+    }
+
+    /**
+     * Add the metrics of an ended call
+     *
+     * @param metrics metrics of the call
+     */
+    @Override
+    public void callCompleted(FedExtCallMetrics metrics) {
+        for (Map.Entry<FedExtPhase, FedExtHistogram> latency : this.latencies.entrySet())
+            latency.getValue().record(metrics.getNanos(latency.getKey()));
+
+        this.calls.increment();
+        this.bytesReceived.add(metrics.getBytesReceived());
+        this.tokens.add(metrics.getTokens());
+        this.keysMatched.add(metrics.getKeysMatched());
+        this.keysSkipped.add(metrics.getKeysSkipped());
+        this.objectsCreated.add(metrics.getObjectsCreated());
+        this.valuesAssigned.add(metrics.getValuesAssigned());
+        this.elementsRejected.add(metrics.getElementsRejected());
+
+        if (!metrics.isSuccess()) {
+            this.errors.increment();
+
+            LongAdder counter = this.errorTypes.get(metrics.getErrorType());
+            if (counter == null) {
+                LongAdder created = new LongAdder();
+                counter = this.errorTypes.putIfAbsent(metrics.getErrorType(), created);
+                if (counter == null)
+                    counter = created;
+            }
+            counter.increment();
+        }
+    }
+
+    /**
+     * Publish the metrics through JMX, under the name "FedExt:type=Metrics,name=..."
+     *
+     * @param name name distinguishing these metrics from the other ones of the application
+     */
+    public synchronized void register(String name) throws Exception {
+        unregister();
+
+        ObjectName objectName = new ObjectName("FedExt:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Remove the metrics from JMX
+     */
+    public synchronized void unregister() throws Exception {
+        if (this.objectName == null)
+            return;
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(this.objectName))
+            server.unregisterMBean(this.objectName);
+
+        this.objectName = null;
+    }
+
+    /**
+     * Return the latency histogram of a phase
+     *
+     * @param phase phase of the calls
+     * @return the histogram, in nanoseconds
+     */
+    public FedExtHistogram getLatency(FedExtPhase phase) {
+        return this.latencies.get(phase);
+    }
+
+    /**
+     * Return the number of errors by type
+     *
+     * @return the counts, sorted by type
+     */
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+
+        for (Map.Entry<String, LongAdder> errorType : this.errorTypes.entrySet())
+            counts.put(errorType.getKey(), errorType.getValue().sum());
+
+        return counts;
+    }
+
+    @Override
+    public long getCalls() {
+        return this.calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return this.bytesReceived.sum();
+    }
+
+    @Override
+    public long getTokens() {
+        return this.tokens.sum();
+    }
+
+    @Override
+    public long getKeysMatched() {
+        return this.keysMatched.sum();
+    }
+
+    @Override
+    public long getKeysSkipped() {
+        return this.keysSkipped.sum();
+    }
+
+    @Override
+    public long getObjectsCreated() {
+        return this.objectsCreated.sum();
+    }
+
+    @Override
+    public long getValuesAssigned() {
+        return this.valuesAssigned.sum();
+    }
+
+    @Override
+    public long getElementsRejected() {
+        return this.elementsRejected.sum();
+    }
+
+    /**
+     * Return the number of errors by type, as text for JMX
+     *
+     * @return one "type = count" per type
+     */
+    @Override
+    public String[] getErrorTypes() {
+        List<String> lines = new ArrayList<String>();
+
+        for (Map.Entry<String, Long> errorType : getErrorCounts().entrySet())
+            lines.add(errorType.getKey() + " = " + errorType.getValue());
+
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * Return a summary of the latencies, as text for JMX
+     *
+     * @return one line per phase
+     */
+    @Override
+    public String[] getLatencies() {
+        List<String> lines = new ArrayList<String>();
+
+        for (FedExtPhase phase : FedExtPhase.values()) {
+            String name = phase.name();
+
+            lines.add(name + " : mean=" + getMeanMillis(name) + " ms, p50=" + getPercentileMillis(name, 50) +
+                    " ms, p99=" + getPercentileMillis(name, 99) + " ms, max=" + getMaxMillis(name) + " ms");
+        }
+
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    @Override
+    public double getMeanMillis(String phase) {
+        return getLatency(FedExtPhase.valueOf(phase)).getMean() / 1000000.0;
+    }
+
+    @Override
+    public double getPercentileMillis(String phase, double percentile) {
+        return getLatency(FedExtPhase.valueOf(phase)).getPercentile(percentile) / 1000000.0;
+    }
+
+    @Override
+    public double getMaxMillis(String phase) {
+        return getLatency(FedExtPhase.valueOf(phase)).getMax() / 1000000.0;
+    }
+
+    /**
+     * Forget all the recorded calls
+     */
+    @Override
+    public void reset() {
+        for (FedExtHistogram latency : this.latencies.values())
+            latency.reset();
+
+        this.calls.reset();
+        this.errors.reset();
+        this.bytesReceived.reset();
+        this.tokens.reset();
+        this.keysMatched.reset();
+        this.keysSkipped.reset();
+        this.objectsCreated.reset();
+        this.valuesAssigned.reset();
+        this.elementsRejected.reset();
+        this.errorTypes.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package FedExt;
+
+/**
+ * This interface FedExtMetricsMBean is the JMX view of FedExtMetrics (see FedExtMetrics.register)
+ * The durations are given in milliseconds, the phases are the names of FedExtPhase
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtMetricsMBean {
+    long getCalls();
+
+    long getErrors();
+
+    long getBytesReceived();
+
+    long getTokens();
+
+    long getKeysMatched();
+
+    long getKeysSkipped();
+
+    long getObjectsCreated();
+
+    long getValuesAssigned();
+
+    long getElementsRejected();
+
+    String[] getErrorTypes();
+
+    String[] getLatencies();
+
+    double getMeanMillis(String phase);
+
+    double getPercentileMillis(String phase, double percentile);
+
+    double getMaxMillis(String phase);
+
+    void reset();
+}
@@ -0,0 +1,430 @@
+package FedExt;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class FedExtPager is used internally by FedExtClient to read all the pages of a paginated source (see FedExtPagination)
+ * Each page is a FedExtCall ; the next pages are downloaded on the executor of the client while the current page is parsed,
+ * so that the latency of a page is hidden by the parse of the previous one
+ * The filled elements of all the pages are passed to one sink, in the order of the pages
+ * A pager reads the pages once : it is dedicated to one fill or one stream
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class FedExtPager implements FedExtStream.Producer {
+    private final FedExtClient client;
+    private final FedExtRequest request;
+    private final Class clazz;
+    private final FedExtPagination pagination;
+    private final Queue<Page> pages;
+    private final FedExtCallMetrics metrics;
+    private volatile Page current;
+    private volatile boolean aborted;
+    private String errorInfo;
+    private int pageCount;
+
+    /**
+     * Constructor
+     *
+     * @param client     client making the calls
+     * @param request    description of the call of the first page, copied by each page
+     * @param clazz      class of the elements
+     * @param pagination strategy of pagination
+     */
+    FedExtPager(FedExtClient client, FedExtRequest request, Class clazz, FedExtPagination pagination) {
+        this.client = client;
+        this.request = request;
+        this.clazz = clazz;
+        this.pagination = pagination;
+        this.pages = new ConcurrentLinkedQueue<Page>();
+        this.metrics = new FedExtCallMetrics();
+        this.errorInfo = "";
+    }
+
+    /**
+     * Read the pages and pass their elements to the sink, until the last page or an error
+     *
+     * @param sink receiver of the elements
+     */
+    @Override
+    public void run(ObjectMapping.ElementSink sink) throws Exception {
+        long start = System.nanoTime();
+
+        try {
+            if (this.pagination.isPredictable())
+                readPredictable(sink);
+            else if (this.pagination.getType() == FedExtPagination.Type.CURSOR)
+                readCursors(sink);
+            else
+                readLinks(sink);
+        } finally {
+            // The pages fetched ahead and not needed are abandoned
+            Page page;
+            while ((page = this.pages.poll()) != null)
+                page.call.abort();
+
+            // The pages overlap : the total time is the time of the whole reading
+            this.metrics.totalNanos = System.nanoTime() - start;
+
+            // A fixed type : the error text holds the number of the page and the cause, it would make one type per failure
+            if (this.metrics.errorType.isEmpty() && !this.errorInfo.isEmpty())
+                this.metrics.errorType = "page";
+        }
+    }
+
+    /**
+     * Read pages numbered or given by their offset : the next pages are requested before the current one is parsed
+     *
+     * @param sink receiver of the elements
+     */
+    private void readPredictable(ObjectMapping.ElementSink sink) throws Exception {
+        int depth = this.pagination.getPrefetch();
+        int maxPages = this.pagination.getMaxPages();
+        int next = 0;
+
+        for (int index = 0; index < maxPages; index++) {
+            // Keep depth pages downloading ahead of the parsed one
+            while (next < maxPages && next - index <= depth) {
+                this.pages.add(start(this.pagination.page(this.request, next), depth > 0));
+                next++;
+            }
+
+            int elements = read(this.pages.poll(), sink);
+            if (elements < 0 || this.pagination.isLast(elements))
+                return;
+        }
+    }
+
+    /**
+     * Read pages chained by a cursor : the next page is requested as soon as the cursor is read in the current one
+     *
+     * @param sink receiver of the elements
+     */
+    private void readCursors(ObjectMapping.ElementSink sink) throws Exception {
+        RootPath cursorPath = RootPath.parse(this.pagination.getCursorPath());
+        if (cursorPath == null || !isNamesOnly(cursorPath)) {
+            this.errorInfo = "invalid cursor path : " + this.pagination.getCursorPath();
+            return;
+        }
+
+        boolean prefetch = this.pagination.getPrefetch() > 0;
+        Page page = start(this.request.copy(), false);
+        String previous = null;
+
+        for (int index = 1; ; index++) {
+            if (prefetch && index < this.pagination.getMaxPages()) {
+                // Called by the parse of the current page
+                page.call.setCursorPath(cursorPath, new FedExtCall.CursorListener() {
+                    @Override
+                    public void cursorRead(String cursor) {
+                        pages.add(start(pagination.page(request, cursor), true));
+                    }
+                });
+            } else {
+                page.call.setCursorPath(cursorPath, null);
+            }
+
+            if (read(page, sink) < 0 || index >= this.pagination.getMaxPages())
+                return;
+
+            // A cursor given again would read the same pages forever
+            String cursor = page.call.getCursor();
+            if (cursor == null || cursor.isEmpty() || cursor.equals(previous))
+                return;
+
+            previous = cursor;
+            page = this.pages.isEmpty() ? start(this.pagination.page(this.request, cursor), false) : this.pages.poll();
+        }
+    }
+
+    /**
+     * Read pages chained by the Link header : the next page is requested as soon as the current one is received
+     *
+     * @param sink receiver of the elements
+     */
+    private void readLinks(ObjectMapping.ElementSink sink) throws Exception {
+        boolean prefetch = this.pagination.getPrefetch() > 0;
+        Page page = start(this.request.copy(), false);
+
+        for (int index = 1; ; index++) {
+            boolean last = index >= this.pagination.getMaxPages();
+            URL next = null;
+
+            if (prefetch && !last) {
+                // The headers are needed before the parse : the page is downloaded first
+                if (page.download == null)
+                    page.call.download();
+
+                if (!await(page))
+                    return;
+
+                next = nextLink(page.call);
+                if (!this.errorInfo.isEmpty())
+                    return;
+
+                if (next != null)
+                    this.pages.add(start(this.request.copy(next), true));
+            }
+
+            if (read(page, sink) < 0 || last)
+                return;
+
+            // Without prefetch, or if the page could not be downloaded ahead, the headers are known once it is read
+            if (next == null) {
+                next = nextLink(page.call);
+                if (!this.errorInfo.isEmpty())
+                    return;
+            }
+
+            if (next == null)
+                return;
+
+            page = this.pages.isEmpty() ? start(this.request.copy(next), false) : this.pages.poll();
+        }
+    }
+
+    /**
+     * Prepare the call of a page
+     *
+     * @param pageRequest description of the call of the page
+     * @param prefetch    true to download the page in the background now, false to call it when it is read
+     * @return the page
+     */
+    private Page start(FedExtRequest pageRequest, boolean prefetch) {
+        final FedExtCall call = new FedExtCall(this.client, pageRequest);
+        CompletableFuture<Void> download = null;
+
+        if (prefetch && !this.aborted)
+            download = CompletableFuture.runAsync(call::download, this.client.getExecutor());
+
+        return new Page(call, download);
+    }
+
+    /**
+     * Wait for the download of a page
+     *
+     * @param page page to wait for
+     * @return true if the page can be parsed, false if an error has been memorized
+     */
+    private boolean await(Page page) {
+        if (page.download != null)
+            page.download.join();
+
+        if (this.aborted) {
+            this.errorInfo = "aborted";
+            return false;
+        }
+
+        // The error of a download is only known by the call, fill would forget it
+        if (!page.call.getErrorInfo().isEmpty()) {
+            this.errorInfo = "page " + (this.pageCount + 1) + " : " + page.call.getErrorInfo();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Parse a page and pass its elements to the sink
+     *
+     * @param page page to read
+     * @param sink receiver of the elements
+     * @return the number of elements of the page, filtered ones included, -1 if an error has been memorized
+     */
+    private int read(Page page, ObjectMapping.ElementSink sink) throws Exception {
+        if (!await(page))
+            return -1;
+
+        this.current = page;
+        CountingSink counting = new CountingSink(sink);
+
+        try {
+            page.call.fill(this.clazz, "Array", counting);
+        } finally {
+            this.current = null;
+            this.pageCount++;
+            this.metrics.add(page.call.getMetrics());
+        }
+
+        if (!page.call.getErrorInfo().isEmpty()) {
+            this.errorInfo = "page " + this.pageCount + " : " + page.call.getErrorInfo();
+            return -1;
+        }
+
+        return counting.count + (int) page.call.getMetrics().getElementsRejected();
+    }
+
+    /**
+     * Find the address of the next page in the Link header of a response, for instance
+     * Link: &lt;https://api.example.com/items?page=3&gt;; rel="next", &lt;https://api.example.com/items?page=9&gt;; rel="last"
+     *
+     * @param call call of the current page
+     * @return the address, null if there is no next page or if an error has been memorized
+     */
+    private URL nextLink(FedExtCall call) {
+        String header = call.getResponseHeader("Link");
+        if (header == null)
+            return null;
+
+        int at = 0;
+        while ((at = header.indexOf('<', at)) >= 0) {
+            int end = header.indexOf('>', at);
+            if (end < 0)
+                return null;
+
+            int following = header.indexOf('<', end);
+            String params = header.substring(end + 1, (following < 0) ? header.length() : following);
+
+            if (isNextRelation(params)) {
+                try {
+                    // The address can be relative to the page
+                    URL base = new URL(call.getMetrics().getURL());
+                    URL next = new URL(base, header.substring(at + 1, end).trim());
+
+                    // A link to the same page would read it forever
+                    return next.toString().equals(base.toString()) ? null : next;
+                } catch (MalformedURLException e) {
+                    this.errorInfo = e.toString();
+                    return null;
+                }
+            }
+
+            at = end;
+        }
+
+        return null;
+    }
+
+    /**
+     * Check if the parameters of a link give the relation "next"
+     *
+     * @param params parameters following the address, for instance ; rel="next"
+     * @return true for the next page
+     */
+    private static boolean isNextRelation(String params) {
+        for (String param : params.split(";")) {
+            int equal = param.indexOf('=');
+            if (equal < 0 || !param.substring(0, equal).trim().equalsIgnoreCase("rel"))
+                continue;
+
+            // A link can have several relations, separated by spaces
+            String value = param.substring(equal + 1).replace(',', ' ').replace('"', ' ').trim();
+            for (String relation : value.split("\\s+")) {
+                if (relation.equalsIgnoreCase("next"))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if a path is made of keys only
+     *
+     * @param path path to check
+     * @return true if no step is an index or a wildcard
+     */
+    private static boolean isNamesOnly(RootPath path) {
+        if (path.size() == 0)
+            return false;
+
+        for (int step = 0; step < path.size(); step++) {
+            if (!path.isName(step))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Stop the reading : the current page and the pages fetched ahead are closed
+     */
+    @Override
+    public void abort() {
+        this.aborted = true;
+
+        Page page = this.current;
+        if (page != null)
+            page.call.abort();
+
+        for (Page ahead : this.pages)
+            ahead.call.abort();
+    }
+
+    /**
+     * Get the error information, once the reading has ended
+     *
+     * @return the error or an empty string
+     */
+    @Override
+    public String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Get the metrics of all the pages read
+     *
+     * @return the metrics, with the URL of the first page
+     */
+    FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Get the number of pages read
+     *
+     * @return the number of pages
+     */
+    int getPageCount() {
+        return this.pageCount;
+    }
+
+    /**
+     * A page : its call and its download, if it is fetched ahead
+     */
+    private static final class Page {
+        private final FedExtCall call;
+        private final CompletableFuture<Void> download;
+
+        /**
+         * Constructor
+         *
+         * @param call     call of the page
+         * @param download download running in the background, null if the page is called when it is read
+         */
+        private Page(FedExtCall call, CompletableFuture<Void> download) {
+            this.call = call;
+            this.download = download;
+        }
+    }
+
+    /**
+     * Receiver counting the elements of a page before passing them on
+     */
+    private static final class CountingSink implements ObjectMapping.ElementSink {
+        private final ObjectMapping.ElementSink sink;
+        private int count;
+
+        /**
+         * Constructor
+         *
+         * @param sink receiver of the elements
+         */
+        private CountingSink(ObjectMapping.ElementSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void add(Object element) {
+            this.count++;
+            this.sink.add(element);
+        }
+    }
+}
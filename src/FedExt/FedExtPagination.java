@@ -0,0 +1,248 @@
+package FedExt;
+
+/**
+ * This class FedExtPagination describes how a Web Service pages its results, so that all the pages
+ * can be read as one Array or one stream (see FedExtClient.fillPages and FedExtClient.streamPages) :
+ *      - pageNumber : a parameter gives the number of the page, for instance "page=1", "page=2"...
+ *      - offset     : parameters give the first element and the number of elements, for instance "offset=0&limit=100"
+ *      - cursor     : the response gives the cursor of the next page at a JSON path, sent back as a parameter
+ *      - linkHeader : the response gives the address of the next page in its Link header (rel="next")
+ * The pages are fetched ahead while the current page is parsed, up to the prefetch depth :
+ * with page numbers or offsets the next addresses are known in advance ; with a cursor the next page is
+ * requested as soon as the cursor is read, with a Link header as soon as the current page is received.
+ * The reading stops on an empty page (or a page shorter than its size), on a missing cursor or link,
+ * on an error, or after the maximal number of pages
+ * A pagination is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtPagination {
+    public static final int DEFAULT_PREFETCH = 1;
+
+    /**
+     * Strategy of pagination
+     */
+    public enum Type {
+        PAGE_NUMBER, OFFSET, CURSOR, LINK_HEADER
+    }
+
+    private final Type type;
+    private final String param;
+    private final String sizeParam;
+    private final int first;
+    private final int size;
+    private final String cursorPath;
+    private final int prefetch;
+    private final int maxPages;
+
+    /**
+     * Constructor
+     *
+     * @param type       strategy of pagination
+     * @param param      parameter of the page number, of the offset or of the cursor
+     * @param sizeParam  parameter of the page size or of the limit, null if not sent
+     * @param first      number of the first page
+     * @param size       number of elements of a full page, 0 if unknown
+     * @param cursorPath JSON path of the cursor of the next page
+     * @param prefetch   number of pages fetched ahead
+     * @param maxPages   maximal number of pages
+     */
+    private FedExtPagination(Type type, String param, String sizeParam, int first, int size, String cursorPath, int prefetch, int maxPages) {
+        this.type = type;
+        this.param = param;
+        this.sizeParam = sizeParam;
+        this.first = first;
+        this.size = size;
+        this.cursorPath = cursorPath;
+        this.prefetch = prefetch;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Pages given by their number
+     *
+     * @param param parameter of the page number, for instance "page"
+     * @param first number of the first page, usually 0 or 1
+     * @return the pagination
+     */
+    public static FedExtPagination pageNumber(String param, int first) {
+        return new FedExtPagination(Type.PAGE_NUMBER, param, null, first, 0, null, DEFAULT_PREFETCH, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Pages given by the offset of their first element
+     *
+     * @param offsetParam parameter of the offset, for instance "offset"
+     * @param limitParam  parameter of the number of elements, for instance "limit"
+     * @param limit       number of elements of a page
+     * @return the pagination
+     */
+    public static FedExtPagination offset(String offsetParam, String limitParam, int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("the limit must be positive");
+
+        return new FedExtPagination(Type.OFFSET, offsetParam, limitParam, 0, limit, null, DEFAULT_PREFETCH, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Pages chained by a cursor : each response gives the cursor of the next page
+     * The data must be located by the root path of the request
+     *
+     * @param param      parameter receiving the cursor, for instance "cursor"
+     * @param cursorPath JSON path of the cursor in the response, made of keys only, for instance "$.meta.next_cursor"
+     * @return the pagination
+     */
+    public static FedExtPagination cursor(String param, String cursorPath) {
+        return new FedExtPagination(Type.CURSOR, param, null, 0, 0, cursorPath, DEFAULT_PREFETCH, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Pages chained by the Link header of the responses (RFC 8288), the address with rel="next" is followed
+     *
+     * @return the pagination
+     */
+    public static FedExtPagination linkHeader() {
+        return new FedExtPagination(Type.LINK_HEADER, null, null, 0, 0, null, DEFAULT_PREFETCH, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Give the size of the pages numbered : the reading stops after a page with fewer elements
+     *
+     * @param sizeParam parameter of the page size, for instance "per_page", null if it must not be sent
+     * @param size      number of elements of a full page
+     * @return the pagination with this page size
+     */
+    public FedExtPagination pageSize(String sizeParam, int size) {
+        if (this.type != Type.PAGE_NUMBER)
+            throw new IllegalStateException("the page size only applies to numbered pages");
+
+        return new FedExtPagination(this.type, this.param, sizeParam, this.first, size, this.cursorPath, this.prefetch, this.maxPages);
+    }
+
+    /**
+     * Define the number of pages fetched while the current one is parsed
+     * With a cursor or a Link header, only the next page can be fetched ahead
+     *
+     * @param depth number of pages fetched ahead, 0 to fetch the pages one after the other
+     * @return the pagination with this depth
+     */
+    public FedExtPagination prefetch(int depth) {
+        return new FedExtPagination(this.type, this.param, this.sizeParam, this.first, this.size, this.cursorPath, Math.max(depth, 0), this.maxPages);
+    }
+
+    /**
+     * Limit the number of pages read
+     *
+     * @param maxPages maximal number of pages
+     * @return the pagination with this limit
+     */
+    public FedExtPagination maxPages(int maxPages) {
+        return new FedExtPagination(this.type, this.param, this.sizeParam, this.first, this.size, this.cursorPath, this.prefetch, Math.max(maxPages, 1));
+    }
+
+    /**
+     * Return the strategy of pagination
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Return the number of pages fetched ahead
+     *
+     * @return the depth
+     */
+    public int getPrefetch() {
+        return this.prefetch;
+    }
+
+    /**
+     * Return the maximal number of pages
+     *
+     * @return the number of pages
+     */
+    public int getMaxPages() {
+        return this.maxPages;
+    }
+
+    /**
+     * Return the JSON path of the cursor
+     *
+     * @return the path, null if the pages are not chained by a cursor
+     */
+    String getCursorPath() {
+        return this.cursorPath;
+    }
+
+    /**
+     * Check if the address of a page is known before the previous pages are read
+     *
+     * @return true for page numbers and offsets
+     */
+    boolean isPredictable() {
+        return this.type == Type.PAGE_NUMBER || this.type == Type.OFFSET;
+    }
+
+    /**
+     * Check if a page is the last one, according to the number of its elements
+     *
+     * @param elements number of elements of the page, before any filter
+     * @return true if no page follows
+     */
+    boolean isLast(int elements) {
+        return elements == 0 || (this.size > 0 && elements < this.size);
+    }
+
+    /**
+     * Describe a page numbered or given by its offset
+     *
+     * @param base  description of the call of the first page
+     * @param index index of the page, from 0
+     * @return the description of the call of the page
+     */
+    FedExtRequest page(FedExtRequest base, int index) {
+        FedExtRequest page = base.copy();
+
+        if (this.type == Type.PAGE_NUMBER) {
+            page.setParam(this.param, String.valueOf(this.first + index));
+            if (this.sizeParam != null)
+                page.setParam(this.sizeParam, String.valueOf(this.size));
+        } else {
+            page.setParam(this.param, String.valueOf((long) index * this.size));
+            page.setParam(this.sizeParam, String.valueOf(this.size));
+        }
+
+        return page;
+    }
+
+    /**
+     * Describe the page following a cursor
+     *
+     * @param base   description of the call of the first page
+     * @param cursor cursor read in the previous page
+     * @return the description of the call of the page
+     */
+    FedExtRequest page(FedExtRequest base, String cursor) {
+        FedExtRequest page = base.copy();
+        page.setParam(this.param, cursor);
+
+        return page;
+    }
+
+    /**
+     * Describe the pagination
+     *
+     * @return the strategy and its parameters
+     */
+    @Override
+    public String toString() {
+        return this.type + ((this.param == null) ? "" : " " + this.param)
+                + ((this.cursorPath == null) ? "" : " from " + this.cursorPath)
+                + ", prefetch " + this.prefetch + ((this.maxPages == Integer.MAX_VALUE) ? "" : ", " + this.maxPages + " pages max");
+    }
+}
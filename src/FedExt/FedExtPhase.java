@@ -0,0 +1,21 @@
+package FedExt;
+
+/**
+ * This enum FedExtPhase lists the measured phases of a call (see FedExtCallMetrics)
+ *      - CONNECT : the transport sends the request and opens the response
+ *      - READ    : the response body is read from the transport
+ *      - PARSE   : the JSON is tokenized, the keys are mapped and the values are assigned
+ *      - MAPPING : part of PARSE spent to search the keys in the field tables
+ *      - ASSIGN  : part of PARSE spent to decode the values in the type of their field and to assign them
+ *      - TOTAL   : the whole call, including the preparation of the mapping plan
+ * MAPPING and ASSIGN are estimated : only one key and one value out of 64 are timed, the time of the others
+ * is extrapolated, so that the measure costs less than a nanosecond per key ; the rest of PARSE is the tokenizing
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public enum FedExtPhase {
+    CONNECT, READ, PARSE, MAPPING, ASSIGN, TOTAL
+}
@@ -0,0 +1,219 @@
+package FedExt;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class FedExtPreparedFetch describes a call made many times the same way, only the values of some parameters changing,
+ * for instance on an endpoint called at a high rate :
+ *
+ *      FedExtPreparedFetch<Order> orders = FedExtPreparedFetch.builder("https://api.example.com/users/{user}/orders?status={status}", Order.class)
+ *              .rootPath("$.data.items")
+ *              .projection("id", "total")
+ *              .build();
+ *      FedExtResult<Order[]> result = client.fillArray(orders, FedExtPreparedFetch.values("user", "42", "status", "open"));
+ *
+ * Everything which does not depend on the values is prepared once, when the fetch is built : the template is split
+ * into its literal parts, and the mapping plan, the projection, the filter and the root path are resolved and checked.
+ * A call then only builds its address, with the values encoded, and fills the objects
+ * A prepared fetch is immutable and can be shared between threads
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class FedExtPreparedFetch<T> {
+    private final UrlTemplate template;
+    private final Class<T> clazz;
+    private final FedExtRequest options;
+    private final CallPlan plan;
+
+    /**
+     * Constructor
+     *
+     * @param builder description of the fetch
+     */
+    private FedExtPreparedFetch(Builder<T> builder) throws Exception {
+        this.template = UrlTemplate.parse(builder.template);
+        if (this.template == null)
+            throw new IllegalStateException("invalid template : " + builder.template);
+
+        this.clazz = builder.clazz;
+        this.options = builder.options.copy();
+        this.plan = CallPlan.compile(this.clazz, this.options);
+    }
+
+    /**
+     * Start the description of a prepared fetch
+     *
+     * @param template address with named placeholders, for instance "https://api.example.com/users/{id}?lang={lang}"
+     * @param clazz    class of the objects to fill
+     * @return a builder
+     */
+    public static <T> Builder<T> builder(String template, Class<T> clazz) {
+        return new Builder<T>(template, clazz);
+    }
+
+    /**
+     * Gather values given as name and value pairs
+     *
+     * @param namesAndValues names and values, for instance "id", "42", "lang", "fr"
+     * @return the values, in the given order
+     */
+    public static Map<String, String> values(String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0)
+            throw new IllegalArgumentException("a value is missing for " + namesAndValues[namesAndValues.length - 1]);
+
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        for (int i = 0; i < namesAndValues.length; i += 2)
+            values.put(namesAndValues[i], namesAndValues[i + 1]);
+
+        return values;
+    }
+
+    /**
+     * Describe one call
+     *
+     * @param values values of the placeholders ; the other values are added as parameters of the query
+     * @return the request, calling the completed address
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    FedExtRequest request(Map<String, String> values) throws MalformedURLException {
+        return this.options.copy(new URL(this.template.expand(values)));
+    }
+
+    /**
+     * Return the class of the objects to fill
+     *
+     * @return the class
+     */
+    public Class<T> getClazz() {
+        return this.clazz;
+    }
+
+    /**
+     * Return the names of the placeholders of the template
+     *
+     * @return the names
+     */
+    public Set<String> getPlaceholders() {
+        return this.template.getPlaceholders();
+    }
+
+    /**
+     * Return the options resolved in advance
+     *
+     * @return the plan shared by the calls
+     */
+    CallPlan getPlan() {
+        return this.plan;
+    }
+
+    /**
+     * Describe the prepared fetch
+     *
+     * @return the template and the class
+     */
+    @Override
+    public String toString() {
+        return this.template + " -> " + this.clazz.getSimpleName()
+                + (this.options.getRootPath().isEmpty() ? "" : " at " + this.options.getRootPath())
+                + (this.options.getProjection().isEmpty() ? "" : " " + this.options.getProjection());
+    }
+
+    /**
+     * Builder of the prepared fetch
+     */
+    public static final class Builder<T> {
+        private final String template;
+        private final Class<T> clazz;
+        private final FedExtRequest options;
+
+        /**
+         * Constructor
+         *
+         * @param template address with named placeholders
+         * @param clazz    class of the objects to fill
+         */
+        private Builder(String template, Class<T> clazz) {
+            this.template = template;
+            this.clazz = clazz;
+            this.options = new FedExtRequest((URL) null);
+        }
+
+        /**
+         * Define where the data is in the JSON response (see FedExtRequest.setRootPath)
+         *
+         * @param rootPath JSON path of the data, empty to find the data by its keys
+         * @return this builder
+         */
+        public Builder<T> rootPath(String rootPath) {
+            this.options.setRootPath(rootPath);
+            return this;
+        }
+
+        /**
+         * Restrict the fill to some fields (see FedExtRequest.setProjection)
+         *
+         * @param fields paths of the fields to fill, none to fill all the mappable fields
+         * @return this builder
+         */
+        public Builder<T> projection(String... fields) {
+            this.options.setProjection(Arrays.asList(fields));
+            return this;
+        }
+
+        /**
+         * Keep only the elements fulfilling the conditions of a filter (see FedExtRequest.setFilter)
+         *
+         * @param filter conditions on the scalar fields of the elements, null to keep all the elements
+         * @return this builder
+         */
+        public Builder<T> filter(FedExtFilter filter) {
+            this.options.setFilter(filter);
+            return this;
+        }
+
+        /**
+         * Bound each call (see FedExtRequest.setDeadline)
+         *
+         * @param deadline maximal duration of a call, in milliseconds (0 for no deadline)
+         * @return this builder
+         */
+        public Builder<T> deadline(long deadline) {
+            this.options.setDeadline(deadline);
+            return this;
+        }
+
+        /**
+         * Keep the raw JSON response of each call (see FedExtRequest.setKeepJsonData)
+         *
+         * @param keepJsonData true to memorize the JSON responses
+         * @return this builder
+         */
+        public Builder<T> keepJsonData(boolean keepJsonData) {
+            this.options.setKeepJsonData(keepJsonData);
+            return this;
+        }
+
+        /**
+         * Build the prepared fetch, checking the template and the options once for all the calls
+         *
+         * @return the prepared fetch
+         * @throws IllegalStateException if the template or an option is not valid
+         */
+        public FedExtPreparedFetch<T> build() throws Exception {
+            if (this.template == null || this.template.isEmpty())
+                throw new IllegalStateException("missing template");
+            if (this.clazz == null)
+                throw new IllegalStateException("missing class");
+
+            return new FedExtPreparedFetch<T>(this);
+        }
+    }
+}
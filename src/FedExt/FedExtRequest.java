@@ -0,0 +1,297 @@
+package FedExt;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class FedExtRequest describes one call of a Web Service through a FedExtClient :
+ * the configuration name or the URL to call, the parameters and the options of the call
+ * A request is a lightweight object created for each call, it must not be modified while the call is running
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtRequest {
+    private String configName;
+    private URL url;
+    private Map<String, String> params;
+    private boolean keepJsonData;
+    private String rootPath;
+    private Set<String> projection;
+    private FedExtFilter filter;
+    private long deadline;
+    private boolean partial;
+    private int maxElements;
+
+    /**
+     * Constructor
+     *
+     * @param url URL of the Web Service to call directly
+     */
+    public FedExtRequest(URL url) {
+        this("", url);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param configName Name of the configuration to use on the External Wrapping Server
+     */
+    public FedExtRequest(String configName) {
+        this(configName, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param configName Name of the configuration to use on the External Wrapping Server
+     * @param url        URL of the Web Service to call directly if no configuration name has been defined
+     */
+    public FedExtRequest(String configName, URL url) {
+        this.configName = (configName == null) ? "" : configName;
+        this.url = url;
+        this.params = new LinkedHashMap<String, String>();
+        this.rootPath = "";
+        this.projection = new TreeSet<String>();
+    }
+
+    /**
+     * Add a parameter to be used by the Web Service
+     * The parameters are encoded and appended to the query of the URL, which is started if the URL has none
+     *
+     * @param param Name of the parameter (for instance "query")
+     * @param value Value to set  (for instance "sushi")
+     */
+    public void setParam(String param, String value) {
+        this.params.put(param, value);
+    }
+
+    /**
+     * Add several parameters to be used by the Web Service
+     *
+     * @param params Names and values of the parameters
+     */
+    public void setParams(Map<String, String> params) {
+        this.params.putAll(params);
+    }
+
+    /**
+     * Keep the raw JSON response in memory, so it can be read with FedExtResult.getJsonData()
+     *
+     * @param keepJsonData true to memorize the JSON response
+     */
+    public void setKeepJsonData(boolean keepJsonData) {
+        this.keepJsonData = keepJsonData;
+    }
+
+    /**
+     * Define where the data is in the JSON response, for instance "$.response.data.items[*]"
+     * The parse goes straight to this path, skipping everything else, and maps only the objects found there ;
+     * without root path, the data starts at the first key matching a field of the class
+     *
+     * @param rootPath JSON path of the data, empty to find the data by its keys
+     */
+    public void setRootPath(String rootPath) {
+        this.rootPath = (rootPath == null) ? "" : rootPath.trim();
+    }
+
+    /**
+     * Restrict the fill to some fields, for instance "name" and "address.city"
+     * The other fields are skipped like unknown keys : their sub objects are never instantiated
+     *
+     * @param fields paths of the fields to fill, none to fill all the mappable fields
+     */
+    public void setProjection(String... fields) {
+        setProjection(Arrays.asList(fields));
+    }
+
+    /**
+     * Restrict the fill to some fields, for instance "name" and "address.city"
+     *
+     * @param fields paths of the fields to fill, empty to fill all the mappable fields
+     */
+    public void setProjection(Collection<String> fields) {
+        this.projection.clear();
+
+        if (fields != null) {
+            for (String field : fields) {
+                if (field != null && !field.trim().isEmpty())
+                    this.projection.add(field.trim());
+            }
+        }
+    }
+
+    /**
+     * Keep only the elements of the Array fulfilling the conditions of a filter (see FedExtFilter)
+     * The filter applies to fillArray and stream, the elements are selected while the response is parsed
+     *
+     * @param filter conditions on the scalar fields of the elements, null to keep all the elements
+     */
+    public void setFilter(FedExtFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Bound the whole call : connection, reading and parse must end within the deadline,
+     * otherwise the call is aborted and reports "deadline of N ms exceeded"
+     *
+     * @param deadline maximal duration of the call, in milliseconds (0 for no deadline)
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = Math.max(deadline, 0);
+    }
+
+    /**
+     * Accept a partial Array : at the deadline, the reading stops and the elements already completed are the result,
+     * without error, instead of "deadline exceeded" (see FedExtResult.isTruncated)
+     * The rest of the response is abandoned by closing the connection, without reading it
+     *
+     * @param partial true to keep the elements completed before the deadline
+     */
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    /**
+     * Stop the reading once an Array (or a stream) holds a number of elements, the rest of the response is abandoned
+     * The elements rejected by the filter are not counted
+     *
+     * @param maxElements maximal number of elements, 0 to read all the elements
+     */
+    public void setMaxElements(int maxElements) {
+        this.maxElements = Math.max(maxElements, 0);
+    }
+
+    /**
+     * Return the name of the configuration
+     *
+     * @return the configuration name or an empty string
+     */
+    public String getConfigName() {
+        return this.configName;
+    }
+
+    /**
+     * Return the URL of the Web Service
+     *
+     * @return the URL, null if a configuration name is used
+     */
+    public URL getURL() {
+        return this.url;
+    }
+
+    /**
+     * Return the parameters of the Web Service
+     *
+     * @return the names and values of the parameters
+     */
+    public Map<String, String> getParams() {
+        return Collections.unmodifiableMap(this.params);
+    }
+
+    /**
+     * Check if the raw JSON response must be kept in memory
+     *
+     * @return true if the JSON response is memorized
+     */
+    public boolean isKeepJsonData() {
+        return this.keepJsonData;
+    }
+
+    /**
+     * Return where the data is in the JSON response
+     *
+     * @return the JSON path of the data, empty if the data is found by its keys
+     */
+    public String getRootPath() {
+        return this.rootPath;
+    }
+
+    /**
+     * Return the fields to fill
+     *
+     * @return the paths of the fields, empty if all the mappable fields are filled
+     */
+    public Set<String> getProjection() {
+        return Collections.unmodifiableSet(this.projection);
+    }
+
+    /**
+     * Return the filter of the elements
+     *
+     * @return the filter, null if all the elements are kept
+     */
+    public FedExtFilter getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Return the maximal duration of the call
+     *
+     * @return the deadline in milliseconds, 0 if the call is not bounded
+     */
+    public long getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Check if the elements completed before the deadline are accepted as the result
+     *
+     * @return true for a partial Array
+     */
+    public boolean isPartial() {
+        return this.partial;
+    }
+
+    /**
+     * Return the maximal number of elements read
+     *
+     * @return the number of elements, 0 if all the elements are read
+     */
+    public int getMaxElements() {
+        return this.maxElements;
+    }
+
+    /**
+     * Return an independent copy of the request, used by the calls running in the background
+     *
+     * @return the copy
+     */
+    public FedExtRequest copy() {
+        FedExtRequest copy = new FedExtRequest(this.configName, this.url);
+        copy.params.putAll(this.params);
+        copy.keepJsonData = this.keepJsonData;
+        copy.rootPath = this.rootPath;
+        copy.projection.addAll(this.projection);
+        copy.filter = this.filter;
+        copy.deadline = this.deadline;
+        copy.partial = this.partial;
+        copy.maxElements = this.maxElements;
+
+        return copy;
+    }
+
+    /**
+     * Return a copy of the request calling directly another address, which already holds its parameters
+     * (for instance the next page given by the Link header of a response)
+     *
+     * @param url complete address of the Web Service
+     * @return the copy, with the options but without the configuration name and the parameters
+     */
+    FedExtRequest copy(URL url) {
+        FedExtRequest copy = copy();
+        copy.configName = "";
+        copy.url = url;
+        copy.params.clear();
+
+        return copy;
+    }
+}
@@ -0,0 +1,97 @@
+package FedExt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class FedExtResponse is an opened response of a Web Service, given by a FedExtTransport
+ * The body is read as a stream and must be closed once read ; abort() can be called by another
+ * thread to stop the reading
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtResponse implements Closeable {
+    private final int status;
+    private final Map<String, String> headers;
+    private final InputStream body;
+
+    /**
+     * Constructor
+     *
+     * @param status  HTTP status code
+     * @param headers headers of the response (the names are case insensitive)
+     * @param body    stream of the body
+     */
+    public FedExtResponse(int status, Map<String, String> headers, InputStream body) {
+        this.status = status;
+        this.headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        this.body = body;
+
+        if (headers != null)
+            this.headers.putAll(headers);
+    }
+
+    /**
+     * Return the HTTP status code
+     *
+     * @return the status
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Return a header of the response
+     *
+     * @param name name of the header, case insensitive
+     * @return the value, null if the header is missing
+     */
+    public String getHeader(String name) {
+        return this.headers.get(name);
+    }
+
+    /**
+     * Return all the headers of the response
+     *
+     * @return the headers
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(this.headers);
+    }
+
+    /**
+     * Return the stream of the body
+     *
+     * @return the body
+     */
+    public InputStream getBody() {
+        return this.body;
+    }
+
+    /**
+     * Close the body : the connection can be reused if the body has been read entirely
+     */
+    @Override
+    public void close() throws IOException {
+        this.body.close();
+    }
+
+    /**
+     * Stop the reading of the body from another thread, the connection is not reused
+     * By default the body is closed
+     */
+    public void abort() {
+        try {
+            this.body.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package FedExt;
+
+/**
+ * This class FedExtResult holds the outcome of one call made through a FedExtClient :
+ * the filled object (or Array), the error information and, if requested, the JSON response
+ * A partial Array may hold only the first elements of the response (see isTruncated)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtResult<T> {
+    private final T value;
+    private final String errorInfo;
+    private final String jsonData;
+    private final FedExtCallMetrics metrics;
+    private final boolean truncated;
+
+    /**
+     * Constructor
+     *
+     * @param value     filled object or Array
+     * @param errorInfo error information, empty if the call succeeded
+     * @param jsonData  JSON response, empty if it has not been memorized
+     * @param metrics   measures of the call
+     */
+    FedExtResult(T value, String errorInfo, String jsonData, FedExtCallMetrics metrics) {
+        this(value, errorInfo, jsonData, metrics, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param value     filled object or Array
+     * @param errorInfo error information, empty if the call succeeded
+     * @param jsonData  JSON response, empty if it has not been memorized
+     * @param metrics   measures of the call
+     * @param truncated true if the reading has been stopped before the end of the response
+     */
+    FedExtResult(T value, String errorInfo, String jsonData, FedExtCallMetrics metrics, boolean truncated) {
+        this.value = value;
+        this.errorInfo = errorInfo;
+        this.jsonData = jsonData;
+        this.metrics = metrics;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Get the filled object, or Array of objects
+     *
+     * @return the request object
+     */
+    public T getValue() {
+        return this.value;
+    }
+
+    /**
+     * Get the error information
+     *
+     * @return the error or an empty string
+     */
+    public String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Check if the call succeeded
+     *
+     * @return true if no error has been detected
+     */
+    public boolean isSuccess() {
+        return this.errorInfo.isEmpty();
+    }
+
+    /**
+     * Check if the Array holds only the first elements of the response : the reading of a partial call
+     * has been stopped at its deadline or at its element count (see FedExtRequest.setPartial, setMaxElements)
+     *
+     * @return true if elements of the response have not been read
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Get the JSON response as a string
+     * The response is only available if FedExtRequest.setKeepJsonData(true) has been called
+     *
+     * @return string with the read JSON
+     */
+    public String getJsonData() {
+        return this.jsonData;
+    }
+
+    /**
+     * Get the measures of the call : time of each phase, bytes, tokens, keys, objects and values
+     *
+     * @return the metrics of the call
+     */
+    public FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+}
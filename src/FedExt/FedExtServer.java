@@ -1,30 +1,65 @@
 package FedExt;
 
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Singleton containing the default values of the External Wrapping Server
+ * The values are immutable, so the server can be shared by all the threads ;
+ * another server can be given to a FedExtClient with the public constructor
+ * The server gives the descriptors of its configuration names (see FedExtDescriptorSource) :
+ *      GET <url>?config=<name>, with the kept version in the If-None-Match header, answers the JSON descriptor
+ *      or 304 if the kept version is still the current one
  * Created by Laurent on 10.11.14.
- * Last modification, 19.11.2014
+ * Last modification, 18.10.2026
  *
  * @author Laurent
- * @version 1.0
+ * @version 1.1
  */
-public class FedExtServer {
-    private static String url;
-    private static String userName;
-    private static String password;
-    private static FedExtServer instance = null;
+public class FedExtServer implements FedExtDescriptorSource {
+    private static final FedExtServer instance = new FedExtServer("http://localhost:8080/users/get", "", "");
+
+    private final String url;
+    private final String userName;
+    private final String password;
+    private final FedExtTransport transport;
 
     /**
-     * Singleton Instanciator with internal initialisation
+     * Constructor
+     *
+     * @param url      URL of the External Wrapping Server
+     * @param userName Login of the External Wrapping Server
+     * @param password Password of the External Wrapping Server
      */
-    public static FedExtServer getInstance() {
-        if (instance == null)
-            instance = new FedExtServer();
+    public FedExtServer(String url, String userName, String password) {
+        this(url, userName, password, new HttpTransport());
+    }
 
-        url = new String("http://localhost:8080/users/get");
-        userName = new String("");
-        password = new String("");
+    /**
+     * Constructor
+     *
+     * @param url       URL of the External Wrapping Server
+     * @param userName  Login of the External Wrapping Server
+     * @param password  Password of the External Wrapping Server
+     * @param transport transport used to read the descriptors
+     */
+    public FedExtServer(String url, String userName, String password, FedExtTransport transport) {
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.transport = (transport == null) ? new HttpTransport() : transport;
+    }
 
+    /**
+     * Return the default External Wrapping Server
+     */
+    public static FedExtServer getInstance() {
         return instance;
     }
 
@@ -54,4 +89,38 @@ public class FedExtServer {
     public String getPassword() {
         return password;
     }
+
+    /**
+     * Read the descriptor of a configuration from the External Wrapping Server
+     *
+     * @param configName   name of the configuration
+     * @param knownVersion version of the descriptor already kept, null if none
+     * @return the descriptor, or null if the kept version is still the current one
+     * @throws IOException if the configuration is unknown or the server can not be reached
+     */
+    @Override
+    public FedExtDescriptor resolve(String configName, String knownVersion) throws IOException {
+        StringBuilder address = new StringBuilder(this.url);
+        UrlTemplate.appendParam(address, "config", configName);
+
+        Map<String, String> headers = new HashMap<String, String>();
+        if (knownVersion != null && !knownVersion.isEmpty())
+            headers.put("If-None-Match", "\"" + knownVersion + "\"");
+        if (this.userName != null && !this.userName.isEmpty()) {
+            String credentials = this.userName + ":" + ((this.password == null) ? "" : this.password);
+            headers.put("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        try (FedExtResponse response = this.transport.open(new URL(address.toString()), headers)) {
+            // The kept version is still the current one
+            if (response.getStatus() == 304)
+                return null;
+
+            FedExtDescriptor descriptor = FedExtDescriptor.read(new JsonReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)), configName);
+            if (!descriptor.getName().equals(configName))
+                throw new IOException("descriptor of " + descriptor.getName() + " received for the configuration " + configName);
+
+            return descriptor;
+        }
+    }
 }
@@ -1,27 +1,25 @@
 package FedExt;
 
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
 import java.awt.*;
-import java.io.*;
 import java.net.URI;
 import java.net.URL;
-import java.net.URLConnection;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This class FedExtService allows to easily implements the wrapper for external data source into MobiS
  * It will generically parse the MobiS Object Structure during the instantiation
+ * A service keeps the parameters and the outcome of its last call, so it must be used by one thread at a time ;
+ * the calls themselves are made through a FedExtClient, which can be shared by all the threads
  * Creation, 22.11.2014
- * Last modification, 02.12.2014
+ * Last modification, 18.10.2026
  *
  * @author Laurent
- * @version 1.2
+ * @version 1.3
  */
 public class FedExtService {
-
     private String configName;
     private Map<String, String> params;
     private FedExtServer extServer;
@@ -29,7 +27,15 @@ public class FedExtService {
     private String jsonData;
     private String errorInfo;
     private URL urlWS;
-    private ObjectMapping object2Return;
+    private boolean keepJsonData;
+    private String rootPath;
+    private FedExtFilter filter;
+    private long deadline;
+    private boolean partial;
+    private int maxElements;
+    private boolean truncated;
+    private FedExtClient client;
+    private FedExtCallMetrics metrics;
 
     /**
      * Constructor
@@ -39,7 +45,14 @@ public class FedExtService {
         this.extServer = FedExtServer.getInstance();
 
         // Params initialisation
+        this.configName = "";
         this.params = new HashMap<String, String>();
+        this.jsonData = "";
+        this.errorInfo = "";
+        this.rootPath = "";
+
+        // The calls are made by the shared client
+        this.client = FedExtClient.getDefault();
     }
 
     /**
@@ -49,7 +62,7 @@ public class FedExtService {
      */
     public FedExtService(String configName) throws Exception {
         this();
-        this.configName = configName;
+        this.configName = (configName == null) ? "" : configName;
     }
 
     /**
@@ -62,6 +75,16 @@ public class FedExtService {
         this.urlWS = url;
     }
 
+    /**
+     * Parse the given MobiS classes in advance (for instance at the application startup),
+     * so that the first call of fillObject or fillArray does not pay for the class introspection
+     *
+     * @param classes MobiS classes which will be filled later
+     */
+    public static void prepare(Class... classes) throws Exception {
+        ObjectParserCache.prepare(classes);
+    }
+
     /**
      * Add a parameter to be used by the Web Service
      *
@@ -97,11 +120,68 @@ public class FedExtService {
      * @return string with all mappable fields
      */
     public String getMappableMembers() {
-        return this.members.memberList();
+        return (this.members == null) ? "" : this.members.memberList();
+    }
+
+    /**
+     * Keep the raw JSON response in memory, so it can be read with getJsonData()
+     * By default the response is parsed directly from the network stream and is not kept
+     *
+     * @param keepJsonData true to memorize the JSON response
+     */
+    public void setKeepJsonData(boolean keepJsonData) {
+        this.keepJsonData = keepJsonData;
+    }
+
+    /**
+     * Define where the data is in the JSON response, for instance "$.response.data.items[*]"
+     * By default the data starts at the first key matching a field of the class
+     *
+     * @param rootPath JSON path of the data, empty to find the data by its keys
+     */
+    public void setRootPath(String rootPath) {
+        this.rootPath = (rootPath == null) ? "" : rootPath;
+    }
+
+    /**
+     * Keep only the elements fulfilling the conditions of a filter, in fillArray and stream (see FedExtFilter)
+     *
+     * @param filter conditions on the scalar fields of the elements, null to keep all the elements
+     */
+    public void setFilter(FedExtFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Bound each call : connection, reading and parse must end within the deadline (see FedExtRequest.setDeadline)
+     *
+     * @param deadline maximal duration of a call, in milliseconds (0 for no deadline)
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = Math.max(deadline, 0);
+    }
+
+    /**
+     * Keep the elements completed before the deadline instead of failing (see FedExtRequest.setPartial)
+     *
+     * @param partial true to accept a partial Array
+     */
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
+    /**
+     * Stop the reading once the Array holds a number of elements (see FedExtRequest.setMaxElements)
+     *
+     * @param maxElements maximal number of elements, 0 to read all the elements
+     */
+    public void setMaxElements(int maxElements) {
+        this.maxElements = Math.max(maxElements, 0);
     }
 
     /**
      * Get the JSON response as a string
+     * The response is only available if setKeepJsonData(true) has been called before the fill
      *
      * @return string with the read JSON
      */
@@ -118,16 +198,32 @@ public class FedExtService {
         return this.errorInfo;
     }
 
+    /**
+     * Check if the Array of the last fillArray holds only the first elements of the response
+     *
+     * @return true if the reading has been stopped at the deadline or at the element count
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Get the measures of the last call made by fillObject or fillArray
+     *
+     * @return the metrics, null if no call has been made
+     */
+    public FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+
     /**
      * Call the Web Service to load the data and fill the object
      */
     public <T> T fillObject(Class clazz) throws Exception {
-        // Initialize Object to fill and return
-        object2Return = new ObjectMapping(clazz, "");
-
-        startProcess();
+        FedExtResult<T> result = this.client.fillObject(createRequest(), (Class<T>) clazz);
+        memorize(result, clazz);
 
-        return object2Return.getObjectToReturn();
+        return result.getValue();
     }
 
     /**
@@ -136,142 +232,260 @@ public class FedExtService {
      * @return an Array of the request object
      */
     public <T> T[] fillArray(Class clazz) throws Exception {
-        // Initialize Object to fill and return
-        object2Return = new ObjectMapping(clazz, "Array");
+        FedExtResult<T[]> result = this.client.fillArray(createRequest(), (Class<T>) clazz);
+        memorize(result, clazz);
+
+        return result.getValue();
+    }
 
-        startProcess();
+    /**
+     * Call the Web Service to load the data and fill only the given fields of the object
+     *
+     * @param projection paths of the fields to fill (for instance "name", "address.city")
+     * @return the request object
+     */
+    public <T> T fillObject(Class clazz, String... projection) throws Exception {
+        FedExtRequest request = createRequest();
+        request.setProjection(projection);
+
+        FedExtResult<T> result = this.client.fillObject(request, (Class<T>) clazz);
+        memorize(result, clazz);
 
-        return object2Return.getArrayToReturn();
+        return result.getValue();
     }
 
     /**
-     * Call the Web Service and return the data
+     * Call the Web Service to load the data and fill only the given fields of the elements
+     *
+     * @param projection paths of the fields to fill (for instance "name", "address.city")
+     * @return an Array of the request object
      */
-    public void startProcess() throws Exception {
-        // Init value
-        this.errorInfo = "";
+    public <T> T[] fillArray(Class clazz, String... projection) throws Exception {
+        FedExtRequest request = createRequest();
+        request.setProjection(projection);
 
-        // Check for valid class
-        if (this.object2Return.getPropertyClazz() == null) {
-            this.errorInfo = "missing reference class";
-            return;
-        }
+        FedExtResult<T[]> result = this.client.fillArray(request, (Class<T>) clazz);
+        memorize(result, clazz);
 
-        // Parse class
-        parseClass();
-        if (!this.errorInfo.isEmpty())
-            return;
+        return result.getValue();
+    }
+
+    /**
+     * Call the Web Service and compute aggregates over the elements, without filling them
+     * The memory used stays the same whatever the number of elements
+     *
+     * @param clazz       class of the elements, null to read the fields as plain JSON paths
+     * @param aggregation fields to aggregate and field of the groups
+     * @return the aggregate of all the elements, which gives the aggregates of the groups
+     */
+    public FedExtAggregate aggregate(Class clazz, FedExtAggregation aggregation) throws Exception {
+        FedExtResult<FedExtAggregate> result = this.client.aggregate(createRequest(), clazz, aggregation);
+        memorize(result, clazz);
 
-        // Routing
-        selectRoute();
+        return result.getValue();
     }
 
     /**
-     * Parse class and memorize fields properties
+     * Call several sources in parallel and merge their elements into one Array
+     * The sources are described by the federation, not by the configuration name, the URL and the parameters of the service
+     * The error information lists the sources which have failed or timed out
+     *
+     * @param clazz      class of the elements of all the sources
+     * @param federation sources of the query, with their timeouts
+     * @return an Array of the request objects of all the sources included
      */
-    private void parseClass() throws Exception {
-        // Parse the class to find the mappable fields
-        this.members = new ObjectParser(this.object2Return.getPropertyClazz());
+    public <T> T[] fillFederated(Class clazz, FedExtFederation federation) throws Exception {
+        FedExtFederatedResult<T> result = this.client.fillFederated(federation, (Class<T>) clazz);
+        memorize(result, clazz);
 
-        // Error message if no mappable field has been found
-        if (this.members.getFieldNumber() == 0)
-            this.errorInfo = "no mappable field has been found";
+        return result.getValue();
     }
 
     /**
-     * Select the route according to the given parameters
+     * Complete the elements filled by this service with the objects of a second source, looked up by their keys
+     * The keys are looked up by batches or in parallel, instead of one call per element
+     *
+     * @param elements   elements to complete, modified in place
+     * @param enrichment key and target fields, second source and way of calling it
+     * @return the same elements
      */
-    private void selectRoute() throws Exception {
-        if (this.configName.isEmpty()) {
-            if (this.urlWS == null || this.urlWS.toString().equals("")) {
-                // Error
-                this.errorInfo = "missing configuration name or url";
-                return;
-            } else {
-                // Direct call - extServer is not used
-                callWS(this.urlWS);
-            }
-        } else {
-            // Call through extServer
-            // If extServer send as error "configuration unknown", openServiceManager could be started
-            // ToDo : call the Converter Web Service
-            //callFedExtWS();
-        }
+    public <T> T[] enrich(T[] elements, FedExtEnrichment enrichment) throws Exception {
+        FedExtResult<T[]> result = this.client.enrich(elements, enrichment);
+        memorize(result, null);
+
+        return result.getValue();
     }
 
     /**
-     * Call the web Service and return the adapted response
+     * Call all the pages of a paginated Web Service and fill one Array with their elements
      *
-     * @param url        Address of WS where the json must be read
+     * @param clazz      class of the elements
+     * @param pagination strategy of pagination (page number, offset, cursor or Link header)
+     * @return an Array of the request objects of all the pages
      */
-    private void callWS(URL url) throws Exception {
-        String fullURL = url.toString();
+    public <T> T[] fillPages(Class clazz, FedExtPagination pagination) throws Exception {
+        FedExtResult<T[]> result = this.client.fillPages(createRequest(), (Class<T>) clazz, pagination);
+        memorize(result, clazz);
 
-        // Complete url with parameters
-        for (Map.Entry<String, String> entry : params.entrySet()) {
-            fullURL += "&" + entry.getKey() + "=" + entry.getValue();
-        }
+        return result.getValue();
+    }
 
-        this.urlWS = new URL(fullURL);
+    /**
+     * Call all the pages of a paginated Web Service and give their elements one by one, as soon as they are filled
+     * The returned stream must be closed if it is not read until the end
+     *
+     * @param clazz      class of the elements
+     * @param pagination strategy of pagination (page number, offset, cursor or Link header)
+     * @return a stream of the request objects of all the pages
+     */
+    public <T> FedExtStream<T> streamPages(Class<T> clazz, FedExtPagination pagination) throws Exception {
+        return this.client.streamPages(createRequest(), clazz, pagination);
+    }
 
-        // Get the JSON response
-        getJSON();
+    /**
+     * Call the Web Service and give the elements of the array one by one, as soon as they are filled
+     * The memory used stays the same whatever the size of the response
+     * The returned stream must be closed if it is not read until the end
+     *
+     * @param clazz class of the elements
+     * @return a stream of the request objects
+     */
+    public <T> FedExtStream<T> stream(Class<T> clazz) throws Exception {
+        return this.client.stream(createRequest(), clazz);
+    }
 
-        // Error detected ?
-        if (!this.errorInfo.isEmpty())
-            return;
+    /**
+     * Call the Web Service and fill the object in the background, without blocking the current thread
+     * Each call is independent : the service can be used again (even for another asynchronous call) meanwhile
+     * The future fails with a FedExtException if the object could not be filled
+     *
+     * @param clazz class of the object to fill
+     * @return the future request object
+     */
+    public <T> CompletableFuture<T> fillObjectAsync(Class<T> clazz) throws Exception {
+        return this.client.fillObjectAsync(createRequest(), clazz);
+    }
 
-        // The Object can now be filled
-        fill();
+    /**
+     * Call the Web Service and fill the array in the background, without blocking the current thread
+     * Each call is independent : the service can be used again (even for another asynchronous call) meanwhile
+     * The future fails with a FedExtException if the array could not be filled
+     *
+     * @param clazz class of the elements
+     * @return the future Array of the request object
+     */
+    public <T> CompletableFuture<T[]> fillArrayAsync(Class<T> clazz) throws Exception {
+        return this.client.fillArrayAsync(createRequest(), clazz);
     }
 
     /**
-     * Call the Web Service and memorize the json response in a String
+     * Define the executor of the asynchronous calls (by default virtual threads if supported, see FedExtExecutors)
+     *
+     * @param executor executor running the calls
      */
-    public void getJSON() throws Exception {
-        this.jsonData = "";
+    public void setExecutor(Executor executor) {
+        this.client = this.client.toBuilder().executor(executor).build();
+    }
 
-        try {
-            URLConnection fs = this.urlWS.openConnection();
-            BufferedReader in = new BufferedReader(new InputStreamReader(fs.getInputStream()));
-            String inputLine;
+    /**
+     * Define the listener notified with the metrics at the end of each call (for instance a FedExtMetrics)
+     *
+     * @param listener listener of the calls, null for none
+     */
+    public void setListener(FedExtListener listener) {
+        this.client = this.client.toBuilder().listener(listener).build();
+    }
 
-            while ((inputLine = in.readLine()) != null)
-                this.jsonData += inputLine;
+    /**
+     * Define the cache of the responses (see FedExtCache)
+     *
+     * @param cache cache of the responses, null to call the Web Service each time
+     */
+    public void setCache(FedExtCache cache) {
+        this.client = this.client.toBuilder().cache(cache).build();
+    }
 
-            in.close();
-        } catch (Exception e) {
-            this.errorInfo = e.toString();
-        }
+    /**
+     * Define the limiter of the calls running at the same moment towards each host (see FedExtLimiter)
+     *
+     * @param limiter adaptive limits by host, null to send the calls without limit
+     */
+    public void setLimiter(FedExtLimiter limiter) {
+        this.client = this.client.toBuilder().limiter(limiter).build();
+    }
 
-        if (this.errorInfo.isEmpty() && this.jsonData.isEmpty())
-            this.errorInfo = "JSON is empty";
+    /**
+     * Duplicate the calls which are still running after a delay, the first response wins (see FedExtHedging)
+     *
+     * @param hedging delays of the duplicates, null to never duplicate the calls
+     */
+    public void setHedging(FedExtHedging hedging) {
+        this.client = this.client.toBuilder().hedging(hedging).build();
     }
 
     /**
-     * Parse the JSON and fill the Object to return
+     * Keep the descriptors of the configuration names in a given cache (see FedExtClient.Builder.descriptors)
+     *
+     * @param descriptors cache of the descriptors, null for a cache of the External Wrapping Server
      */
-    public void fill() throws Exception {
-        // Open stream with JSON response
-        JsonReader reader = openStream();
+    public void setDescriptors(FedExtDescriptorCache descriptors) {
+        this.client = this.client.toBuilder().descriptors(descriptors).build();
+    }
 
-        // Parse the json file and fill the object
-        parseJSON(reader, this.object2Return, this.object2Return.getPropertyClazz(), false, 0);
+    /**
+     * Let the identical fills running at the same moment share one call of the Web Service
+     * The coalesced fills share the filled objects, so they must not modify them
+     * The services switched to coalescing from the same client share one coalescing client, so that their fills,
+     * made by different threads, coalesce together ; a setter of the client called afterwards (setCache, setLimiter...)
+     * gives this service a client of its own : configure it first, or share a coalescing client with setClient
+     *
+     * @param coalescing true to coalesce the fills
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.client = this.client.withCoalescing(coalescing);
+    }
 
-        // Close the stream
-        reader.close();
+    /**
+     * Define the client making the calls (by default the shared FedExtClient.getDefault())
+     *
+     * @param client client to use
+     */
+    public void setClient(FedExtClient client) {
+        this.client = (client == null) ? FedExtClient.getDefault() : client;
     }
 
     /**
-     * Edit the configuration on the External Wrapping Server
-     * The configuration name and the Object members are sent for the mapping
+     * Describe the next call with the current configuration and parameters
+     *
+     * @return the request
      */
-    public JsonReader openStream() throws Exception {
-        // Read the json by stream
-        InputStream stream = new ByteArrayInputStream(this.jsonData.getBytes(StandardCharsets.UTF_8));
-        InputStreamReader streamReader = new InputStreamReader(stream);
+    private FedExtRequest createRequest() {
+        FedExtRequest request = new FedExtRequest(this.configName, this.urlWS);
+        request.setParams(this.params);
+        request.setKeepJsonData(this.keepJsonData);
+        request.setRootPath(this.rootPath);
+        request.setFilter(this.filter);
+        request.setDeadline(this.deadline);
+        request.setPartial(this.partial);
+        request.setMaxElements(this.maxElements);
+
+        return request;
+    }
 
-        return new JsonReader(streamReader);
+    /**
+     * Memorize the outcome of the last call
+     *
+     * @param result result of the call
+     * @param clazz  class of the filled object
+     */
+    private void memorize(FedExtResult<?> result, Class clazz) throws Exception {
+        this.errorInfo = result.getErrorInfo();
+        this.jsonData = result.getJsonData();
+        this.metrics = result.getMetrics();
+        this.truncated = result.isTruncated();
+
+        if (clazz != null)
+            this.members = ObjectParserCache.get(clazz);
     }
 
     /**
@@ -291,23 +505,6 @@ public class FedExtService {
         }
     }
 
-    /**
-     * Check for mapping : search if a field key exists in the given class
-     *
-     * @param clazz class of property
-     * @param key field name to map
-     * @return the mapped field or null if nothing has been found
-     */
-    private ObjectMapping mapping(Class clazz, String key) throws IllegalAccessException, InstantiationException {
-        ObjectProperty property = members.map(clazz.getSimpleName(), key);
-        ObjectMapping objectMapping = null;
-
-        if (property != null)
-            objectMapping = new ObjectMapping(property);
-
-        return objectMapping;
-    }
-
     /**
      * Create the initial Object
      *
@@ -325,118 +522,4 @@ public class FedExtService {
 
         return initiatorObject;
     }
-
-    /**
-     * Parse the read JSON and fill the requested object
-     *
-     * @param reader stream of the json to parse
-     */
-    private void parseJSON(JsonReader reader, ObjectMapping mainObject, Class refClass, boolean isArray, int level) throws IOException, IllegalAccessException, InstantiationException {
-        boolean stop = false;
-        boolean ignore = false;
-        boolean isObjectInArray = isArray;
-        int iCnt = 0;
-        String key;
-        String value;
-        ObjectMapping currentField = null;
-
-        while (reader.hasNext() && !stop) {
-            // Check if array : it can be an array only during the first iteration
-            iCnt++;
-            if (isObjectInArray)
-                isObjectInArray = (iCnt == 1);
-
-            JsonToken token = reader.peek();
-            switch (token) {
-                case BEGIN_OBJECT:
-                    if (ignore)
-                        reader.skipValue();
-                    else {
-                        reader.beginObject();
-                        if (currentField == null) {
-                            parseJSON(reader, mainObject, refClass, isObjectInArray, level + 1);
-                        } else {
-                            parseJSON(reader, currentField, currentField.getPropertyClazz(), isObjectInArray, level + 1);
-
-                            // Assign Property Value to the Object
-                            if (this.object2Return.isStarted() && currentField != null) {
-                                mainObject.setObjectValue(currentField);
-
-                                if (!(this.object2Return.isStarted() && mainObject.isInitialClass()))
-                                    mainObject.transfer(mainObject, false);
-                            }
-                        }
-
-                        reader.endObject();
-                    }
-                    break;
-
-                case BEGIN_ARRAY:
-                    if (ignore)
-                        reader.skipValue();
-                    else {
-                        reader.beginArray();
-                        if (currentField == null)
-                            parseJSON(reader, mainObject, refClass, true, level + 1);
-                        else {
-                            parseJSON(reader, mainObject, currentField.getPropertyClazz(), true, level + 1);
-                        }
-                        reader.endArray();
-                    }
-                    break;
-
-                case NAME:
-                    key = reader.nextName();
-                    currentField = mapping(refClass, key);
-                    if (!this.object2Return.isStarted() && currentField != null) {
-                        mainObject.start(level);
-                    }
-                    ignore = (mainObject.isStarted() && currentField == null);
-                    break;
-
-                case BOOLEAN:
-                    if (ignore)
-                        reader.skipValue();
-                    else {
-                        value = Boolean.toString(reader.nextBoolean());
-                        if (this.object2Return.isStarted() && currentField != null)
-                            mainObject.setValue(currentField.getProperty(), value);
-                    }
-                    break;
-
-                case NUMBER:
-                    if (ignore)
-                        reader.skipValue();
-                    else {
-                        value = String.valueOf(reader.nextDouble());
-                        if (this.object2Return.isStarted() && currentField != null)
-                            mainObject.setValue(currentField.getProperty(), value);
-                    }
-                    break;
-
-                case STRING:
-                    if (ignore)
-                        reader.skipValue();
-                    else {
-                        value = reader.nextString();
-                        if (this.object2Return.isStarted() && currentField != null)
-                            mainObject.setValue(currentField.getProperty(), value);
-                    }
-                    break;
-
-                case NULL:
-                    reader.skipValue();
-                    break;
-
-                case END_DOCUMENT:
-                    reader.skipValue();
-                    stop = true;
-                    break;
-            }
-        }
-
-        if (!isArray && level >= this.object2Return.getLevel() && mainObject.isInitialClass())
-            this.object2Return.transfer(mainObject, true);
-    }
-
 }
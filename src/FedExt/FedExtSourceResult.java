@@ -0,0 +1,112 @@
+package FedExt;
+
+/**
+ * This class FedExtSourceResult holds the outcome of one source of a federated query (see FedExtFederation) :
+ * whether its elements have been included in the merged result, and why not
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtSourceResult {
+
+    /**
+     * Outcome of a source
+     *      - INCLUDED  : all the elements of the source are in the merged result
+     *      - FAILED    : the call failed, its elements are left out
+     *      - TIMED_OUT : the source did not answer within its timeout, its call has been aborted
+     *      - PARTIAL   : in a stream, the source has failed or timed out after giving some elements (see getElements) :
+     *                    these elements are in the stream, the rest of the source is left out
+     */
+    public enum Status {
+        INCLUDED, FAILED, TIMED_OUT, PARTIAL
+    }
+
+    private final String name;
+    private final Status status;
+    private final String errorInfo;
+    private final int elements;
+    private final FedExtCallMetrics metrics;
+
+    /**
+     * Constructor
+     *
+     * @param name      name of the source
+     * @param status    outcome of the source
+     * @param errorInfo error information, empty if the source is included
+     * @param elements  number of elements given by the source
+     * @param metrics   measures of the call of the source
+     */
+    FedExtSourceResult(String name, Status status, String errorInfo, int elements, FedExtCallMetrics metrics) {
+        this.name = name;
+        this.status = status;
+        this.errorInfo = errorInfo;
+        this.elements = elements;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the name of the source
+     *
+     * @return the name given in the federation
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the outcome of the source
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Check if the elements of the source are in the merged result
+     *
+     * @return true if the source is included
+     */
+    public boolean isIncluded() {
+        return this.status == Status.INCLUDED;
+    }
+
+    /**
+     * Get the error information
+     *
+     * @return the error, or an empty string if the source is included
+     */
+    public String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Get the number of elements given by the source, also by a PARTIAL source before it was stopped
+     *
+     * @return the number of elements
+     */
+    public int getElements() {
+        return this.elements;
+    }
+
+    /**
+     * Get the measures of the call of the source, complete only if the source has ended
+     *
+     * @return the metrics
+     */
+    public FedExtCallMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Describe the outcome of the source
+     *
+     * @return the name, the status and the error
+     */
+    @Override
+    public String toString() {
+        return this.name + " : " + this.status + ", " + this.elements + " elements" + (this.errorInfo.isEmpty() ? "" : ", " + this.errorInfo);
+    }
+}
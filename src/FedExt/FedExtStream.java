@@ -0,0 +1,295 @@
+package FedExt;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This class FedExtStream gives the elements of a JSON array one by one, as soon as they are filled,
+ * instead of collecting the whole array in memory like FedExtClient.fillArray
+ * The response is parsed in the background, on the executor of the client, never more than a few elements ahead of the reader
+ * The elements of all the pages of a paginated source can be given by the same stream (see FedExtPager)
+ * The stream must be closed if it is not read until the end, in order to release the connection
+ * A partial call ends the stream at its deadline or element count, without error (see isTruncated)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtStream<T> implements Iterator<T>, Closeable {
+    private static final int QUEUE_SIZE = 64;
+    private static final Object END = new Object();
+    private static final StreamClosedException CLOSED = new StreamClosedException();
+
+    private final BlockingQueue<Object> queue;
+    private final Producer producer;
+    private final FutureTask<Void> task;
+    private volatile boolean closed;
+    private volatile String errorInfo;
+    private volatile boolean truncated;
+    private volatile List<FedExtSourceResult> sources;
+    private Object next;
+    private boolean finished;
+
+    /**
+     * Source of the elements, run in the background
+     */
+    interface Producer {
+        /**
+         * Call the Web Service and pass each filled element to the sink
+         *
+         * @param sink receiver of the elements
+         */
+        void run(ObjectMapping.ElementSink sink) throws Exception;
+
+        /**
+         * Get the error information, once run has returned
+         *
+         * @return the error or an empty string
+         */
+        String getErrorInfo();
+
+        /**
+         * Close the connections, the running parse stops with an error
+         */
+        void abort();
+
+        /**
+         * Check if the reading has been stopped before the end of the response, once run has returned
+         *
+         * @return true if elements have not been read
+         */
+        default boolean isTruncated() {
+            return false;
+        }
+
+        /**
+         * Get the outcome of each source of a federated query, once run has returned
+         *
+         * @return the outcomes, empty for a single source
+         */
+        default List<FedExtSourceResult> getSources() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Constructor : the parsing starts immediately
+     *
+     * @param call     call dedicated to this stream, which calls the Web Service and fills the elements
+     * @param clazz    class of the elements
+     * @param executor executor running the parse
+     */
+    FedExtStream(final FedExtCall call, final Class<T> clazz, Executor executor) {
+        this(new Producer() {
+            @Override
+            public void run(ObjectMapping.ElementSink sink) throws Exception {
+                call.fill(clazz, "Array", sink);
+            }
+
+            @Override
+            public String getErrorInfo() {
+                return call.getErrorInfo();
+            }
+
+            @Override
+            public void abort() {
+                call.abort();
+            }
+
+            @Override
+            public boolean isTruncated() {
+                return call.isTruncated();
+            }
+        }, executor);
+    }
+
+    /**
+     * Constructor : the parsing starts immediately
+     *
+     * @param producer source dedicated to this stream
+     * @param executor executor running the producer, like the other background tasks of the client
+     */
+    FedExtStream(Producer producer, Executor executor) {
+        this.queue = new ArrayBlockingQueue<Object>(QUEUE_SIZE);
+        this.producer = producer;
+        this.errorInfo = "";
+        this.sources = Collections.emptyList();
+
+        // The task is kept to be cancelled by close() : it interrupts the parse if it is running, or never starts it
+        this.task = new FutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+                produce();
+            }
+        }, null);
+
+        try {
+            executor.execute(this.task);
+        } catch (RejectedExecutionException e) {
+            this.errorInfo = e.toString();
+            this.queue.add(END);
+        }
+    }
+
+    /**
+     * Call the Web Service and pass the filled elements to the reader (in the background)
+     */
+    private void produce() {
+        try {
+            producer.run(new ObjectMapping.ElementSink() {
+                @Override
+                public void add(Object element) {
+                    offer(element);
+                }
+            });
+
+            if (!producer.getErrorInfo().isEmpty())
+                this.errorInfo = producer.getErrorInfo();
+            this.truncated = producer.isTruncated();
+            this.sources = Collections.unmodifiableList(producer.getSources());
+        } catch (StreamClosedException e) {
+            // Stopped by the reader
+        } catch (Exception e) {
+            // An error caused by the closing of the connection is not an error
+            if (!this.closed)
+                this.errorInfo = e.toString();
+        } finally {
+            if (!this.closed) {
+                try {
+                    this.queue.put(END);
+                } catch (InterruptedException e) {
+                    // Closed meanwhile
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass a filled element to the reader, waiting if the reader is too far behind
+     *
+     * @param element filled element
+     */
+    private void offer(Object element) {
+        if (this.closed)
+            throw CLOSED;
+
+        try {
+            this.queue.put(element);
+        } catch (InterruptedException e) {
+            throw CLOSED;
+        }
+    }
+
+    /**
+     * Check if another element is available, waiting for it if needed
+     *
+     * @return true if an element can be read with next()
+     */
+    @Override
+    public boolean hasNext() {
+        while (this.next == null && !this.finished) {
+            if (this.closed) {
+                this.finished = true;
+            } else {
+                try {
+                    Object element = this.queue.take();
+
+                    if (element == END)
+                        this.finished = true;
+                    else
+                        this.next = element;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                }
+            }
+        }
+
+        return this.next != null;
+    }
+
+    /**
+     * Return the next filled element
+     *
+     * @return the element
+     */
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        T element = (T) this.next;
+        this.next = null;
+
+        return element;
+    }
+
+    /**
+     * Elements can not be removed from the Web Service response
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * Stop the parsing and release the connection, the remaining elements are not read
+     */
+    @Override
+    public void close() {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+        this.producer.abort();
+        this.task.cancel(true);
+        this.queue.clear();
+    }
+
+    /**
+     * Return the error information, once hasNext() has returned false
+     *
+     * @return the error or an empty string
+     */
+    public String getErrorInfo() {
+        return this.errorInfo;
+    }
+
+    /**
+     * Check if the stream has ended before the end of the response, at the deadline or at the element count of a partial call
+     *
+     * @return true if elements of the response have not been read, once hasNext() has returned false
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Get the outcome of each source of a federated stream (see FedExtClient.streamFederated) : a source stopped
+     * after giving some elements is PARTIAL, with the number of elements it has given
+     *
+     * @return the outcomes, once hasNext() has returned false ; empty for a stream of a single source
+     */
+    public List<FedExtSourceResult> getSources() {
+        return this.sources;
+    }
+
+    /**
+     * Signal used to leave the parsing when the stream is closed
+     */
+    private static class StreamClosedException extends RuntimeException {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package FedExt;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * This interface FedExtTransport is used by FedExtClient to open the responses of the Web Services
+ * The default transport is HttpTransport ; another transport can be given to the client,
+ * for instance an in-process stand-in serving fixed responses, or one based on another HTTP library
+ * A transport is shared by all the calls of a client, so it must be thread-safe
+ * A call with a deadline gives the time left to the transport, which can bound its own waits with it
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public interface FedExtTransport {
+
+    /**
+     * Call the Web Service and open its response
+     * The body of the returned response must be closed by the caller
+     *
+     * @param url     Address of WS, completed with the parameters
+     * @param headers headers to send with the request
+     * @return the opened response
+     * @throws IOException if the Web Service can not be reached or answers with an error
+     */
+    FedExtResponse open(URL url, Map<String, String> headers) throws IOException;
+
+    /**
+     * Call the Web Service and open its response within the time left to the call
+     * By default the time is ignored : the call is aborted at its deadline, but only once this method has returned
+     *
+     * @param url           Address of WS, completed with the parameters
+     * @param headers       headers to send with the request
+     * @param timeoutMillis time left to the call, in milliseconds (0 for no limit)
+     * @return the opened response
+     * @throws IOException if the Web Service can not be reached or answers with an error
+     */
+    default FedExtResponse open(URL url, Map<String, String> headers, long timeoutMillis) throws IOException {
+        return open(url, headers);
+    }
+}
@@ -0,0 +1,171 @@
+package FedExt;
+
+import java.util.Map;
+
+/**
+ * This class FieldTable is used internally by ObjectParser to find the mappable field of a JSON key
+ * There is one table per parsed class : an open addressing hash table over the lower case field names,
+ * probed directly with the key read in the JSON, case insensitively and without building any string
+ * Each field of a class type also knows the table of its class, so the parse goes down without lookup
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class FieldTable {
+    static final FieldTable EMPTY = new FieldTable(null);
+
+    private final String[] keys;
+    private final ObjectProperty[] properties;
+    private final FieldTable[] children;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Constructor
+     *
+     * @param fields mappable fields of the class, by lower case name (null for an empty table)
+     */
+    FieldTable(Map<String, ObjectProperty> fields) {
+        int count = (fields == null) ? 0 : fields.size();
+        int capacity = 2;
+
+        // The table is at most half full, so that a probe stops quickly on an empty slot
+        while (capacity < count * 2)
+            capacity <<= 1;
+
+        this.keys = new String[capacity];
+        this.properties = new ObjectProperty[capacity];
+        this.children = new FieldTable[capacity];
+        this.mask = capacity - 1;
+        this.size = count;
+
+        if (fields != null) {
+            for (Map.Entry<String, ObjectProperty> field : fields.entrySet()) {
+                int slot = hash(field.getKey()) & this.mask;
+
+                while (this.keys[slot] != null)
+                    slot = (slot + 1) & this.mask;
+
+                this.keys[slot] = field.getKey();
+                this.properties[slot] = field.getValue();
+                this.children[slot] = EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Case insensitive hash of a key
+     *
+     * @param key JSON key or field name
+     * @return the hash
+     */
+    private static int hash(String key) {
+        int h = 0;
+
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+
+            if (c >= 'A' && c <= 'Z')
+                c += 'a' - 'A';
+            else if (c >= 128)
+                c = Character.toLowerCase(c);
+
+            h = 31 * h + c;
+        }
+
+        // Spread the high bits, the table uses only the low bits
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Search the slot of a JSON key
+     *
+     * @param key JSON key, in any case
+     * @return the slot of the field, -1 if the key is not mappable
+     */
+    int find(String key) {
+        int slot = hash(key) & this.mask;
+        String candidate;
+
+        while ((candidate = this.keys[slot]) != null) {
+            if (candidate.length() == key.length() && candidate.regionMatches(true, 0, key, 0, key.length()))
+                return slot;
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Return the mappable field of a JSON key
+     *
+     * @param key JSON key, in any case
+     * @return the field properties, null if the key is not mappable
+     */
+    ObjectProperty get(String key) {
+        int slot = find(key);
+
+        return (slot < 0) ? null : this.properties[slot];
+    }
+
+    /**
+     * Return the lower case field name of a slot
+     *
+     * @param slot slot given by find()
+     * @return the field name, null for an empty slot
+     */
+    String key(int slot) {
+        return this.keys[slot];
+    }
+
+    /**
+     * Return the field properties of a slot
+     *
+     * @param slot slot given by find()
+     * @return the field properties
+     */
+    ObjectProperty property(int slot) {
+        return this.properties[slot];
+    }
+
+    /**
+     * Return the table of the class of the field in a slot
+     *
+     * @param slot slot given by find()
+     * @return the table of the field class, EMPTY if the field is not a class
+     */
+    FieldTable child(int slot) {
+        return this.children[slot];
+    }
+
+    /**
+     * Link the field of a slot to the table of its class, while the plan is built
+     *
+     * @param slot  slot of the field
+     * @param table table of the field class
+     */
+    void setChild(int slot, FieldTable table) {
+        this.children[slot] = (table == null) ? EMPTY : table;
+    }
+
+    /**
+     * Return the number of slots, used to go through the table
+     *
+     * @return the capacity of the table
+     */
+    int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Return the number of mappable fields
+     *
+     * @return the number of fields
+     */
+    int size() {
+        return this.size;
+    }
+}
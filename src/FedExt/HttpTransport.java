@@ -0,0 +1,270 @@
+package FedExt;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class HttpTransport is the default FedExtTransport, based on the HttpURLConnection of the JDK
+ * The connections are kept alive and reused by the JDK between the calls to the same host
+ * (up to the "http.maxConnections" system property, 5 by default), as long as the bodies are read entirely
+ * Each call has a connect timeout, a read timeout and a limit on the size of the response
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class HttpTransport implements FedExtTransport {
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+    public static final long UNLIMITED = -1;
+
+    private static final int DRAIN_LIMIT = 65536;
+
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long maxResponseSize;
+
+    /**
+     * Constructor with the default timeouts and no size limit
+     */
+    public HttpTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, UNLIMITED);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param connectTimeout  maximal time to establish the connection, in milliseconds (0 for no timeout)
+     * @param readTimeout     maximal time to wait for the next data of the response, in milliseconds (0 for no timeout)
+     * @param maxResponseSize maximal size of the body in bytes, UNLIMITED for no limit
+     */
+    public HttpTransport(int connectTimeout, int readTimeout, long maxResponseSize) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    /**
+     * Call the Web Service and open its response
+     *
+     * @param url     Address of WS, completed with the parameters
+     * @param headers headers to send with the request
+     * @return the opened response
+     */
+    @Override
+    public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+        return open(url, headers, 0);
+    }
+
+    /**
+     * Call the Web Service and open its response, the timeouts being cut to the time left to the call
+     *
+     * @param url           Address of WS, completed with the parameters
+     * @param headers       headers to send with the request
+     * @param timeoutMillis time left to the call, in milliseconds (0 for no limit)
+     * @return the opened response
+     */
+    @Override
+    public FedExtResponse open(URL url, Map<String, String> headers, long timeoutMillis) throws IOException {
+        final URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(bound(this.connectTimeout, timeoutMillis));
+        connection.setReadTimeout(bound(this.readTimeout, timeoutMillis));
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+
+        for (Map.Entry<String, String> header : headers.entrySet())
+            connection.setRequestProperty(header.getKey(), header.getValue());
+
+        int status = 200;
+
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            status = http.getResponseCode();
+
+            if (status >= 400) {
+                // The error body is read so that the connection can be reused
+                drain(http.getErrorStream());
+                throw new IOException("Server returned HTTP response code: " + status + " for URL: " + url);
+            }
+        }
+
+        // Check the announced size before reading anything
+        long length = connection.getContentLengthLong();
+        if (this.maxResponseSize != UNLIMITED && length > this.maxResponseSize) {
+            abort(connection);
+            throw new IOException("Response of " + length + " bytes exceeds the limit of " + this.maxResponseSize + " bytes");
+        }
+
+        InputStream body = connection.getInputStream();
+        if ("gzip".equalsIgnoreCase(connection.getContentEncoding()))
+            body = new GZIPInputStream(body);
+        if (this.maxResponseSize != UNLIMITED)
+            body = new LimitedInputStream(body, this.maxResponseSize);
+
+        return new FedExtResponse(status, headersOf(connection), body) {
+            @Override
+            public void abort() {
+                HttpTransport.abort(connection);
+            }
+        };
+    }
+
+    /**
+     * Cut a timeout to the time left to the call
+     *
+     * @param timeout       timeout of the transport, in milliseconds (0 for no timeout)
+     * @param timeoutMillis time left to the call, in milliseconds (0 for no limit)
+     * @return the shorter of both, 0 if none is defined
+     */
+    private static int bound(int timeout, long timeoutMillis) {
+        if (timeoutMillis <= 0)
+            return timeout;
+
+        int left = (int) Math.min(timeoutMillis, Integer.MAX_VALUE);
+        return (timeout == 0) ? left : Math.min(timeout, left);
+    }
+
+    /**
+     * Close the connection immediately, even if a thread is reading it
+     *
+     * @param connection connection to close
+     */
+    private static void abort(URLConnection connection) {
+        if (connection instanceof HttpURLConnection)
+            ((HttpURLConnection) connection).disconnect();
+    }
+
+    /**
+     * Read and close a short error body
+     *
+     * @param stream error body, may be null
+     */
+    private static void drain(InputStream stream) {
+        if (stream == null)
+            return;
+
+        try {
+            byte[] buffer = new byte[4096];
+            int total = 0;
+            int read;
+
+            while (total < DRAIN_LIMIT && (read = stream.read(buffer)) != -1)
+                total += read;
+
+            stream.close();
+        } catch (IOException e) {
+            // The connection will not be reused
+        }
+    }
+
+    /**
+     * Collect the headers of the response, the repeated headers are joined with a comma
+     *
+     * @param connection opened connection
+     * @return the headers
+     */
+    private static Map<String, String> headersOf(URLConnection connection) {
+        Map<String, String> headers = new HashMap<String, String>();
+
+        for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+            // The status line has no name
+            if (header.getKey() == null)
+                continue;
+
+            StringBuilder value = new StringBuilder();
+            for (String part : header.getValue()) {
+                if (value.length() > 0)
+                    value.append(", ");
+                value.append(part);
+            }
+
+            headers.put(header.getKey(), value.toString());
+        }
+
+        return headers;
+    }
+
+    /**
+     * Return the connect timeout
+     *
+     * @return the timeout in milliseconds
+     */
+    public int getConnectTimeout() {
+        return this.connectTimeout;
+    }
+
+    /**
+     * Return the read timeout
+     *
+     * @return the timeout in milliseconds
+     */
+    public int getReadTimeout() {
+        return this.readTimeout;
+    }
+
+    /**
+     * Return the maximal size of a response
+     *
+     * @return the size in bytes, UNLIMITED if there is no limit
+     */
+    public long getMaxResponseSize() {
+        return this.maxResponseSize;
+    }
+
+    /**
+     * Stream failing as soon as more bytes than the limit have been read
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+
+            if (b != -1)
+                count(1);
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+
+            if (read > 0)
+                count(read);
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+
+            return skipped;
+        }
+
+        private void count(long read) throws IOException {
+            this.count += read;
+
+            if (this.count > this.limit)
+                throw new IOException("Response exceeds the limit of " + this.limit + " bytes");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package FedExt;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This class MeteredInputStream is used internally by FedExtCall to count the bytes of a response
+ * and the time spent waiting for them
+ * The time is measured per read of a buffer, not per byte, so the cost stays negligible
+ * A failed read is remembered, so that a network failure can be told apart from an invalid JSON (see FedExtLimiter)
+ * An aborted stream refuses the next reads, even when the body is in memory (cache, downloaded page),
+ * so the running parse stops at the end of its current buffer
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+class MeteredInputStream extends FilterInputStream {
+    private long bytes;
+    private long nanos;
+    private boolean failed;
+    private volatile boolean aborted;
+
+    /**
+     * Constructor
+     *
+     * @param in body of the response
+     */
+    MeteredInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkAborted();
+        long start = System.nanoTime();
+        int b;
+
+        try {
+            b = super.read();
+        } catch (IOException e) {
+            this.failed = true;
+            throw e;
+        } finally {
+            this.nanos += System.nanoTime() - start;
+        }
+
+        if (b != -1)
+            this.bytes++;
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        checkAborted();
+        long start = System.nanoTime();
+        int read;
+
+        try {
+            read = super.read(buffer, offset, length);
+        } catch (IOException e) {
+            this.failed = true;
+            throw e;
+        } finally {
+            this.nanos += System.nanoTime() - start;
+        }
+
+        if (read > 0)
+            this.bytes += read;
+
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkAborted();
+        long start = System.nanoTime();
+        long skipped;
+
+        try {
+            skipped = super.skip(n);
+        } catch (IOException e) {
+            this.failed = true;
+            throw e;
+        } finally {
+            this.nanos += System.nanoTime() - start;
+        }
+        this.bytes += skipped;
+
+        return skipped;
+    }
+
+    /**
+     * Refuse the next reads, from any thread
+     */
+    void abort() {
+        this.aborted = true;
+    }
+
+    /**
+     * Stop the reading of an aborted stream
+     */
+    private void checkAborted() throws IOException {
+        if (this.aborted)
+            throw new IOException("aborted");
+    }
+
+    /**
+     * Return the number of bytes read
+     *
+     * @return the bytes
+     */
+    long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Return the time spent in the reads
+     *
+     * @return the time in nanoseconds
+     */
+    long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Check if reading the response has failed
+     *
+     * @return true if a read has thrown an exception
+     */
+    boolean isFailed() {
+        return this.failed;
+    }
+}
@@ -0,0 +1,418 @@
+package FedExt;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * This class ObjectAccessor is used internally by ObjectProperty to assign the values of a field
+ * The setter (or the public field) is resolved once, when the class is parsed, without boxing of the primitives :
+ *      - a public setter of a public class is called by a small class generated for it (see LambdaMetafactory),
+ *        as a lambda calling the setter : the JIT inlines the setter like a direct call
+ *      - a public field, a setter which the generated class could not call, or a class of a child class loader
+ *        (not seen by the loader of FedExt, in which the class is generated) goes through a method handle,
+ *        which the JIT can not inline since the handle is not a constant
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class ObjectAccessor {
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType objectSetterType = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Object typedSetter;
+    private final ObjectSetter objectSetter;
+
+    /**
+     * Assignment of a value of each type, the target being the object owning the field
+     */
+    interface IntSetter { void set(Object target, int value) throws Throwable; }
+    interface LongSetter { void set(Object target, long value) throws Throwable; }
+    interface DoubleSetter { void set(Object target, double value) throws Throwable; }
+    interface FloatSetter { void set(Object target, float value) throws Throwable; }
+    interface ShortSetter { void set(Object target, short value) throws Throwable; }
+    interface ByteSetter { void set(Object target, byte value) throws Throwable; }
+    interface CharSetter { void set(Object target, char value) throws Throwable; }
+    interface BooleanSetter { void set(Object target, boolean value) throws Throwable; }
+    interface ObjectSetter { void set(Object target, Object value) throws Throwable; }
+
+    /**
+     * Constructor
+     *
+     * @param typedSetter  assignment of the values of the field type, unboxed for the primitives
+     * @param objectSetter assignment of any value of the field type
+     */
+    private ObjectAccessor(Object typedSetter, ObjectSetter objectSetter) {
+        this.typedSetter = typedSetter;
+        this.objectSetter = objectSetter;
+    }
+
+    /**
+     * Resolve the accessor of a field : through its setter if there is one, directly if the field is public
+     *
+     * @param owner     class owning the field
+     * @param field     field to assign
+     * @param setter    name of the setter, empty if the field is public
+     * @param valueType type of value read for the field
+     * @return the accessor, null if the field can not be assigned
+     */
+    static ObjectAccessor resolve(Class owner, Field field, String setter, ObjectProperty.ValueType valueType) {
+        try {
+            MethodHandle handle;
+            Method method = null;
+
+            if (setter.isEmpty()) {
+                // A final field can not be assigned
+                if (Modifier.isFinal(field.getModifiers()))
+                    return null;
+
+                field.setAccessible(true);
+                handle = lookup.unreflectSetter(field);
+            } else {
+                method = findSetter(owner, setter, field.getType());
+                if (method == null)
+                    return null;
+
+                method.setAccessible(true);
+                handle = lookup.unreflect(method);
+            }
+
+            // A public setter of a public class can be called from a generated class, if the class loader of FedExt sees the class
+            if (method != null && Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                    && isVisible(owner) && isVisible(field.getType())) {
+                try {
+                    Class valueClass = primitiveOf(valueType);
+                    Object typedSetter = (valueClass == Object.class) ? null : generate(typedSetterOf(valueClass), handle, valueClass);
+                    ObjectSetter objectSetter = (ObjectSetter) generate(ObjectSetter.class, handle, Object.class);
+
+                    return new ObjectAccessor((typedSetter == null) ? objectSetter : typedSetter, objectSetter);
+                } catch (Throwable e) {
+                    // The setter is called through its method handle
+                }
+            }
+
+            return fromHandle(handle, valueType);
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (RuntimeException e) {
+            // Access refused by a security manager or a module
+            return null;
+        }
+    }
+
+    /**
+     * Tell if a class is the one found by the class loader of FedExt, in which the setter classes are generated
+     * A class of a child loader (a webapp or a container) is not : the generated class could not link to it
+     *
+     * @param clazz class used by the setter
+     * @return true if the generated class can use the class
+     */
+    private static boolean isVisible(Class clazz) {
+        if (clazz.isPrimitive())
+            return true;
+
+        try {
+            return Class.forName(clazz.getName(), false, ObjectAccessor.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Generate a class implementing an assignment interface by a call of the setter
+     *
+     * @param setterType interface of the assignment
+     * @param setter     handle of the setter, of type (owner, field type)
+     * @param valueClass class in which the values are passed, Object for any value
+     * @return the instance of the generated class
+     */
+    private static Object generate(Class setterType, MethodHandle setter, Class valueClass) throws Throwable {
+        Class owner = setter.type().parameterType(0);
+        Class fieldType = setter.type().parameterType(1);
+
+        // The values are cast to the field type, a primitive being passed boxed to setObject
+        Class instantiated = (valueClass == Object.class) ? MethodType.methodType(fieldType).wrap().returnType() : valueClass;
+
+        return LambdaMetafactory.metafactory(lookup, "set", MethodType.methodType(setterType),
+                MethodType.methodType(void.class, Object.class, valueClass), setter,
+                MethodType.methodType(void.class, owner, instantiated)).getTarget().invoke();
+    }
+
+    /**
+     * Create the accessor of a field assigned through a method handle
+     *
+     * @param handle    handle assigning the value, of type (owner, field type)void
+     * @param valueType type of value read for the field
+     * @return the accessor
+     */
+    private static ObjectAccessor fromHandle(MethodHandle handle, ObjectProperty.ValueType valueType) {
+        // The primitive values are passed unboxed, the wrapper fields are boxed by the handle itself
+        final MethodHandle exact = handle.asType(MethodType.methodType(void.class, Object.class, primitiveOf(valueType)));
+        final MethodHandle any = handle.asType(objectSetterType);
+        ObjectSetter objectSetter = (target, value) -> {
+            any.invokeExact(target, value);
+        };
+        Object typedSetter;
+
+        switch (valueType) {
+            case INT:
+                typedSetter = (IntSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case LONG:
+                typedSetter = (LongSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case DOUBLE:
+                typedSetter = (DoubleSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case FLOAT:
+                typedSetter = (FloatSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case SHORT:
+                typedSetter = (ShortSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case BYTE:
+                typedSetter = (ByteSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case CHAR:
+                typedSetter = (CharSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            case BOOLEAN:
+                typedSetter = (BooleanSetter) (target, value) -> {
+                    exact.invokeExact(target, value);
+                };
+                break;
+
+            default:
+                typedSetter = objectSetter;
+                break;
+        }
+
+        return new ObjectAccessor(typedSetter, objectSetter);
+    }
+
+    /**
+     * Return the assignment interface of the values passed in a primitive class
+     *
+     * @param valueClass primitive class of the values
+     * @return the interface
+     */
+    private static Class typedSetterOf(Class valueClass) {
+        if (valueClass == int.class)
+            return IntSetter.class;
+        if (valueClass == long.class)
+            return LongSetter.class;
+        if (valueClass == double.class)
+            return DoubleSetter.class;
+        if (valueClass == float.class)
+            return FloatSetter.class;
+        if (valueClass == short.class)
+            return ShortSetter.class;
+        if (valueClass == byte.class)
+            return ByteSetter.class;
+        if (valueClass == char.class)
+            return CharSetter.class;
+
+        return BooleanSetter.class;
+    }
+
+    /**
+     * Search the setter taking the type of the field : declared by the owner or inherited
+     *
+     * @param owner  class owning the field
+     * @param setter name of the setter
+     * @param type   class of the field
+     * @return the setter, null if nothing has been found
+     */
+    private static Method findSetter(Class owner, String setter, Class type) {
+        try {
+            return owner.getDeclaredMethod(setter, type);
+        } catch (NoSuchMethodException e) {
+            try {
+                return owner.getMethod(setter, type);
+            } catch (NoSuchMethodException e2) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Return the class in which the values of the given type are passed to the accessor
+     *
+     * @param valueType type of value read for the field
+     * @return the primitive class, or Object for the other values
+     */
+    private static Class primitiveOf(ObjectProperty.ValueType valueType) {
+        switch (valueType) {
+            case INT:
+                return int.class;
+
+            case LONG:
+                return long.class;
+
+            case DOUBLE:
+                return double.class;
+
+            case FLOAT:
+                return float.class;
+
+            case SHORT:
+                return short.class;
+
+            case BYTE:
+                return byte.class;
+
+            case CHAR:
+                return char.class;
+
+            case BOOLEAN:
+                return boolean.class;
+
+            default:
+                return Object.class;
+        }
+    }
+
+    /**
+     * Assign an int value, the field type must be INT
+     */
+    public void setInt(Object target, int value) {
+        try {
+            ((IntSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a long value, the field type must be LONG
+     */
+    public void setLong(Object target, long value) {
+        try {
+            ((LongSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a double value, the field type must be DOUBLE
+     */
+    public void setDouble(Object target, double value) {
+        try {
+            ((DoubleSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a float value, the field type must be FLOAT
+     */
+    public void setFloat(Object target, float value) {
+        try {
+            ((FloatSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a short value, the field type must be SHORT
+     */
+    public void setShort(Object target, short value) {
+        try {
+            ((ShortSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a byte value, the field type must be BYTE
+     */
+    public void setByte(Object target, byte value) {
+        try {
+            ((ByteSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a char value, the field type must be CHAR
+     */
+    public void setChar(Object target, char value) {
+        try {
+            ((CharSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign a boolean value, the field type must be BOOLEAN
+     */
+    public void setBoolean(Object target, boolean value) {
+        try {
+            ((BooleanSetter) this.typedSetter).set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, an error of the setter does not stop the filling
+        }
+    }
+
+    /**
+     * Assign any value of the field type (String, big number, sub object...)
+     */
+    public void setObject(Object target, Object value) {
+        try {
+            this.objectSetter.set(target, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // As with reflection, a value of another type or an error of the setter does not stop the filling
+        }
+    }
+}
@@ -1,19 +1,16 @@
 package FedExt;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.nio.charset.Charset;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 
 /**
  * This class ObjectMapping will be used during the json parsing to save the read data
  * Creation, 22.11.2014
- * Last modification, 02.12.2014
+ * Last modification, 18.10.2026
  *
  * @author Laurent
- * @version 1.2
+ * @version 1.3
  */
 public class ObjectMapping {
     private Object oObject2Return;
@@ -21,6 +18,15 @@ public class ObjectMapping {
     private ObjectProperty property;
     private boolean initialClass;
     private int level;
+    private ElementSink sink;
+
+    /**
+     * Receiver of the collection elements, used instead of the internal list when the elements
+     * must be handed over one by one as soon as they are filled (see FedExtStream)
+     */
+    interface ElementSink {
+        void add(Object element);
+    }
 
     /**
      * Constructor
@@ -86,208 +92,201 @@ public class ObjectMapping {
     }
 
     /**
-     * Assign the string Value to the mapped field
+     * Assign the Value to the mapped field
+     * A String value is converted according to the type of the field (for instance a quoted number),
+     * any other value must already have the type of the field
      *
      * @param propertyMap properties of the mapped value
      * @param value       value to set
      */
     public void setValue(ObjectProperty propertyMap, Object value) {
-        if (propertyMap != null) {
-            String valueStr = "";
-
-            if (value.getClass().getSimpleName().equals("String"))
-                valueStr = value.toString();
-
-            if (!propertyMap.getSetter().isEmpty()) {
-                // Assign value using a public setter
-                try {
-                    // Declare Class
-                    Class[] cArg = new Class[1];
-
-                    // Assign Class Type according to the MobiS Object
-                    switch (propertyMap.getClassShortName()) {
-                        case "String":
-                            cArg[0] = String.class;
-                            break;
-
-                        case "Char":
-                            cArg[0] = char.class;
-                            break;
-
-                        case "byte":
-                            cArg[0] = byte.class;
-                            break;
-
-                        case "Byte":
-                            cArg[0] = Byte.class;
-                            break;
-
-                        case "int":
-                            cArg[0] = int.class;
-                            break;
-
-                        case "Integer":
-                            cArg[0] = Integer.class;
-                            break;
-
-                        case "long":
-                            cArg[0] = long.class;
-                            break;
-
-                        case "Long":
-                            cArg[0] = Long.class;
-                            break;
-
-                        case "short":
-                            cArg[0] = short.class;
-                            break;
-
-                        case "Short":
-                            cArg[0] = Short.class;
-                            break;
-
-                        case "double":
-                            cArg[0] = double.class;
-                            break;
-
-                        case "Double":
-                            cArg[0] = Double.class;
-                            break;
-
-                        case "float":
-                            cArg[0] = float.class;
-                            break;
-
-                        case "Float":
-                            cArg[0] = Float.class;
-                            break;
-
-                        case "boolean":
-                            cArg[0] = boolean.class;
-                            break;
-
-                        case "Boolean":
-                            cArg[0] = Boolean.class;
-                            break;
-
-                        default:
-                            cArg[0] = propertyMap.getClazz();
-                            break;
-                    }
-
-                    // Declare the setter according to his name
-                    try {
-                        Method m = this.property.getClazz().getDeclaredMethod(propertyMap.getSetter(), cArg);
-
-                        // Assign Value using the setter
-                        switch (propertyMap.getClassShortName().toLowerCase()) {
-                            case "string":
-                                m.invoke(this.oObject2Return, valueStr);
-                                break;
-
-                            case "char":
-                                if (valueStr.length() > 0)
-                                    m.invoke(this.oObject2Return, valueStr.charAt(0));
-                                break;
-
-                            case "byte":
-                                m.invoke(this.oObject2Return, valueStr.getBytes(Charset.forName("UTF-8")));
-                                break;
-
-                            case "int":
-                            case "integer":
-                                m.invoke(this.oObject2Return, (int) Double.parseDouble(valueStr));
-                                break;
-
-                            case "long":
-                                m.invoke(this.oObject2Return, (long) Double.parseDouble(valueStr));
-                                break;
+        if (propertyMap != null && value != null) {
+            if (value instanceof String) {
+                setString(propertyMap, (String) value);
+            } else {
+                assign(propertyMap, value);
+            }
+        }
+    }
 
-                            case "short":
-                                m.invoke(this.oObject2Return, (short) Double.parseDouble(valueStr));
-                                break;
+    /**
+     * Assign a String value to the mapped field, converted according to the type of the field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param valueStr    value to set
+     */
+    private void setString(ObjectProperty propertyMap, String valueStr) {
+        try {
+            switch (propertyMap.getValueType()) {
+                case STRING:
+                    assign(propertyMap, valueStr);
+                    break;
+
+                case CHAR:
+                    if (valueStr.length() > 0)
+                        setChar(propertyMap, valueStr.charAt(0));
+                    break;
+
+                case BYTE:
+                    setByte(propertyMap, (byte) Double.parseDouble(valueStr));
+                    break;
+
+                case SHORT:
+                    setShort(propertyMap, (short) Double.parseDouble(valueStr));
+                    break;
+
+                case INT:
+                    setInt(propertyMap, (int) Double.parseDouble(valueStr));
+                    break;
+
+                case LONG:
+                    setLong(propertyMap, new BigDecimal(valueStr).longValue());
+                    break;
+
+                case FLOAT:
+                    setFloat(propertyMap, Float.parseFloat(valueStr));
+                    break;
+
+                case DOUBLE:
+                    setDouble(propertyMap, Double.parseDouble(valueStr));
+                    break;
+
+                case BOOLEAN:
+                    if (valueStr.equalsIgnoreCase("true") || valueStr.equalsIgnoreCase("false"))
+                        setBoolean(propertyMap, Boolean.parseBoolean(valueStr));
+                    break;
+
+                case BIG_DECIMAL:
+                    assign(propertyMap, new BigDecimal(valueStr));
+                    break;
+
+                case BIG_INTEGER:
+                    assign(propertyMap, new BigDecimal(valueStr).toBigInteger());
+                    break;
+
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // The value does not match the type of the field : it is ignored
+        }
+    }
 
-                            case "double":
-                            case "Double":
-                                m.invoke(this.oObject2Return, Double.parseDouble(valueStr));
-                                break;
+    /**
+     * Assign an int value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setInt(ObjectProperty propertyMap, int value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
 
-                            case "float":
-                                m.invoke(this.oObject2Return, Float.parseFloat(valueStr));
-                                break;
+        if (accessor != null)
+            accessor.setInt(this.oObject2Return, value);
+    }
 
-                            case "boolean":
-                                if (valueStr.equalsIgnoreCase("true") || valueStr.equalsIgnoreCase("false"))
-                                    m.invoke(this.oObject2Return, Boolean.valueOf(valueStr));
-                                break;
+    /**
+     * Assign a long value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setLong(ObjectProperty propertyMap, long value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
 
-                            default:
-                                break;
-                        }
-                    } catch (NullPointerException e) {
+        if (accessor != null)
+            accessor.setLong(this.oObject2Return, value);
+    }
 
-                    }
-                } catch (NoSuchMethodException e) {
+    /**
+     * Assign a short value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setShort(ObjectProperty propertyMap, short value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
 
-                } catch (IllegalAccessException e) {
+        if (accessor != null)
+            accessor.setShort(this.oObject2Return, value);
+    }
 
-                } catch (InvocationTargetException e) {
+    /**
+     * Assign a byte value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setByte(ObjectProperty propertyMap, byte value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
 
-                }
-            } else {
-                try {
-                    Field field = propertyMap.getField();
-
-                    switch (propertyMap.getClassShortName().toLowerCase()) {
-                        case "string":
-                            field.set(this.oObject2Return, valueStr);
-                            break;
-
-                        case "char":
-                            if (valueStr.length() > 0)
-                                field.set(this.oObject2Return, valueStr.charAt(0));
-                            break;
-
-                        case "byte":
-                            field.set(this.oObject2Return, valueStr.getBytes(Charset.forName("UTF-8")));
-                            break;
-
-                        case "int":
-                        case "integer":
-                            field.set(this.oObject2Return, (int) Double.parseDouble(valueStr));
-                            break;
-
-                        case "long":
-                            field.set(this.oObject2Return, (long) Double.parseDouble(valueStr));
-                            break;
-
-                        case "short":
-                            field.set(this.oObject2Return, (short) Double.parseDouble(valueStr));
-                            break;
-
-                        case "double":
-                        case "Double":
-                            field.set(this.oObject2Return, Double.parseDouble(valueStr));
-                            break;
-
-                        case "float":
-                            field.set(this.oObject2Return, Float.parseFloat(valueStr));
-                            break;
-
-                        case "boolean":
-                            if (valueStr.equalsIgnoreCase("true") || valueStr.equalsIgnoreCase("false"))
-                                field.set(this.oObject2Return, Boolean.valueOf(valueStr));
-                            break;
-
-                        default:
-                            field.set(this.oObject2Return, value);
-                            break;
-                    }
-                } catch (IllegalAccessException e) {
+        if (accessor != null)
+            accessor.setByte(this.oObject2Return, value);
+    }
 
-                }
-            }
-        }
+    /**
+     * Assign a double value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setDouble(ObjectProperty propertyMap, double value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
+
+        if (accessor != null)
+            accessor.setDouble(this.oObject2Return, value);
+    }
+
+    /**
+     * Assign a float value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setFloat(ObjectProperty propertyMap, float value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
+
+        if (accessor != null)
+            accessor.setFloat(this.oObject2Return, value);
+    }
+
+    /**
+     * Assign a boolean value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setBoolean(ObjectProperty propertyMap, boolean value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
+
+        if (accessor != null)
+            accessor.setBoolean(this.oObject2Return, value);
+    }
+
+    /**
+     * Assign a char value to the mapped field
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set
+     */
+    public void setChar(ObjectProperty propertyMap, char value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
+
+        if (accessor != null)
+            accessor.setChar(this.oObject2Return, value);
+    }
+
+    /**
+     * Assign the value to the mapped field, through the accessor resolved when the class has been parsed
+     *
+     * @param propertyMap properties of the mapped value
+     * @param value       value to set, of the same type as the field
+     */
+    private void assign(ObjectProperty propertyMap, Object value) {
+        ObjectAccessor accessor = propertyMap.getAccessor();
+
+        if (accessor != null)
+            accessor.setObject(this.oObject2Return, value);
     }
 
     /**
@@ -304,10 +303,35 @@ public class ObjectMapping {
     }
 
     /**
-     * Add filled object in the array
+     * Assign a sub object filled apart to the mapped field of an object already filled (see FedExtEnricher)
+     *
+     * @param target      object receiving the sub object
+     * @param propertyMap properties of the field of the sub object
+     * @param subObject   filled sub object
+     */
+    static void setObjectValue(Object target, ObjectProperty propertyMap, Object subObject) {
+        ObjectMapping mainObject = new ObjectMapping();
+        mainObject.oObject2Return = target;
+        mainObject.setValue(propertyMap, subObject);
+    }
+
+    /**
+     * Add filled object in the array, or hand it over to the sink if one is defined
      */
     public void addInArray() {
-        this.oArrayList2Return.add(this.oObject2Return);
+        if (this.sink != null)
+            this.sink.add(this.oObject2Return);
+        else
+            this.oArrayList2Return.add(this.oObject2Return);
+    }
+
+    /**
+     * Define the receiver of the filled elements : they are then no more collected in the Array to return
+     *
+     * @param sink receiver of the elements
+     */
+    void setSink(ElementSink sink) {
+        this.sink = sink;
     }
 
     /**
@@ -425,11 +449,13 @@ public class ObjectMapping {
         if (!reset)
             this.oObject2Return = mainObject.oObject2Return;
 
-        if (!this.getCollectionType().isEmpty())
+        // A single object is kept as it is, only the elements of a collection are renewed
+        if (!this.getCollectionType().isEmpty()) {
             this.addInArray();
 
-        if (reset)
-            resetInstance(mainObject);
+            if (reset)
+                resetInstance(mainObject);
+        }
     }
 
     /**
@@ -2,26 +2,45 @@ package FedExt;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This class ObjectParser is used internally by FedExtService to parse the given MobiS class
  * in order to discover generically the mappable members
+ * Once built, an ObjectParser is immutable and can be shared between threads (see ObjectParserCache)
+ * Each parsed class has its own FieldTable, probed directly with the JSON keys during the parse
+ * The tables restricted to a projection (a set of field paths) are built on demand and kept with the plan
  * Creation, 28.10.2014
- * Last modification, 24.11.2014
+ * Last modification, 18.10.2026
  *
  * @author Laurent
- * @version 1.0
+ * @version 1.2
  */
 public class ObjectParser {
     private Map<String, ObjectProperty> fields;
+    private Set<Class> parsedClasses;
+    private Map<Class, Map<String, ObjectProperty>> classFields;
+    private Map<Class, FieldTable> tables;
+    private final ConcurrentMap<String, FieldTable> projections = new ConcurrentHashMap<String, FieldTable>();
 
     /**
      * Constructor with internal initialisation
      */
     public ObjectParser() {
         fields = new HashMap<String, ObjectProperty>();
+        parsedClasses = new HashSet<Class>();
+        classFields = new LinkedHashMap<Class, Map<String, ObjectProperty>>();
+        tables = new HashMap<Class, FieldTable>();
     }
 
     /**
@@ -32,6 +51,52 @@ public class ObjectParser {
     public ObjectParser(Class clazz) throws Exception {
         this();
         getClassMembers(clazz);
+        buildTables();
+
+        // The plan is frozen once the class graph has been parsed
+        fields = Collections.unmodifiableMap(fields);
+        tables = Collections.unmodifiableMap(tables);
+        parsedClasses = null;
+        classFields = null;
+    }
+
+    /**
+     * Build the field table of each parsed class, then link each field of a class type to the table of its class
+     */
+    private void buildTables() {
+        for (Class clazz : parsedClasses) {
+            Map<String, ObjectProperty> members = classFields.get(clazz);
+            tables.put(clazz, (members == null) ? FieldTable.EMPTY : new FieldTable(members));
+        }
+
+        for (FieldTable table : tables.values()) {
+            for (int slot = 0; slot < table.capacity(); slot++) {
+                ObjectProperty fieldProperty = table.property(slot);
+
+                if (fieldProperty != null)
+                    table.setChild(slot, tables.get(fieldProperty.getClazz()));
+            }
+        }
+    }
+
+    /**
+     * Memorize a mappable member
+     *
+     * @param clazz         class owning the member
+     * @param name          name of the field
+     * @param fieldProperty properties of the field
+     */
+    private void addMember(Class clazz, String name, ObjectProperty fieldProperty) {
+        String key = name.toLowerCase();
+        Map<String, ObjectProperty> members = classFields.get(clazz);
+
+        if (members == null) {
+            members = new LinkedHashMap<String, ObjectProperty>();
+            classFields.put(clazz, members);
+        }
+
+        members.put(key, fieldProperty);
+        fields.put(clazz.getSimpleName() + "." + key, fieldProperty);
     }
 
     /**
@@ -42,10 +107,14 @@ public class ObjectParser {
      * @param clazz Name of the Class to parse
      */
     private void getClassMembers(Class clazz) throws Exception {
+        // A class used by several fields (or by itself) is parsed only once
+        if (!parsedClasses.add(clazz))
+            return;
+
         // getFields gives all public fields up the entire class hierarchy
         for (Field field : clazz.getFields()) {
             ObjectProperty fieldProperty = new ObjectProperty(clazz, field, null);
-            fields.put(clazz.getSimpleName() + "." + field.getName().toLowerCase(), fieldProperty);
+            addMember(clazz, field.getName(), fieldProperty);
 
             // if the field is a class, his fields must be analysed by recursive call
             if (fieldProperty.isClass())
@@ -82,10 +151,10 @@ public class ObjectParser {
                 // Private or protected field has been found
                 ObjectProperty fieldProperty = new ObjectProperty(clazz, field, setter);
 
-                fields.put(clazz.getSimpleName() + "." + field.getName().toLowerCase(), fieldProperty);
+                addMember(clazz, field.getName(), fieldProperty);
 
                 // If the field is a class, his fields member must be analysed by recursive call
-                if (fieldProperty.checkIfClass(fieldProperty.getClassShortName()))
+                if (fieldProperty.isClass())
                     getClassMembers(fieldProperty.getClazz());
             }
         }
@@ -132,6 +201,102 @@ public class ObjectParser {
         return fields.get(className + "." + key.toLowerCase());
     }
 
+    /**
+     * Return the field table of a parsed class
+     *
+     * @param clazz class of the main object or of a sub object
+     * @return the table of the class, an empty table if the class has not been parsed
+     */
+    FieldTable getTable(Class clazz) {
+        FieldTable table = tables.get(clazz);
+
+        return (table == null) ? FieldTable.EMPTY : table;
+    }
+
+    /**
+     * Return the field table of a parsed class restricted to a projection :
+     * the fields outside of the projection are handled like unknown keys, so their values are skipped
+     * A projection lists field paths, for instance "name" and "address.city" ; a sub object named alone
+     * (for instance "address") is kept with all its fields
+     *
+     * @param clazz      class of the main object
+     * @param projection field paths to keep, all the fields if empty
+     * @return the projected table, null if a path does not match a mappable field
+     */
+    FieldTable getTable(Class clazz, Collection<String> projection) {
+        if (projection == null || projection.isEmpty())
+            return getTable(clazz);
+
+        // The same projection gives the same table, whatever the order or the case of the paths
+        Set<String> paths = new TreeSet<String>();
+        for (String path : projection)
+            paths.add(path.trim().toLowerCase());
+
+        String key = clazz.getName() + ":" + paths;
+        FieldTable table = projections.get(key);
+
+        if (table == null) {
+            Projection root = new Projection();
+            for (String path : paths)
+                root.add(path.split("\\."), 0);
+
+            table = project(getTable(clazz), root);
+            if (table == null)
+                return null;
+
+            FieldTable existing = projections.putIfAbsent(key, table);
+            if (existing != null)
+                table = existing;
+        }
+
+        return table;
+    }
+
+    /**
+     * Build the table keeping only the projected fields of a full table
+     *
+     * @param full       table of all the mappable fields of the class
+     * @param projection projected fields of the class
+     * @return the projected table, null if a field is not mappable
+     */
+    private static FieldTable project(FieldTable full, Projection projection) {
+        Map<String, ObjectProperty> members = new LinkedHashMap<String, ObjectProperty>();
+
+        for (String name : projection.fields.keySet()) {
+            ObjectProperty fieldProperty = full.get(name);
+            if (fieldProperty == null)
+                return null;
+
+            members.put(name, fieldProperty);
+        }
+
+        FieldTable table = new FieldTable(members);
+
+        for (Map.Entry<String, Projection> field : projection.fields.entrySet()) {
+            FieldTable child = full.child(full.find(field.getKey()));
+
+            // A sub object named alone keeps all its fields
+            if (!field.getValue().whole) {
+                child = project(child, field.getValue());
+                if (child == null)
+                    return null;
+            }
+
+            table.setChild(table.find(field.getKey()), child);
+        }
+
+        return table;
+    }
+
+    /**
+     * Number of projections built for this plan
+     *
+     * @return the number of projected tables
+     */
+    public int getProjectionNumber() {
+        return projections.size();
+    }
+
     /**
      * Return the number of mappable fields
      *
@@ -140,4 +305,32 @@ public class ObjectParser {
     public int getFieldNumber() {
         return fields.size();
     }
+
+    /**
+     * Tree of the projected field paths
+     */
+    private static class Projection {
+        private boolean whole;
+        private final Map<String, Projection> fields = new TreeMap<String, Projection>();
+
+        /**
+         * Add a field path
+         *
+         * @param names names of the path
+         * @param index current name
+         */
+        private void add(String[] names, int index) {
+            Projection field = fields.get(names[index]);
+
+            if (field == null) {
+                field = new Projection();
+                fields.put(names[index], field);
+            }
+
+            if (index == names.length - 1)
+                field.whole = true;
+            else
+                field.add(names, index + 1);
+        }
+    }
 }
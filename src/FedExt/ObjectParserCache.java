@@ -0,0 +1,80 @@
+package FedExt;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class ObjectParserCache keeps the mapping plan (the parsed ObjectParser) of each MobiS class
+ * so that the class introspection is done only once per process and shared by every FedExtService
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public final class ObjectParserCache {
+    private static final ConcurrentMap<Class, ObjectParser> plans = new ConcurrentHashMap<Class, ObjectParser>();
+
+    /**
+     * No instance : the cache is process-wide
+     */
+    private ObjectParserCache() {
+    }
+
+    /**
+     * Return the mapping plan of the given class, parsing the class on the first request only
+     *
+     * @param clazz MobiS class to map
+     * @return the shared and immutable mapping plan
+     */
+    public static ObjectParser get(Class clazz) throws Exception {
+        ObjectParser plan = plans.get(clazz);
+
+        if (plan == null) {
+            // Two threads may parse the same class concurrently : the first stored plan wins
+            ObjectParser parsed = new ObjectParser(clazz);
+            plan = plans.putIfAbsent(clazz, parsed);
+            if (plan == null)
+                plan = parsed;
+        }
+
+        return plan;
+    }
+
+    /**
+     * Build the mapping plans of the given classes in advance (typically at the application startup)
+     * so that the first request does not pay for the introspection
+     *
+     * @param classes MobiS classes to parse
+     */
+    public static void prepare(Class... classes) throws Exception {
+        for (Class clazz : classes)
+            get(clazz);
+    }
+
+    /**
+     * Check if the mapping plan of a class is already available
+     *
+     * @param clazz MobiS class
+     * @return true if the class has already been parsed
+     */
+    public static boolean contains(Class clazz) {
+        return plans.containsKey(clazz);
+    }
+
+    /**
+     * Remove all the mapping plans (for instance after a class reloading)
+     */
+    public static void clear() {
+        plans.clear();
+    }
+
+    /**
+     * Return the number of cached mapping plans
+     *
+     * @return the number of parsed classes
+     */
+    public static int size() {
+        return plans.size();
+    }
+}
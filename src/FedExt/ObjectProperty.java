@@ -1,18 +1,30 @@
 package FedExt;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * This class ObjectProperty is used internally by ObjectParser to determine
  * the property of a field owned by the given MobiS class
  * Creation, 10.11.2014
- * Last modification, 24.11.2014
+ * Last modification, 18.10.2026
  *
  * @author Laurent
- * @version 1.0
+ * @version 1.1
  */
 public class ObjectProperty {
+    /**
+     * Type of value expected by the field, known once the class has been parsed
+     * so that the JSON values can be read directly in the right type
+     */
+    public enum ValueType {
+        STRING, CHAR, BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, BIG_INTEGER, BIG_DECIMAL, OBJECT
+    }
+
     protected Field field;
+    protected ValueType valueType;
+    protected ObjectAccessor accessor;
     protected String collectionType;
     protected String setter;
     protected Class clazz;
@@ -25,6 +37,7 @@ public class ObjectProperty {
     public ObjectProperty() {
         this.collectionType = "";
         this.setter = "";
+        this.valueType = ValueType.OBJECT;
     }
 
     /**
@@ -38,6 +51,7 @@ public class ObjectProperty {
 
         this.clazz = clazz;
         this.collectionType = collectionType;
+        this.valueType = valueTypeOf(clazz);
     }
 
     /**
@@ -60,9 +74,11 @@ public class ObjectProperty {
         this.clazz = field.getType();
         this.clazzParent = clazzParent;
         this.field = field;
-        this.setter = setter;
-        this.isClass = checkIfClass(this.getClassShortName());
+        this.setter = (setter == null) ? "" : setter;
+        this.valueType = valueTypeOf(this.clazz);
+        this.isClass = (this.valueType == ValueType.OBJECT);
         this.collectionType = setCollectionType();
+        this.accessor = ObjectAccessor.resolve(clazzParent, field, this.setter, this.valueType);
     }
 
     /**
@@ -95,6 +111,39 @@ public class ObjectProperty {
                     fieldType.toLowerCase().equals("integer"));
     }
 
+    /**
+     * Determine the type of value expected by a field
+     *
+     * @param type class of the field
+     * @return the value type, OBJECT if the field is neither a primitive, a wrapper, a String nor a big number
+     */
+    public static ValueType valueTypeOf(Class type) {
+        if (type == String.class)
+            return ValueType.STRING;
+        if (type == int.class || type == Integer.class)
+            return ValueType.INT;
+        if (type == long.class || type == Long.class)
+            return ValueType.LONG;
+        if (type == double.class || type == Double.class)
+            return ValueType.DOUBLE;
+        if (type == boolean.class || type == Boolean.class)
+            return ValueType.BOOLEAN;
+        if (type == float.class || type == Float.class)
+            return ValueType.FLOAT;
+        if (type == short.class || type == Short.class)
+            return ValueType.SHORT;
+        if (type == byte.class || type == Byte.class)
+            return ValueType.BYTE;
+        if (type == char.class || type == Character.class)
+            return ValueType.CHAR;
+        if (type == BigDecimal.class)
+            return ValueType.BIG_DECIMAL;
+        if (type == BigInteger.class)
+            return ValueType.BIG_INTEGER;
+
+        return ValueType.OBJECT;
+    }
+
     /**
      * Determine if the field is a collection
      */
@@ -147,6 +196,20 @@ public class ObjectProperty {
      */
     public Class getClazz() { return this.clazz; }
 
+    /**
+     * return the precompiled accessor assigning the values of the current field
+     *
+     * @return the accessor, null if the field can not be assigned
+     */
+    public ObjectAccessor getAccessor() { return this.accessor; }
+
+    /**
+     * return the type of value expected by the current field
+     *
+     * @return the value type
+     */
+    public ValueType getValueType() { return this.valueType; }
+
     /**
      * return the class name of the current field
      *
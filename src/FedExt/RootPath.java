@@ -0,0 +1,164 @@
+package FedExt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class RootPath is used internally by FedExtCall to go straight to the data inside the JSON response
+ * A root path is a simple JSON path made of keys and array steps, for instance :
+ *      - $.response.data.items[*]  : each element of the array "items" of the object "data" of the object "response"
+ *      - $.response.data.items     : the same, an array at the end of the path gives its elements
+ *      - $.pages[*].items[*]       : the elements of the arrays "items" of all the pages
+ *      - $.result[0]               : the first element of the array "result"
+ * The keys are compared exactly (case sensitive), the leading "$" is optional
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class RootPath {
+    static final int ALL = -1;
+
+    private final String path;
+    private final String[] names;
+    private final int[] indexes;
+
+    /**
+     * Constructor
+     *
+     * @param path    original path
+     * @param names   key of each step, null for an array step
+     * @param indexes index of each array step, ALL for [*]
+     */
+    private RootPath(String path, String[] names, int[] indexes) {
+        this.path = path;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Read a root path
+     *
+     * @param path root path, for instance "$.response.data.items[*]"
+     * @return the root path, null if the syntax is not valid
+     */
+    static RootPath parse(String path) {
+        List<String> names = new ArrayList<String>();
+        List<Integer> indexes = new ArrayList<Integer>();
+        String rest = path.trim();
+
+        if (rest.startsWith("$"))
+            rest = rest.substring(1);
+
+        int position = 0;
+        while (position < rest.length()) {
+            char c = rest.charAt(position);
+
+            if (c == '[') {
+                // Array step : [*] or [index]
+                int end = rest.indexOf(']', position);
+                if (end < 0)
+                    return null;
+
+                String index = rest.substring(position + 1, end).trim();
+                if (index.equals("*")) {
+                    indexes.add(ALL);
+                } else {
+                    try {
+                        indexes.add(Integer.parseInt(index));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+
+                    if (indexes.get(indexes.size() - 1) < 0)
+                        return null;
+                }
+                names.add(null);
+                position = end + 1;
+            } else {
+                // Key step, the dot is optional at the beginning of a path without "$"
+                int start = (c == '.') ? position + 1 : position;
+                if (c != '.' && position > 0)
+                    return null;
+
+                int end = start;
+                while (end < rest.length() && rest.charAt(end) != '.' && rest.charAt(end) != '[')
+                    end++;
+
+                if (end == start)
+                    return null;
+
+                names.add(rest.substring(start, end));
+                indexes.add(ALL);
+                position = end;
+            }
+        }
+
+        int[] steps = new int[indexes.size()];
+        for (int i = 0; i < steps.length; i++)
+            steps[i] = indexes.get(i);
+
+        return new RootPath(path, names.toArray(new String[names.size()]), steps);
+    }
+
+    /**
+     * Return the number of steps
+     *
+     * @return the number of keys and array steps
+     */
+    int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Check if a step is a key
+     *
+     * @param step index of the step
+     * @return true for a key, false for an array step
+     */
+    boolean isName(int step) {
+        return this.names[step] != null;
+    }
+
+    /**
+     * Return the key of a step
+     *
+     * @param step index of the step
+     * @return the key, null for an array step
+     */
+    String getName(int step) {
+        return this.names[step];
+    }
+
+    /**
+     * Check if an array step takes all the elements
+     *
+     * @param step index of the step
+     * @return true for [*]
+     */
+    boolean isWildcard(int step) {
+        return this.names[step] == null && this.indexes[step] == ALL;
+    }
+
+    /**
+     * Check if an element of an array is selected by an array step
+     *
+     * @param step  index of the step
+     * @param index index of the element
+     * @return true if the element is selected
+     */
+    boolean matches(int step, int index) {
+        return this.indexes[step] == ALL || this.indexes[step] == index;
+    }
+
+    /**
+     * Return the original path
+     *
+     * @return the path
+     */
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,183 @@
+package FedExt;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class UrlTemplate is used internally by FedExtPreparedFetch to build the address of each call
+ * A template is an address with named placeholders, for instance "https://api.example.com/users/{id}/orders?status={status}" :
+ * it is split once into its literal parts, so that a call only appends the encoded values between them
+ * A value is encoded as a path segment before the "?" (a "/" in the value is encoded) and as a query value after it
+ * The parameters of a request are appended to the query the same way (see appendParam)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+final class UrlTemplate {
+    private final String template;
+    private final String[] literals;
+    private final String[] names;
+    private final boolean[] inQuery;
+    private final Set<String> placeholders;
+
+    /**
+     * Constructor
+     *
+     * @param template the template as written
+     * @param literals literal parts, one more than the placeholders
+     * @param names    names of the placeholders
+     * @param inQuery  true for a placeholder in the query, false for one in the path
+     */
+    private UrlTemplate(String template, String[] literals, String[] names, boolean[] inQuery) {
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+        this.inQuery = inQuery;
+
+        Set<String> set = new HashSet<String>();
+        Collections.addAll(set, names);
+        this.placeholders = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Read a template
+     *
+     * @param template address with placeholders, for instance "https://api.example.com/users/{id}"
+     * @return the template, null if a placeholder is not closed or has no name
+     */
+    static UrlTemplate parse(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> names = new ArrayList<String>();
+        List<Boolean> inQuery = new ArrayList<Boolean>();
+        int query = template.indexOf('?');
+        int from = 0;
+        int open;
+
+        while ((open = template.indexOf('{', from)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0)
+                return null;
+
+            String name = template.substring(open + 1, close).trim();
+            if (name.isEmpty() || name.indexOf('{') >= 0)
+                return null;
+
+            literals.add(template.substring(from, open));
+            names.add(name);
+            inQuery.add(query >= 0 && open > query);
+            from = close + 1;
+        }
+        literals.add(template.substring(from));
+
+        if (template.indexOf('}', from) >= 0)
+            return null;
+
+        boolean[] queries = new boolean[inQuery.size()];
+        for (int i = 0; i < queries.length; i++)
+            queries[i] = inQuery.get(i);
+
+        return new UrlTemplate(template, literals.toArray(new String[0]), names.toArray(new String[0]), queries);
+    }
+
+    /**
+     * Build the address of a call
+     * The values which are not placeholders of the template are appended to the query
+     *
+     * @param values values of the placeholders, and parameters to add
+     * @return the address, with the values encoded
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    String expand(Map<String, String> values) {
+        StringBuilder url = new StringBuilder(this.template.length() + 64);
+
+        for (int i = 0; i < this.names.length; i++) {
+            String value = values.get(this.names[i]);
+            if (value == null)
+                throw new IllegalArgumentException("missing value for {" + this.names[i] + "} in " + this.template);
+
+            url.append(this.literals[i]).append(this.inQuery[i] ? encode(value) : encodeSegment(value));
+        }
+        url.append(this.literals[this.names.length]);
+
+        // All the placeholders have a value : any other value is a parameter
+        if (values.size() > this.placeholders.size()) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (!this.placeholders.contains(entry.getKey()))
+                    appendParam(url, entry.getKey(), entry.getValue());
+            }
+        }
+
+        return url.toString();
+    }
+
+    /**
+     * Return the names of the placeholders
+     *
+     * @return the distinct names
+     */
+    Set<String> getPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * Append a parameter to the query of an address, after "?" or "&" as needed
+     *
+     * @param url   address, possibly with a query already
+     * @param name  name of the parameter
+     * @param value value of the parameter, encoded here
+     */
+    static void appendParam(StringBuilder url, String name, String value) {
+        int query = url.indexOf("?");
+        char last = url.charAt(url.length() - 1);
+
+        if (query < 0)
+            url.append('?');
+        else if (last != '?' && last != '&')
+            url.append('&');
+
+        url.append(encode(name)).append('=').append(encode((value == null) ? "" : value));
+    }
+
+    /**
+     * Encode a value of the query
+     *
+     * @param value raw value
+     * @return the value in application/x-www-form-urlencoded form
+     */
+    static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Encode a value of the path : unlike in the query, a space is written "%20"
+     *
+     * @param value raw value
+     * @return the encoded path segment
+     */
+    private static String encodeSegment(String value) {
+        return encode(value).replace("+", "%20");
+    }
+
+    /**
+     * Return the template as written
+     *
+     * @return the template
+     */
+    @Override
+    public String toString() {
+        return this.template;
+    }
+}
@@ -0,0 +1,31 @@
+package FedExt;
+
+/**
+ * Element of the tests of ObjectAccessor, assigned through its setters
+ * It is a top level class, so that a child class loader can define it alone
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class AccessorBean {
+    private String name;
+    private int id;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+}
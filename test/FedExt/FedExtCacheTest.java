@@ -0,0 +1,114 @@
+package FedExt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the filled objects kept by the cache (see FedExtCache.Builder.immutable)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtCacheTest {
+
+    /**
+     * Immutable element of the tests
+     */
+    public static class Item {
+        public String name;
+    }
+
+    /**
+     * Transport answering always the same body
+     */
+    private static final class FixedTransport implements FedExtTransport {
+        private final String body;
+
+        private FixedTransport(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+            return new FedExtResponse(200, new HashMap<String, String>(), new ByteArrayInputStream(this.body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Create a client caching the items
+     *
+     * @return the client
+     */
+    private static FedExtClient client() {
+        return FedExtClient.builder()
+                .transport(new FixedTransport("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]"))
+                .cache(FedExtCache.builder().immutable(Item.class).build())
+                .build();
+    }
+
+    /**
+     * Fill the items
+     *
+     * @param client      client of the call
+     * @param maxElements maximal number of items, 0 for all
+     * @return the result
+     */
+    private static FedExtResult<Item[]> fill(FedExtClient client, int maxElements) throws Exception {
+        FedExtRequest request = new FedExtRequest(new URL("http://localhost/items"));
+        request.setMaxElements(maxElements);
+
+        FedExtResult<Item[]> result = client.fillArray(request, Item.class);
+        assertEquals("", result.getErrorInfo());
+
+        return result;
+    }
+
+    /**
+     * A limited fill does not take the Array of a full fill
+     */
+    @Test
+    public void limitedFillAfterFullFill() throws Exception {
+        FedExtClient client = client();
+        assertEquals(3, fill(client, 0).getValue().length);
+
+        FedExtResult<Item[]> limited = fill(client, 1);
+        assertEquals(1, limited.getValue().length);
+        assertTrue(limited.isTruncated());
+    }
+
+    /**
+     * A full fill does not take the Array of a limited fill
+     */
+    @Test
+    public void fullFillAfterLimitedFill() throws Exception {
+        FedExtClient client = client();
+        assertEquals(1, fill(client, 1).getValue().length);
+
+        FedExtResult<Item[]> full = fill(client, 0);
+        assertEquals(3, full.getValue().length);
+        assertFalse(full.isTruncated());
+    }
+
+    /**
+     * Two full fills share the filled Array
+     */
+    @Test
+    public void fullFillsShareArray() throws Exception {
+        FedExtClient client = client();
+        fill(client, 0);
+        fill(client, 0);
+
+        assertEquals(1, client.getCache().getMappedHits());
+    }
+}
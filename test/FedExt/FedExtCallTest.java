@@ -0,0 +1,94 @@
+package FedExt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the boundaries of the elements of an Array (see FedExtCall.parseJSON)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtCallTest {
+
+    /**
+     * Sub object of the elements
+     */
+    public static class Address {
+        public String city;
+    }
+
+    /**
+     * Element of the tests, with an array of sub objects
+     */
+    public static class Item {
+        public String name;
+        public int id;
+        public Address[] others;
+    }
+
+    /**
+     * Transport answering always the same body
+     */
+    private static final class FixedTransport implements FedExtTransport {
+        private final String body;
+
+        private FixedTransport(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+            return new FedExtResponse(200, new HashMap<String, String>(), new ByteArrayInputStream(this.body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Fill the items of a body holding an array of sub objects in the first item
+     *
+     * @param rootPath root path of the request, empty to find the data by its keys
+     * @return the names and ids of the items
+     */
+    private static String filledItems(String rootPath) throws Exception {
+        FedExtClient client = FedExtClient.builder()
+                .transport(new FixedTransport("[{\"name\":\"a\",\"others\":[{\"city\":\"x\"},{\"city\":\"y\"}],\"id\":1},{\"name\":\"b\",\"id\":2}]"))
+                .build();
+
+        FedExtRequest request = new FedExtRequest(new URL("http://localhost/items"));
+        request.setRootPath(rootPath);
+
+        FedExtResult<Item[]> result = client.fillArray(request, Item.class);
+        assertEquals("", result.getErrorInfo());
+
+        StringBuilder items = new StringBuilder();
+        for (Item item : result.getValue())
+            items.append(item.name).append(item.id);
+
+        return items.toString();
+    }
+
+    /**
+     * The end of an object of an array field does not end the element
+     */
+    @Test
+    public void arrayOfSubObjectsInElement() throws Exception {
+        assertEquals("a1b2", filledItems(""));
+    }
+
+    /**
+     * Same elements with a root path
+     */
+    @Test
+    public void arrayOfSubObjectsWithRootPath() throws Exception {
+        assertEquals("a1b2", filledItems("$[*]"));
+    }
+}
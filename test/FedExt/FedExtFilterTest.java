@@ -0,0 +1,88 @@
+package FedExt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the filter of the elements of an Array (see FedExtFilter)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class FedExtFilterTest {
+
+    /**
+     * Element of the tests
+     */
+    public static class Item {
+        public String name;
+        public int id;
+    }
+
+    /**
+     * Transport answering always the same body
+     */
+    private static final class FixedTransport implements FedExtTransport {
+        private final String body;
+
+        private FixedTransport(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+            return new FedExtResponse(200, new HashMap<String, String>(), new ByteArrayInputStream(this.body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Fill the items of a body, restricted to their names and filtered on their ids
+     *
+     * @param rootPath root path of the request, empty to find the data by its keys
+     * @return the names of the kept items
+     */
+    private static String filteredNames(String rootPath) throws Exception {
+        FedExtClient client = FedExtClient.builder()
+                .transport(new FixedTransport("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"}]"))
+                .build();
+
+        FedExtRequest request = new FedExtRequest(new URL("http://localhost/items"));
+        request.setRootPath(rootPath);
+        request.setProjection("name");
+        request.setFilter(FedExtFilter.where("id").isGreaterThan(0));
+
+        FedExtResult<Item[]> result = client.fillArray(request, Item.class);
+        assertEquals("", result.getErrorInfo());
+
+        StringBuilder names = new StringBuilder();
+        for (Item item : result.getValue())
+            names.append(item.name);
+
+        return names.toString();
+    }
+
+    /**
+     * The first element is kept when its first key is a condition outside the projection
+     */
+    @Test
+    public void firstElementStartedByFilterKey() throws Exception {
+        assertEquals("abc", filteredNames(""));
+    }
+
+    /**
+     * Same elements with a root path
+     */
+    @Test
+    public void firstElementWithRootPath() throws Exception {
+        assertEquals("abc", filteredNames("$[*]"));
+    }
+}
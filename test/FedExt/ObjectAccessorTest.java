@@ -0,0 +1,114 @@
+package FedExt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests of the assignment of the fields through their setters (see ObjectAccessor)
+ * Creation, 18.10.2026
+ * Last modification, 18.10.2026
+ *
+ * @author Laurent
+ * @version 1.0
+ */
+public class ObjectAccessorTest {
+
+    /**
+     * Class loader defining AccessorBean itself, as a webapp loader does for the classes of the application
+     */
+    private static final class ChildLoader extends ClassLoader {
+        private ChildLoader() {
+            super(ObjectAccessorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(AccessorBean.class.getName()))
+                return super.loadClass(name, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz != null)
+                    return clazz;
+
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) > 0)
+                        bytes.write(buffer, 0, read);
+
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Transport answering always the same body
+     */
+    private static final class FixedTransport implements FedExtTransport {
+        private final String body;
+
+        private FixedTransport(String body) {
+            this.body = body;
+        }
+
+        @Override
+        public FedExtResponse open(URL url, Map<String, String> headers) throws IOException {
+            return new FedExtResponse(200, new HashMap<String, String>(), new ByteArrayInputStream(this.body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Fill the beans of a body in a class
+     *
+     * @param clazz class of the beans
+     * @return the names and ids of the beans
+     */
+    private static String filledBeans(Class clazz) throws Exception {
+        FedExtClient client = FedExtClient.builder()
+                .transport(new FixedTransport("[{\"name\":\"a\",\"id\":1},{\"name\":\"b\",\"id\":2}]"))
+                .build();
+
+        FedExtResult<Object[]> result = client.fillArray(new FedExtRequest(new URL("http://localhost/beans")), clazz);
+        assertEquals("", result.getErrorInfo());
+
+        StringBuilder beans = new StringBuilder();
+        for (Object bean : result.getValue())
+            beans.append(clazz.getMethod("getName").invoke(bean)).append(clazz.getMethod("getId").invoke(bean));
+
+        return beans.toString();
+    }
+
+    /**
+     * The setters of a class seen by FedExt are called
+     */
+    @Test
+    public void settersOfVisibleClass() throws Exception {
+        assertEquals("a1b2", filledBeans(AccessorBean.class));
+    }
+
+    /**
+     * The setters of a class of a child class loader are called too, without a generated class
+     */
+    @Test
+    public void settersOfChildLoaderClass() throws Exception {
+        Class clazz = new ChildLoader().loadClass(AccessorBean.class.getName());
+        assertNotSame(AccessorBean.class, clazz);
+
+        assertEquals("a1b2", filledBeans(clazz));
+    }
+}